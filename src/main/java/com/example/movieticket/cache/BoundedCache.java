@@ -0,0 +1,92 @@
+package com.example.movieticket.cache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+
+/**
+ * Small LRU cache whose entries also expire a fixed time after they were written.
+ * An optional removal listener sees every entry that leaves the cache, e.g. to keep a
+ * secondary index in step; it runs under the cache's lock.
+ */
+public class BoundedCache<K, V> {
+
+    private final int maxEntries;
+    private final Duration ttl;
+    private final Clock clock;
+    private final BiConsumer<K, V> removalListener;
+    private final LinkedHashMap<K, Entry<V>> entries;
+
+    public BoundedCache(int maxEntries, Duration ttl, Clock clock) {
+        this(maxEntries, ttl, clock, (key, value) -> { });
+    }
+
+    public BoundedCache(int maxEntries, Duration ttl, Clock clock, BiConsumer<K, V> removalListener) {
+        this.maxEntries = maxEntries;
+        this.ttl = ttl;
+        this.clock = clock;
+        this.removalListener = removalListener;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() <= BoundedCache.this.maxEntries) {
+                    return false;
+                }
+                removalListener.accept(eldest.getKey(), eldest.getValue().value());
+                return true;
+            }
+        };
+    }
+
+    public synchronized Optional<V> get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (entry.expiresAt().isBefore(clock.instant())) {
+            remove(key);
+            return Optional.empty();
+        }
+        return Optional.of(entry.value());
+    }
+
+    public synchronized void put(K key, V value) {
+        Entry<V> replaced = entries.put(key, new Entry<>(value, clock.instant().plus(ttl)));
+        if (replaced != null) {
+            removalListener.accept(key, replaced.value());
+        }
+    }
+
+    public synchronized void remove(K key) {
+        Entry<V> removed = entries.remove(key);
+        if (removed != null) {
+            removalListener.accept(key, removed.value());
+        }
+    }
+
+    public synchronized void removeIf(Predicate<V> condition) {
+        entries.entrySet().removeIf(entry -> {
+            if (!condition.test(entry.getValue().value())) {
+                return false;
+            }
+            removalListener.accept(entry.getKey(), entry.getValue().value());
+            return true;
+        });
+    }
+
+    public synchronized void clear() {
+        entries.forEach((key, entry) -> removalListener.accept(key, entry.value()));
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private record Entry<V>(V value, Instant expiresAt) { }
+}
@@ -0,0 +1,147 @@
+package com.example.movieticket.cache;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tells the other nodes which of their cached entries a committed write made stale. The writing
+ * node keeps its own caches up to date itself, so notifications carry the origin node and are
+ * ignored there. With {@link InvalidationTransport#POSTGRES} the notification is a {@code pg_notify}
+ * in the writing transaction, which PostgreSQL only delivers on commit.
+ */
+@Component
+public class CacheInvalidationBus {
+
+    static final String CHANNEL = "cache_invalidation";
+    private static final char SEPARATOR = '|';
+    private static final int POLL_TIMEOUT_MS = 500;
+    private static final long RECONNECT_DELAY_MS = TimeUnit.SECONDS.toMillis(2);
+    private static final Set<CacheInvalidationBus> IN_PROCESS_NODES = ConcurrentHashMap.newKeySet();
+
+    private final InvalidationTransport transport;
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+    private final ObjectProvider<CacheInvalidationHandler> handlers;
+    private final String nodeId = UUID.randomUUID().toString();
+    private volatile boolean running;
+    private Thread listener;
+
+    public CacheInvalidationBus(@Value("${cache.invalidation.transport:IN_PROCESS}") InvalidationTransport transport,
+                                JdbcTemplate jdbcTemplate, DataSource dataSource,
+                                ObjectProvider<CacheInvalidationHandler> handlers) {
+        this.transport = transport;
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSource = dataSource;
+        this.handlers = handlers;
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        if (transport == InvalidationTransport.IN_PROCESS) {
+            IN_PROCESS_NODES.add(this);
+            return;
+        }
+        listener = Thread.ofPlatform().daemon().name("cache-invalidation-listener").start(this::listen);
+    }
+
+    public void publish(CacheRegion region, Object key) {
+        String payload = nodeId + SEPARATOR + region + SEPARATOR + key;
+        if (transport == InvalidationTransport.POSTGRES) {
+            jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", CHANNEL, payload);
+            return;
+        }
+        afterCommit(() -> IN_PROCESS_NODES.forEach(node -> node.deliver(payload)));
+    }
+
+    private void deliver(String payload) {
+        int first = payload.indexOf(SEPARATOR);
+        int second = payload.indexOf(SEPARATOR, first + 1);
+        if (first < 0 || second < 0 || payload.substring(0, first).equals(nodeId)) {
+            return;
+        }
+        CacheRegion region;
+        try {
+            region = CacheRegion.valueOf(payload.substring(first + 1, second));
+        } catch (IllegalArgumentException e) {
+            return;
+        }
+        String key = payload.substring(second + 1);
+        handlers.forEach(handler -> {
+            if (handler.region() == region) {
+                handler.invalidate(key);
+            }
+        });
+    }
+
+    private void listen() {
+        boolean reconnect = false;
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                connection.setAutoCommit(true);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                if (reconnect) {
+                    handlers.forEach(CacheInvalidationHandler::invalidateAll);
+                }
+                PGConnection notifications = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] received = notifications.getNotifications(POLL_TIMEOUT_MS);
+                    if (received != null) {
+                        for (PGNotification notification : received) {
+                            deliver(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                reconnect = true;
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        IN_PROCESS_NODES.remove(this);
+        if (listener != null) {
+            listener.interrupt();
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.movieticket.cache;
+
+/**
+ * Implemented by beans owning node-local cache entries of one {@link CacheRegion}.
+ */
+public interface CacheInvalidationHandler {
+
+    CacheRegion region();
+
+    void invalidate(String key);
+
+    /** Called after this node may have missed notifications, e.g. when the listener reconnects. */
+    void invalidateAll();
+}
@@ -0,0 +1,17 @@
+package com.example.movieticket.cache;
+
+/**
+ * Groups of node-local cache entries that other nodes can invalidate, and what their keys are.
+ */
+public enum CacheRegion {
+    /** Catalog and search-index entries, keyed by movie id. */
+    MOVIE,
+    /** Seat layouts, keyed by theater name. */
+    THEATER,
+    /** Seat maps and occupancy counters, keyed by showtime id. */
+    SHOWTIME,
+    /** One newly booked seat, keyed by {@code showtimeId:seatNumber}; patches the showtime's entries in place. */
+    SEAT,
+    /** Looked-up bookings, keyed by booking id. */
+    BOOKING
+}
@@ -0,0 +1,11 @@
+package com.example.movieticket.cache;
+
+/**
+ * How {@link CacheInvalidationBus} reaches other nodes, selected with {@code cache.invalidation.transport}.
+ */
+public enum InvalidationTransport {
+    /** Every bus in this JVM is a node; used with H2 and in tests. */
+    IN_PROCESS,
+    /** PostgreSQL {@code NOTIFY} on commit, received by every node {@code LISTEN}ing on the channel. */
+    POSTGRES
+}
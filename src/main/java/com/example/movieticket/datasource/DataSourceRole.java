@@ -0,0 +1,6 @@
+package com.example.movieticket.datasource;
+
+public enum DataSourceRole {
+    PRIMARY,
+    REPLICA
+}
@@ -0,0 +1,61 @@
+package com.example.movieticket.datasource;
+
+import com.example.movieticket.cache.BoundedCache;
+import com.example.movieticket.ticket.TicketBookedEvent;
+import com.example.movieticket.ticket.TicketCancelledEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Remembers which users booked or cancelled within the replica-lag window, and which bookings
+ * they touched, so follow-up reads can be served from the primary and see their own change.
+ */
+@Component
+public class ReadYourWrites {
+
+    private final BoundedCache<UUID, Boolean> recentWriters;
+    private final BoundedCache<UUID, Boolean> recentBookings;
+
+    public ReadYourWrites(@Value("${datasource.read-your-writes.max-users:100000}") int maxUsers,
+                          @Value("${datasource.read-your-writes.window:PT5S}") Duration window) {
+        this.recentWriters = new BoundedCache<>(maxUsers, window, Clock.systemUTC());
+        this.recentBookings = new BoundedCache<>(maxUsers, window, Clock.systemUTC());
+    }
+
+    public void recordWrite(UUID userId) {
+        if (userId != null) {
+            recentWriters.put(userId, Boolean.TRUE);
+        }
+    }
+
+    public boolean recentlyWrote(UUID userId) {
+        return userId != null && recentWriters.get(userId).isPresent();
+    }
+
+    public void recordBookingWrite(UUID bookingId) {
+        if (bookingId != null) {
+            recentBookings.put(bookingId, Boolean.TRUE);
+        }
+    }
+
+    public boolean recentlyWritten(UUID bookingId) {
+        return bookingId != null && recentBookings.get(bookingId).isPresent();
+    }
+
+    @EventListener
+    public void onTicketBooked(TicketBookedEvent event) {
+        recordWrite(event.userId());
+        recordBookingWrite(event.ticketId());
+    }
+
+    @EventListener
+    public void onTicketCancelled(TicketCancelledEvent event) {
+        recordWrite(event.userId());
+        recordBookingWrite(event.ticketId());
+    }
+}
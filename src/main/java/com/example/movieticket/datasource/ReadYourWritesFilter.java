@@ -0,0 +1,62 @@
+package com.example.movieticket.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Pins a request to the primary when the calling user, taken from the {@code X-User-Id}
+ * header or the {@code userId} parameter, wrote within the read-your-writes window, or when
+ * it reads a booking by id that was booked or cancelled within that window.
+ */
+@Component
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String USER_HEADER = "X-User-Id";
+    private static final String BOOKINGS_PATH = "/bookings/";
+
+    private final ReadYourWrites readYourWrites;
+
+    public ReadYourWritesFilter(ReadYourWrites readYourWrites) {
+        this.readYourWrites = readYourWrites;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!readYourWrites.recentlyWrote(userOf(request)) && !readYourWrites.recentlyWritten(bookingOf(request))) {
+            chain.doFilter(request, response);
+            return;
+        }
+        try (ReadWriteRoutingDataSource.Pin pin = ReadWriteRoutingDataSource.pinToPrimary()) {
+            chain.doFilter(request, response);
+        }
+    }
+
+    private static UUID userOf(HttpServletRequest request) {
+        String userId = request.getHeader(USER_HEADER);
+        if (userId == null) {
+            userId = request.getParameter("userId");
+        }
+        return uuidOf(userId);
+    }
+
+    private static UUID bookingOf(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return path.startsWith(BOOKINGS_PATH) ? uuidOf(path.substring(BOOKINGS_PATH.length())) : null;
+    }
+
+    private static UUID uuidOf(String value) {
+        try {
+            return value == null ? null : UUID.fromString(value);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
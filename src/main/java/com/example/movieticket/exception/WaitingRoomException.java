@@ -0,0 +1,15 @@
+package com.example.movieticket.exception;
+
+import lombok.Getter;
+
+@Getter
+public class WaitingRoomException extends RuntimeException {
+    private final int position;
+    private final long etaSeconds;
+
+    public WaitingRoomException(String message, int position, long etaSeconds) {
+        super(message);
+        this.position = position;
+        this.etaSeconds = etaSeconds;
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.movieticket.movie;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_genre_name", columnNames = "name"))
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class Genre {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Short id;
+
+    @Column(nullable = false, length = 200)
+    private String name;
+}
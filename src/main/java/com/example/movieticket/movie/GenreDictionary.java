@@ -0,0 +1,98 @@
+package com.example.movieticket.movie;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps genre names to the small integer codes stored on {@link Movie}.
+ * Names are matched case-insensitively and every movie shares the canonical String instance.
+ */
+@Component
+public class GenreDictionary {
+
+    private final GenreRepository genreRepository;
+    private final Map<String, Short> codesByKey = new ConcurrentHashMap<>();
+    private final Map<Short, String> namesByCode = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    public GenreDictionary(GenreRepository genreRepository) {
+        this.genreRepository = genreRepository;
+    }
+
+    public void encode(Movie movie) {
+        Short code = intern(movie.getGenre());
+        movie.setGenreId(code);
+        movie.setGenre(namesByCode.get(code));
+    }
+
+    public void decode(Movie movie) {
+        movie.setGenre(nameOf(movie.getGenreId()));
+    }
+
+    public Optional<Short> codeOf(String genre) {
+        ensureLoaded();
+        return Optional.ofNullable(codesByKey.get(key(genre)));
+    }
+
+    public String nameOf(Short code) {
+        if (code == null) {
+            return null;
+        }
+        ensureLoaded();
+        String name = namesByCode.get(code);
+        if (name == null) {
+            name = genreRepository.findById(code).map(this::register).orElse(null);
+        }
+        return name;
+    }
+
+    public Short intern(String genre) {
+        Optional<Short> known = codeOf(genre);
+        if (known.isPresent()) {
+            return known.get();
+        }
+        synchronized (this) {
+            Short code = codesByKey.get(key(genre));
+            if (code != null) {
+                return code;
+            }
+            String name = genre.trim();
+            Genre stored;
+            try {
+                stored = genreRepository.findByName(name)
+                        .orElseGet(() -> genreRepository.save(new Genre(null, name)));
+            } catch (DataIntegrityViolationException e) {
+                stored = genreRepository.findByName(name).orElseThrow(() -> e);
+            }
+            register(stored);
+            return stored.getId();
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (!loaded) {
+                genreRepository.findAll().forEach(this::register);
+                loaded = true;
+            }
+        }
+    }
+
+    private String register(Genre genre) {
+        String name = namesByCode.computeIfAbsent(genre.getId(), code -> genre.getName().intern());
+        codesByKey.putIfAbsent(key(name), genre.getId());
+        return name;
+    }
+
+    private static String key(String genre) {
+        return genre == null ? "" : genre.trim().toLowerCase(Locale.ROOT);
+    }
+}
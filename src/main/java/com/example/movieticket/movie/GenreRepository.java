@@ -0,0 +1,9 @@
+package com.example.movieticket.movie;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface GenreRepository extends JpaRepository<Genre, Short> {
+    Optional<Genre> findByName(String name);
+}
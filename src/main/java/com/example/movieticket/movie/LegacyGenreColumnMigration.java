@@ -0,0 +1,38 @@
+package com.example.movieticket.movie;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Moves genre names out of the old free-text {@code movie.genre} column into the
+ * {@code genre} lookup table, then drops the column. Does nothing on fresh schemas.
+ */
+@Component
+public class LegacyGenreColumnMigration implements ApplicationRunner {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public LegacyGenreColumnMigration(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional
+    public void run(ApplicationArguments args) {
+        Integer legacyColumns = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM INFORMATION_SCHEMA.COLUMNS " +
+                        "WHERE LOWER(TABLE_NAME) = 'movie' AND LOWER(COLUMN_NAME) = 'genre'", Integer.class);
+        if (legacyColumns == null || legacyColumns == 0) {
+            return;
+        }
+
+        jdbcTemplate.update("INSERT INTO genre (name) SELECT DISTINCT m.genre FROM movie m " +
+                "WHERE m.genre IS NOT NULL AND NOT EXISTS (SELECT 1 FROM genre g WHERE g.name = m.genre)");
+        jdbcTemplate.update("UPDATE movie SET genre_id = (SELECT g.id FROM genre g WHERE g.name = movie.genre) " +
+                "WHERE genre_id IS NULL");
+        jdbcTemplate.execute("ALTER TABLE movie DROP COLUMN genre");
+    }
+}
@@ -1,15 +1,26 @@
 package com.example.movieticket.movie;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
 
 @Entity
+@Table(
+        indexes = {
+                @Index(name = "idx_movie_genre", columnList = "genre_id"),
+                @Index(name = "idx_movie_rating", columnList = "rating"),
+                @Index(name = "idx_movie_release_year", columnList = "release_year")
+        },
+        uniqueConstraints = @UniqueConstraint(name = Movie.TITLE_CONSTRAINT, columnNames = "title")
+)
 @NoArgsConstructor
-@AllArgsConstructor
 @Getter
 @Setter
 public class Movie {
+    /** Movies are addressed by title, so a title names exactly one row. */
+    public static final String TITLE_CONSTRAINT = "uk_movie_title";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -18,10 +29,15 @@ public class Movie {
     @Size(min = 1, max = 400, message = "title length between 1 and 400" )
     private String title;
 
+    @Transient
     @NotBlank(message = " Genre cannot be empty. ")
     @Size(min = 1, max = 200, message = "Genre length between 1 and 400" )
     private String genre;
 
+    @JsonIgnore
+    @Column(name = "genre_id")
+    private Short genreId;
+
     @Min(value = 15, message = " minimum movie duration is 15 min. ")
     @Max(value = 300, message = " maximum movie duration is 300 min (5 hours). ")
     @NotNull(message = " Duration is required. ")
@@ -36,4 +52,13 @@ public class Movie {
     @Max(value = 2100, message = "Release year cannot be greater than 2100")
     @NotNull(message = " Release year is required. ")
     private Integer releaseYear;
-}
\ No newline at end of file
+
+    public Movie(Long id, String title, String genre, Integer duration, Double rating, Integer releaseYear) {
+        this.id = id;
+        this.title = title;
+        this.genre = genre;
+        this.duration = duration;
+        this.rating = rating;
+        this.releaseYear = releaseYear;
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.movieticket.movie;
+
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Columnar, in-memory copy of the catalog used for filtered and sorted listings.
+ * Writes only touch the backing map; the primitive column arrays are rebuilt lazily
+ * on the first read after a change. Genres are kept as their {@link GenreDictionary} codes.
+ */
+@Component
+public class MovieCatalog {
+
+    private final GenreDictionary genreDictionary;
+    private final Map<Long, Movie> moviesById = new ConcurrentHashMap<>();
+    private final Map<String, Long> idsByTitle = new ConcurrentHashMap<>();
+    private volatile Columns columns;
+    private volatile boolean loaded;
+
+    public MovieCatalog(GenreDictionary genreDictionary) {
+        this.genreDictionary = genreDictionary;
+    }
+
+    public synchronized void rebuild(Collection<Movie> movies) {
+        moviesById.clear();
+        idsByTitle.clear();
+        movies.forEach(this::index);
+        columns = null;
+        loaded = true;
+    }
+
+    public synchronized void put(Movie movie) {
+        if (movie.getId() == null) {
+            return;
+        }
+        index(movie);
+        columns = null;
+    }
+
+    public synchronized void remove(Long id) {
+        Movie removed = moviesById.remove(id);
+        if (removed != null) {
+            idsByTitle.remove(removed.getTitle(), id);
+            columns = null;
+        }
+    }
+
+    public Optional<Long> idOf(String title) {
+        return Optional.ofNullable(title == null ? null : idsByTitle.get(title));
+    }
+
+    private void index(Movie movie) {
+        Movie previous = moviesById.put(movie.getId(), movie);
+        if (previous != null && previous.getTitle() != null) {
+            idsByTitle.remove(previous.getTitle(), movie.getId());
+        }
+        if (movie.getTitle() != null) {
+            idsByTitle.put(movie.getTitle(), movie.getId());
+        }
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public List<Movie> query(MovieFilter filter) {
+        Columns snapshot = columns();
+        int genreCode = -1;
+        if (filter.genre() != null) {
+            Optional<Short> code = genreDictionary.codeOf(filter.genre());
+            if (code.isEmpty()) {
+                return List.of();
+            }
+            genreCode = code.get();
+        }
+
+        int[] matches = new int[snapshot.size()];
+        int matchCount = 0;
+        for (int row = 0; row < snapshot.size(); row++) {
+            if ((genreCode < 0 || snapshot.genreCodes[row] == genreCode) && snapshot.matches(row, filter)) {
+                matches[matchCount++] = row;
+            }
+        }
+
+        List<Integer> rows = new ArrayList<>(matchCount);
+        for (int i = 0; i < matchCount; i++) {
+            rows.add(matches[i]);
+        }
+        if (filter.sort() != null) {
+            Comparator<Integer> order = snapshot.comparator(filter.sort());
+            rows.sort(filter.isDescending() ? order.reversed() : order);
+        }
+
+        List<Movie> result = new ArrayList<>(matchCount);
+        rows.forEach(row -> result.add(snapshot.movies[row]));
+        return result;
+    }
+
+    public Map<String, Integer> countByGenre(MovieFilter filter) {
+        Columns snapshot = columns();
+        int[] counts = new int[snapshot.maxGenreCode + 1];
+        for (int row = 0; row < snapshot.size(); row++) {
+            if (snapshot.genreCodes[row] >= 0 && snapshot.matches(row, filter)) {
+                counts[snapshot.genreCodes[row]]++;
+            }
+        }
+
+        List<Map.Entry<String, Integer>> facets = new ArrayList<>();
+        for (int code = 0; code < counts.length; code++) {
+            if (counts[code] > 0) {
+                facets.add(Map.entry(genreDictionary.nameOf((short) code), counts[code]));
+            }
+        }
+        facets.sort(Map.Entry.<String, Integer>comparingByValue().reversed()
+                .thenComparing(Map.Entry.<String, Integer>comparingByKey()));
+
+        Map<String, Integer> result = new LinkedHashMap<>();
+        facets.forEach(facet -> result.put(facet.getKey(), facet.getValue()));
+        return result;
+    }
+
+    private Columns columns() {
+        Columns snapshot = columns;
+        if (snapshot != null) {
+            return snapshot;
+        }
+        synchronized (this) {
+            if (columns == null) {
+                columns = new Columns(moviesById.values());
+            }
+            return columns;
+        }
+    }
+
+    private static final class Columns {
+        private final Movie[] movies;
+        private final double[] ratings;
+        private final int[] releaseYears;
+        private final short[] genreCodes;
+        private final int maxGenreCode;
+
+        private Columns(Collection<Movie> source) {
+            movies = source.toArray(new Movie[0]);
+            ratings = new double[movies.length];
+            releaseYears = new int[movies.length];
+            genreCodes = new short[movies.length];
+            int maxCode = -1;
+
+            for (int row = 0; row < movies.length; row++) {
+                Movie movie = movies[row];
+                ratings[row] = movie.getRating() == null ? 0 : movie.getRating();
+                releaseYears[row] = movie.getReleaseYear() == null ? 0 : movie.getReleaseYear();
+                genreCodes[row] = movie.getGenreId() == null ? (short) -1 : movie.getGenreId();
+                maxCode = Math.max(maxCode, genreCodes[row]);
+            }
+            maxGenreCode = maxCode;
+        }
+
+        private int size() {
+            return movies.length;
+        }
+
+        private boolean matches(int row, MovieFilter filter) {
+            return (filter.minRating() == null || ratings[row] >= filter.minRating())
+                    && (filter.maxRating() == null || ratings[row] <= filter.maxRating())
+                    && (filter.fromYear() == null || releaseYears[row] >= filter.fromYear())
+                    && (filter.toYear() == null || releaseYears[row] <= filter.toYear());
+        }
+
+        private Comparator<Integer> comparator(MovieSortField field) {
+            return switch (field) {
+                case RATING -> Comparator.comparingDouble(row -> ratings[row]);
+                case RELEASE_YEAR -> Comparator.comparingInt(row -> releaseYears[row]);
+                case TITLE -> Comparator.comparing(row -> movies[row].getTitle(),
+                        Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER));
+            };
+        }
+    }
+}
@@ -5,6 +5,7 @@ import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/movies")
@@ -17,8 +18,21 @@ public class MovieController {
     }
 
     @GetMapping("/all")
-    public List<Movie> getAll() {
-        return movieService.getMovies();
+    public List<Movie> getAll(MovieFilter filter) {
+        return movieService.getMovies(filter);
+    }
+
+    @GetMapping("/facets/genre")
+    public Map<String, Integer> countByGenre(MovieFilter filter) {
+        return movieService.countMoviesByGenre(filter);
+    }
+
+    @GetMapping("/search")
+    public List<String> searchTitles(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "PREFIX") MovieSearchMode mode,
+            @RequestParam(defaultValue = "10") int limit) {
+        return movieService.searchTitles(q, mode, limit);
     }
 
     @PostMapping
@@ -0,0 +1,4 @@
+package com.example.movieticket.movie;
+
+public record MovieDeletedEvent(Long movieId) {
+}
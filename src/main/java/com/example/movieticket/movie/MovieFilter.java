@@ -0,0 +1,28 @@
+package com.example.movieticket.movie;
+
+public record MovieFilter(
+        String genre,
+        Double minRating,
+        Double maxRating,
+        Integer fromYear,
+        Integer toYear,
+        MovieSortField sort,
+        Boolean descending) {
+
+    public static MovieFilter none() {
+        return new MovieFilter(null, null, null, null, null, null, null);
+    }
+
+    public boolean isEmpty() {
+        return genre == null && minRating == null && maxRating == null
+                && fromYear == null && toYear == null && sort == null;
+    }
+
+    public boolean isDescending() {
+        return Boolean.TRUE.equals(descending);
+    }
+
+    public MovieFilter withoutGenre() {
+        return new MovieFilter(null, minRating, maxRating, fromYear, toYear, sort, descending);
+    }
+}
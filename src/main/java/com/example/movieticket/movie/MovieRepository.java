@@ -1,9 +1,44 @@
 package com.example.movieticket.movie;
 
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface MovieRepository extends JpaRepository<Movie, Long> {
     Optional<Movie> findByTitle(String movieTitle);
+
+    @Query("SELECT m.id FROM Movie m WHERE m.title = :title")
+    Optional<Long> findIdByTitle(@Param("title") String title);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Movie m SET m.title = :newTitle, m.genreId = :genreId, m.duration = :duration, " +
+            "m.rating = :rating, m.releaseYear = :releaseYear WHERE m.title = :title")
+    int updateByTitle(@Param("title") String title,
+                      @Param("newTitle") String newTitle,
+                      @Param("genreId") Short genreId,
+                      @Param("duration") Integer duration,
+                      @Param("rating") Double rating,
+                      @Param("releaseYear") Integer releaseYear);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Movie m WHERE m.title = :title")
+    int deleteByTitle(@Param("title") String title);
+
+    @Query("SELECT m FROM Movie m WHERE (:genreId IS NULL OR m.genreId = :genreId) " +
+            "AND (:minRating IS NULL OR m.rating >= :minRating) AND (:maxRating IS NULL OR m.rating <= :maxRating) " +
+            "AND (:fromYear IS NULL OR m.releaseYear >= :fromYear) AND (:toYear IS NULL OR m.releaseYear <= :toYear)")
+    List<Movie> findFiltered(@Param("genreId") Short genreId,
+                             @Param("minRating") Double minRating,
+                             @Param("maxRating") Double maxRating,
+                             @Param("fromYear") Integer fromYear,
+                             @Param("toYear") Integer toYear,
+                             Sort sort);
 }
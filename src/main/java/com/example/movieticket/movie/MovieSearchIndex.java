@@ -0,0 +1,181 @@
+package com.example.movieticket.movie;
+
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * In-memory title index used by the search endpoint.
+ * Prefix lookups walk a sorted set of normalized titles, substring and fuzzy
+ * lookups go through a trigram posting index. Writers are serialized, readers never block.
+ */
+@Component
+public class MovieSearchIndex {
+
+    private static final int GRAM_SIZE = 3;
+    private static final char KEY_SEPARATOR = '\u0000';
+    private static final double FUZZY_MIN_SIMILARITY = 0.3;
+
+    private final Map<Long, IndexedTitle> titlesById = new ConcurrentHashMap<>();
+    private final NavigableSet<String> sortedKeys = new ConcurrentSkipListSet<>();
+    private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+
+    public synchronized void rebuild(Collection<Movie> movies) {
+        titlesById.clear();
+        sortedKeys.clear();
+        postings.clear();
+        movies.forEach(this::put);
+    }
+
+    public synchronized void put(Movie movie) {
+        if (movie.getId() == null || movie.getTitle() == null) {
+            return;
+        }
+        remove(movie.getId());
+
+        IndexedTitle indexed = new IndexedTitle(movie.getTitle(), normalize(movie.getTitle()));
+        titlesById.put(movie.getId(), indexed);
+        sortedKeys.add(sortKey(indexed.normalized(), movie.getId()));
+        for (String gram : grams(indexed.normalized())) {
+            postings.computeIfAbsent(gram, g -> ConcurrentHashMap.newKeySet()).add(movie.getId());
+        }
+    }
+
+    public synchronized void remove(Long id) {
+        IndexedTitle indexed = titlesById.remove(id);
+        if (indexed == null) {
+            return;
+        }
+        sortedKeys.remove(sortKey(indexed.normalized(), id));
+        for (String gram : grams(indexed.normalized())) {
+            Set<Long> ids = postings.get(gram);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    public List<String> search(String query, MovieSearchMode mode, int limit) {
+        String normalized = normalize(query);
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        return switch (mode) {
+            case PREFIX -> findByPrefix(normalized, limit);
+            case CONTAINS -> findBySubstring(normalized, limit);
+            case FUZZY -> findBySimilarity(normalized, limit);
+        };
+    }
+
+    private List<String> findByPrefix(String prefix, int limit) {
+        List<String> result = new ArrayList<>(limit);
+        for (String key : sortedKeys.tailSet(prefix, true)) {
+            if (result.size() >= limit || !key.startsWith(prefix)) {
+                break;
+            }
+            IndexedTitle indexed = titlesById.get(idOf(key));
+            if (indexed != null) {
+                result.add(indexed.title());
+            }
+        }
+        return result;
+    }
+
+    private List<String> findBySubstring(String fragment, int limit) {
+        if (fragment.length() < GRAM_SIZE) {
+            return findByPrefix(fragment, limit);
+        }
+
+        Set<Long> smallest = null;
+        for (String gram : grams(fragment)) {
+            Set<Long> ids = postings.get(gram);
+            if (ids == null) {
+                return List.of();
+            }
+            if (smallest == null || ids.size() < smallest.size()) {
+                smallest = ids;
+            }
+        }
+
+        // max-heap of the first titles seen so far, so a common trigram costs O(n log limit)
+        PriorityQueue<String> firstTitles = new PriorityQueue<>(limit + 1, String.CASE_INSENSITIVE_ORDER.reversed());
+        for (Long id : smallest) {
+            IndexedTitle indexed = titlesById.get(id);
+            if (indexed == null || !indexed.normalized().contains(fragment)) {
+                continue;
+            }
+            if (firstTitles.size() < limit) {
+                firstTitles.add(indexed.title());
+            } else if (String.CASE_INSENSITIVE_ORDER.compare(indexed.title(), firstTitles.peek()) < 0) {
+                firstTitles.poll();
+                firstTitles.add(indexed.title());
+            }
+        }
+        List<String> matches = new ArrayList<>(firstTitles);
+        matches.sort(String.CASE_INSENSITIVE_ORDER);
+        return matches;
+    }
+
+    private List<String> findBySimilarity(String text, int limit) {
+        Set<String> queryGrams = grams(text);
+        if (queryGrams.isEmpty()) {
+            return findByPrefix(text, limit);
+        }
+
+        Map<Long, Integer> sharedGrams = new HashMap<>();
+        for (String gram : queryGrams) {
+            Set<Long> ids = postings.get(gram);
+            if (ids != null) {
+                ids.forEach(id -> sharedGrams.merge(id, 1, Integer::sum));
+            }
+        }
+
+        record Scored(String title, double similarity) { }
+        List<Scored> matches = new ArrayList<>();
+        sharedGrams.forEach((id, shared) -> {
+            IndexedTitle indexed = titlesById.get(id);
+            if (indexed == null) {
+                return;
+            }
+            int titleGrams = Math.max(1, indexed.normalized().length() - GRAM_SIZE + 1);
+            double similarity = (double) shared / (queryGrams.size() + titleGrams - shared);
+            if (similarity >= FUZZY_MIN_SIMILARITY || indexed.normalized().contains(text)) {
+                matches.add(new Scored(indexed.title(), similarity));
+            }
+        });
+
+        return matches.stream()
+                .sorted(Comparator.comparingDouble(Scored::similarity).reversed()
+                        .thenComparing(Scored::title, String.CASE_INSENSITIVE_ORDER))
+                .limit(limit)
+                .map(Scored::title)
+                .toList();
+    }
+
+    static String normalize(String text) {
+        return text == null ? "" : text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<String> grams(String normalized) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_SIZE <= normalized.length(); i++) {
+            grams.add(normalized.substring(i, i + GRAM_SIZE));
+        }
+        return grams;
+    }
+
+    private static String sortKey(String normalized, Long id) {
+        return normalized + KEY_SEPARATOR + id;
+    }
+
+    private static Long idOf(String sortKey) {
+        return Long.valueOf(sortKey.substring(sortKey.lastIndexOf(KEY_SEPARATOR) + 1));
+    }
+
+    private record IndexedTitle(String title, String normalized) { }
+}
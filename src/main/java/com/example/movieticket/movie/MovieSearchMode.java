@@ -0,0 +1,7 @@
+package com.example.movieticket.movie;
+
+public enum MovieSearchMode {
+    PREFIX,
+    CONTAINS,
+    FUZZY
+}
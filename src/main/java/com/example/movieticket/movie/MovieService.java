@@ -1,42 +1,182 @@
 package com.example.movieticket.movie;
 
+import com.example.movieticket.cache.CacheInvalidationBus;
+import com.example.movieticket.cache.CacheInvalidationHandler;
+import com.example.movieticket.cache.CacheRegion;
 import com.example.movieticket.exception.ResourceNotFoundException;
+import com.example.movieticket.exception.ValidationException;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
 
 @Service
-public class MovieService {
+public class MovieService implements CacheInvalidationHandler {
+
+    private static final int MAX_SEARCH_RESULTS = 50;
 
     private final MovieRepository movieRepository;
+    private final MovieSearchIndex movieSearchIndex;
+    private final MovieCatalog movieCatalog;
+    private final GenreDictionary genreDictionary;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public MovieService(MovieRepository movieRepository) {
+    public MovieService(MovieRepository movieRepository, MovieSearchIndex movieSearchIndex,
+                        MovieCatalog movieCatalog, GenreDictionary genreDictionary,
+                        CacheInvalidationBus cacheInvalidationBus, ApplicationEventPublisher eventPublisher) {
         this.movieRepository = movieRepository;
+        this.movieSearchIndex = movieSearchIndex;
+        this.movieCatalog = movieCatalog;
+        this.genreDictionary = genreDictionary;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadCatalog() {
+        List<Movie> movies = getMovies();
+        movieSearchIndex.rebuild(movies);
+        movieCatalog.rebuild(movies);
     }
 
+    /**
+     * One bulk {@code UPDATE ... WHERE title = ?}. The id the caches are keyed by comes from the
+     * catalog, so the database is only asked for it when the catalog does not know the title.
+     */
     public Movie updateMovie(String movieTitle, Movie movieDetails) {
-        Movie existingMovie = getMovieByTitle(movieTitle);
-        Long existingId = existingMovie.getId();
-        movieDetails.setId(existingId);
-        return movieRepository.save(movieDetails);
+        genreDictionary.encode(movieDetails);
+        Optional<Long> knownId = movieIdOf(movieTitle);
+        int updated = writeMovie(movieDetails.getTitle(), () -> movieRepository.updateByTitle(movieTitle,
+                movieDetails.getTitle(), movieDetails.getGenreId(), movieDetails.getDuration(),
+                movieDetails.getRating(), movieDetails.getReleaseYear()));
+        if (updated == 0) {
+            throw movieNotFound(movieTitle);
+        }
+        Long id = knownId.or(() -> movieRepository.findIdByTitle(movieDetails.getTitle()))
+                .orElseThrow(() -> movieNotFound(movieTitle));
+        movieDetails.setId(id);
+        movieSearchIndex.put(movieDetails);
+        movieCatalog.put(movieDetails);
+        cacheInvalidationBus.publish(CacheRegion.MOVIE, id);
+        return movieDetails;
     }
 
     public void addMovie(Movie movie) {
-        movieRepository.save(movie);
+        genreDictionary.encode(movie);
+        writeMovie(movie.getTitle(), () -> movieRepository.save(movie));
+        movieSearchIndex.put(movie);
+        movieCatalog.put(movie);
+        cacheInvalidationBus.publish(CacheRegion.MOVIE, movie.getId());
     }
 
     public void deleteMovie(String movieTitle) {
-        Movie toDelete = getMovieByTitle(movieTitle);
-        movieRepository.delete(toDelete);
+        Optional<Long> knownId = movieIdOf(movieTitle);
+        if (movieRepository.deleteByTitle(movieTitle) == 0) {
+            throw movieNotFound(movieTitle);
+        }
+        knownId.ifPresent(id -> {
+            movieSearchIndex.remove(id);
+            movieCatalog.remove(id);
+            cacheInvalidationBus.publish(CacheRegion.MOVIE, id);
+            eventPublisher.publishEvent(new MovieDeletedEvent(id));
+        });
     }
 
+    @Transactional(readOnly = true)
     public List<Movie> getMovies() {
-        return movieRepository.findAll();
+        List<Movie> movies = movieRepository.findAll();
+        movies.forEach(genreDictionary::decode);
+        return movies;
+    }
+
+    @Transactional(readOnly = true)
+    public List<Movie> getMovies(MovieFilter filter) {
+        if (filter.isEmpty()) {
+            return getMovies();
+        }
+        if (movieCatalog.isLoaded()) {
+            return movieCatalog.query(filter);
+        }
+        Short genreId = null;
+        if (filter.genre() != null) {
+            Optional<Short> code = genreDictionary.codeOf(filter.genre());
+            if (code.isEmpty()) {
+                return List.of();
+            }
+            genreId = code.get();
+        }
+        List<Movie> movies = movieRepository.findFiltered(genreId, filter.minRating(), filter.maxRating(),
+                filter.fromYear(), filter.toYear(), sortOf(filter));
+        movies.forEach(genreDictionary::decode);
+        return movies;
+    }
+
+    /**
+     * Titles are ordered with {@code lower(title)} so the database fallback returns the same
+     * case-insensitive order as {@link MovieCatalog} rather than the column collation.
+     */
+    static Sort sortOf(MovieFilter filter) {
+        if (filter.sort() == null) {
+            return Sort.unsorted();
+        }
+        Sort.Order order = new Sort.Order(filter.isDescending() ? Sort.Direction.DESC : Sort.Direction.ASC,
+                filter.sort().getProperty());
+        return Sort.by(filter.sort() == MovieSortField.TITLE ? order.ignoreCase() : order);
+    }
+
+    public Map<String, Integer> countMoviesByGenre(MovieFilter filter) {
+        if (!movieCatalog.isLoaded()) {
+            loadCatalog();
+        }
+        return movieCatalog.countByGenre(filter.withoutGenre());
     }
 
+    public List<String> searchTitles(String query, MovieSearchMode mode, int limit) {
+        int boundedLimit = Math.max(1, Math.min(limit, MAX_SEARCH_RESULTS));
+        return movieSearchIndex.search(query, mode, boundedLimit);
+    }
+
+    @Transactional(readOnly = true)
     public Movie getMovieByTitle(String movieTitle) {
-        return movieRepository.findByTitle(movieTitle)
-                .orElseThrow(() -> new ResourceNotFoundException("ERROR: Movie with title " + movieTitle + " does not exist."));
+        Movie movie = movieRepository.findByTitle(movieTitle)
+                .orElseThrow(() -> movieNotFound(movieTitle));
+        genreDictionary.decode(movie);
+        return movie;
+    }
+
+    /** Reloads a movie another node changed; a movie that is gone is dropped. */
+    @Override
+    public void invalidate(String movieId) {
+        Long id = Long.valueOf(movieId);
+        Optional<Movie> movie = movieRepository.findById(id);
+        if (movie.isPresent()) {
+            genreDictionary.decode(movie.get());
+            movieSearchIndex.put(movie.get());
+            movieCatalog.put(movie.get());
+        } else {
+            movieSearchIndex.remove(id);
+            movieCatalog.remove(id);
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        loadCatalog();
+    }
+
+    @Override
+    public CacheRegion region() {
+        return CacheRegion.MOVIE;
     }
 
     public void validateMovieExists(long id) {
@@ -45,4 +185,25 @@ public class MovieService {
         }
     }
 
+    /** Duplicate titles are rejected by {@link Movie#TITLE_CONSTRAINT}, so the write statement is where they surface. */
+    private <T> T writeMovie(String title, Supplier<T> write) {
+        try {
+            return write.get();
+        } catch (DataIntegrityViolationException e) {
+            String cause = String.valueOf(e.getMostSpecificCause().getMessage()).toLowerCase(Locale.ROOT);
+            if (cause.contains(Movie.TITLE_CONSTRAINT)) {
+                throw new ValidationException("Movie with title " + title + " already exists.");
+            }
+            throw e;
+        }
+    }
+
+    private Optional<Long> movieIdOf(String movieTitle) {
+        return movieCatalog.idOf(movieTitle).or(() -> movieRepository.findIdByTitle(movieTitle));
+    }
+
+    private static ResourceNotFoundException movieNotFound(String movieTitle) {
+        return new ResourceNotFoundException("ERROR: Movie with title " + movieTitle + " does not exist.");
+    }
+
 }
@@ -0,0 +1,17 @@
+package com.example.movieticket.movie;
+
+public enum MovieSortField {
+    TITLE("title"),
+    RATING("rating"),
+    RELEASE_YEAR("releaseYear");
+
+    private final String property;
+
+    MovieSortField(String property) {
+        this.property = property;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+}
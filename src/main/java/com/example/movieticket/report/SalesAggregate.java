@@ -0,0 +1,34 @@
+package com.example.movieticket.report;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_sales_aggregate_key",
+        columnNames = {"movie_id", "theater", "sales_date"}))
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class SalesAggregate {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long movieId;
+
+    @Column(nullable = false, length = 200)
+    private String theater;
+
+    @Column(nullable = false)
+    private LocalDate salesDate;
+
+    @Column(nullable = false)
+    private Long ticketsSold;
+
+    @Column(nullable = false)
+    private Long revenueCents;
+}
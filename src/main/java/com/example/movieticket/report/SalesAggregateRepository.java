@@ -0,0 +1,51 @@
+package com.example.movieticket.report;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface SalesAggregateRepository extends JpaRepository<SalesAggregate, Long> {
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE SalesAggregate a SET a.ticketsSold = a.ticketsSold + :tickets, a.revenueCents = a.revenueCents + :cents " +
+            "WHERE a.movieId = :movieId AND a.theater = :theater AND a.salesDate = :salesDate")
+    int addSales(@Param("movieId") Long movieId,
+                 @Param("theater") String theater,
+                 @Param("salesDate") LocalDate salesDate,
+                 @Param("tickets") long tickets,
+                 @Param("cents") long cents);
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Modifying
+    @Query(value = "INSERT INTO sales_aggregate (movie_id, theater, sales_date, tickets_sold, revenue_cents) " +
+            "SELECT CAST(:movieId AS BIGINT), CAST(:theater AS VARCHAR(200)), CAST(:salesDate AS DATE), 0, 0 " +
+            "WHERE NOT EXISTS (SELECT 1 FROM sales_aggregate " +
+            "WHERE movie_id = :movieId AND theater = :theater AND sales_date = :salesDate)", nativeQuery = true)
+    int insertIfMissing(@Param("movieId") Long movieId,
+                        @Param("theater") String theater,
+                        @Param("salesDate") LocalDate salesDate);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM SalesAggregate a WHERE a.movieId = :movieId")
+    int deleteByMovieId(@Param("movieId") Long movieId);
+
+    @Query("SELECT new com.example.movieticket.report.SalesReportRow(CAST(a.movieId AS String), SUM(a.ticketsSold), SUM(a.revenueCents)) " +
+            "FROM SalesAggregate a WHERE a.salesDate BETWEEN :from AND :to GROUP BY a.movieId ORDER BY a.movieId")
+    List<SalesReportRow> sumByMovie(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT new com.example.movieticket.report.SalesReportRow(a.theater, SUM(a.ticketsSold), SUM(a.revenueCents)) " +
+            "FROM SalesAggregate a WHERE a.salesDate BETWEEN :from AND :to GROUP BY a.theater ORDER BY a.theater")
+    List<SalesReportRow> sumByTheater(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT new com.example.movieticket.report.SalesReportRow(CAST(a.salesDate AS String), SUM(a.ticketsSold), SUM(a.revenueCents)) " +
+            "FROM SalesAggregate a WHERE a.salesDate BETWEEN :from AND :to GROUP BY a.salesDate ORDER BY a.salesDate")
+    List<SalesReportRow> sumByDay(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
@@ -0,0 +1,7 @@
+package com.example.movieticket.report;
+
+public enum SalesGrouping {
+    MOVIE,
+    THEATER,
+    DAY
+}
@@ -0,0 +1,4 @@
+package com.example.movieticket.report;
+
+public record SalesReportRow(String group, Long ticketsSold, Long revenueCents) {
+}
@@ -0,0 +1,143 @@
+package com.example.movieticket.report;
+
+import com.example.movieticket.movie.MovieDeletedEvent;
+import com.example.movieticket.showtime.Showtime;
+import com.example.movieticket.showtime.ShowtimeDeletedEvent;
+import com.example.movieticket.showtime.ShowtimeRepository;
+import com.example.movieticket.ticket.Ticket;
+import com.example.movieticket.ticket.TicketBookedEvent;
+import com.example.movieticket.ticket.TicketCancelledEvent;
+import com.example.movieticket.ticket.TicketRepository;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Revenue and ticket counts per movie, theater and show date, kept as running totals in
+ * whole cents. Each booking adds to its bucket inside the booking transaction.
+ * <p>
+ * A showtime's movie, theater, date and price are fixed once it sells, so a cancellation takes
+ * back exactly what its booking added. Deleting a showtime or movie removes its sales as well,
+ * matching {@link #rebuild()}, which only counts tickets that still exist.
+ */
+@Service
+public class SalesReportService {
+
+    static final int REBUILD_BATCH_SIZE = 1000;
+
+    private final SalesAggregateRepository salesAggregateRepository;
+    private final ShowtimeRepository showtimeRepository;
+    private final TicketRepository ticketRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public SalesReportService(SalesAggregateRepository salesAggregateRepository,
+                              ShowtimeRepository showtimeRepository,
+                              TicketRepository ticketRepository,
+                              TransactionTemplate transactionTemplate) {
+        this.salesAggregateRepository = salesAggregateRepository;
+        this.showtimeRepository = showtimeRepository;
+        this.ticketRepository = ticketRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @EventListener
+    public void onTicketBooked(TicketBookedEvent event) {
+        showtimeRepository.findById(event.showtimeId())
+                .ifPresent(showtime -> addSales(showtime, 1));
+    }
+
+    @EventListener
+    public void onTicketCancelled(TicketCancelledEvent event) {
+        showtimeRepository.findById(event.showtimeId())
+                .ifPresent(showtime -> addSales(showtime, -1));
+    }
+
+    @EventListener
+    public void onShowtimeDeleted(ShowtimeDeletedEvent event) {
+        if (event.soldTickets() > 0) {
+            addSales(event.showtime(), -event.soldTickets());
+        }
+    }
+
+    @EventListener
+    public void onMovieDeleted(MovieDeletedEvent event) {
+        salesAggregateRepository.deleteByMovieId(event.movieId());
+    }
+
+    @Transactional(readOnly = true)
+    public List<SalesReportRow> getReport(SalesGrouping grouping, LocalDate from, LocalDate to) {
+        return switch (grouping) {
+            case MOVIE -> salesAggregateRepository.sumByMovie(from, to);
+            case THEATER -> salesAggregateRepository.sumByTheater(from, to);
+            case DAY -> salesAggregateRepository.sumByDay(from, to);
+        };
+    }
+
+    /**
+     * Recomputes every bucket from the ticket table, reading tickets in id order one batch
+     * at a time. Bookings that commit while the scan runs may be missed, so run it off-peak.
+     */
+    public long rebuild() {
+        Map<SalesKey, long[]> totals = new HashMap<>();
+        Map<Long, Optional<Showtime>> showtimes = new HashMap<>();
+        Pageable batch = PageRequest.of(0, REBUILD_BATCH_SIZE);
+        long scanned = 0;
+
+        List<Ticket> tickets = ticketRepository.findByOrderByIdAsc(batch);
+        while (!tickets.isEmpty()) {
+            for (Ticket ticket : tickets) {
+                showtimes.computeIfAbsent(ticket.getShowtimeId(), showtimeRepository::findById)
+                        .ifPresent(showtime -> {
+                            long[] total = totals.computeIfAbsent(SalesKey.of(showtime), key -> new long[2]);
+                            total[0]++;
+                            total[1] += toCents(showtime.getPrice());
+                        });
+            }
+            scanned += tickets.size();
+            UUID last = tickets.get(tickets.size() - 1).getId();
+            tickets = ticketRepository.findByIdGreaterThanOrderByIdAsc(last, batch);
+        }
+
+        List<SalesAggregate> aggregates = new ArrayList<>(totals.size());
+        totals.forEach((key, total) -> aggregates.add(
+                new SalesAggregate(null, key.movieId(), key.theater(), key.salesDate(), total[0], total[1])));
+        transactionTemplate.execute(status -> {
+            salesAggregateRepository.deleteAllInBatch();
+            return salesAggregateRepository.saveAll(aggregates);
+        });
+        return scanned;
+    }
+
+    private void addSales(Showtime showtime, long tickets) {
+        SalesKey key = SalesKey.of(showtime);
+        long cents = tickets * toCents(showtime.getPrice());
+        if (salesAggregateRepository.addSales(key.movieId(), key.theater(), key.salesDate(), tickets, cents) > 0 || tickets < 0) {
+            return;
+        }
+        try {
+            salesAggregateRepository.insertIfMissing(key.movieId(), key.theater(), key.salesDate());
+        } catch (DataIntegrityViolationException e) {
+            // a concurrent booking created the bucket first
+        }
+        salesAggregateRepository.addSales(key.movieId(), key.theater(), key.salesDate(), tickets, cents);
+    }
+
+    static long toCents(Double price) {
+        return BigDecimal.valueOf(price).setScale(2, RoundingMode.HALF_UP).movePointRight(2).longValueExact();
+    }
+
+    record SalesKey(Long movieId, String theater, LocalDate salesDate) {
+        static SalesKey of(Showtime showtime) {
+            return new SalesKey(showtime.getMovieId(), showtime.getTheater(), showtime.getStartTime().toLocalDate());
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.movieticket.showtime;
+
+public record Occupancy(Long showtimeId, int capacity, int soldSeats, int availableSeats, boolean soldOut) {
+
+    public static Occupancy of(Long showtimeId, int capacity, int soldSeats) {
+        int available = Math.max(0, capacity - soldSeats);
+        return new Occupancy(showtimeId, capacity, soldSeats, available, available == 0);
+    }
+}
@@ -4,12 +4,12 @@ package com.example.movieticket.showtime;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 
 @Entity
 @NoArgsConstructor
-@AllArgsConstructor
 @Getter
 @Setter
 public class Showtime {
@@ -37,6 +37,21 @@ public class Showtime {
     @NotNull(message = " Price is required. ")
     private Double price;
 
+    /** Required on updates: the edit only applies if nobody changed the showtime since it was read. */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    public Showtime(Long id, Long movieId, String theater, LocalDateTime startTime, LocalDateTime endTime, Double price) {
+        this.id = id;
+        this.movieId = movieId;
+        this.theater = theater;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.price = price;
+    }
+
     @Override
     public String toString() {
         return "Showtime{" +
@@ -46,6 +61,7 @@ public class Showtime {
                 ", startTime=" + startTime +
                 ", endTime=" + endTime +
                 ", price=" + price +
+                ", version=" + version +
                 '}';
     }
 }
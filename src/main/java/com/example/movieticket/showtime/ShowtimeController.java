@@ -11,14 +11,21 @@ import org.springframework.web.bind.annotation.*;
 public class ShowtimeController {
 
     private final ShowtimeService showtimeService;
+    private final ShowtimeOccupancyService showtimeOccupancyService;
 
-    public ShowtimeController(ShowtimeService showtimeService) {
+    public ShowtimeController(ShowtimeService showtimeService, ShowtimeOccupancyService showtimeOccupancyService) {
         this.showtimeService = showtimeService;
+        this.showtimeOccupancyService = showtimeOccupancyService;
     }
 
     @GetMapping("/{id}")
-    public Showtime getShowtimeById(@PathVariable Long id) {
-        return showtimeService.getShowtimeById(id);
+    public ShowtimeView getShowtimeById(@PathVariable Long id) {
+        return showtimeService.getShowtimeView(id);
+    }
+
+    @GetMapping("/{id}/occupancy")
+    public Occupancy getOccupancy(@PathVariable Long id) {
+        return showtimeOccupancyService.getOccupancy(id);
     }
 
     @PutMapping("/update/{id}")
@@ -0,0 +1,5 @@
+package com.example.movieticket.showtime;
+
+/** Carries the deleted row and how many tickets it had sold, so their sales can be taken back out. */
+public record ShowtimeDeletedEvent(Long showtimeId, Showtime showtime, long soldTickets) {
+}
@@ -0,0 +1,5 @@
+package com.example.movieticket.showtime;
+
+/** Published when a showtime moves to a theater with another seat layout, before any ticket was sold. */
+public record ShowtimeLayoutChangedEvent(Long showtimeId) {
+}
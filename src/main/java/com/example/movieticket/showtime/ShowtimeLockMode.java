@@ -0,0 +1,11 @@
+package com.example.movieticket.showtime;
+
+/**
+ * How same-theater showtime writes are serialized, selected with {@code showtime.lock.mode}.
+ */
+public enum ShowtimeLockMode {
+    /** Striped in-process locks; enough for a single application instance. */
+    LOCAL,
+    /** Transaction-scoped database advisory locks, shared by every instance on the same database. */
+    ADVISORY
+}
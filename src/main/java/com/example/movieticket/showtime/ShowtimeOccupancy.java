@@ -0,0 +1,20 @@
+package com.example.movieticket.showtime;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class ShowtimeOccupancy {
+    @Id
+    private Long showtimeId;
+
+    @Column(nullable = false)
+    private Integer capacity;
+
+    @Column(nullable = false)
+    private Integer soldSeats;
+}
@@ -0,0 +1,27 @@
+package com.example.movieticket.showtime;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface ShowtimeOccupancyRepository extends JpaRepository<ShowtimeOccupancy, Long> {
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE ShowtimeOccupancy o SET o.soldSeats = o.soldSeats + 1 WHERE o.showtimeId = :showtimeId AND o.soldSeats < o.capacity")
+    int incrementSoldSeats(@Param("showtimeId") Long showtimeId);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE ShowtimeOccupancy o SET o.soldSeats = o.soldSeats - 1 WHERE o.showtimeId = :showtimeId AND o.soldSeats > 0")
+    int decrementSoldSeats(@Param("showtimeId") Long showtimeId);
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Modifying
+    @Query(value = "INSERT INTO showtime_occupancy (showtime_id, capacity, sold_seats) " +
+            "SELECT CAST(:showtimeId AS BIGINT), CAST(:capacity AS INTEGER), COUNT(*) FROM ticket WHERE showtime_id = :showtimeId", nativeQuery = true)
+    int insertFromTickets(@Param("showtimeId") Long showtimeId, @Param("capacity") int capacity);
+}
@@ -0,0 +1,148 @@
+package com.example.movieticket.showtime;
+
+import com.example.movieticket.cache.CacheInvalidationHandler;
+import com.example.movieticket.cache.CacheRegion;
+import com.example.movieticket.exception.ResourceNotFoundException;
+import com.example.movieticket.exception.ValidationException;
+import com.example.movieticket.theater.SeatLayout;
+import com.example.movieticket.theater.TheaterService;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps a sold-seat counter per showtime. The counter row is changed with conditional
+ * updates inside the booking transaction; the in-memory copy is dropped after commit and
+ * reloaded by the next read. Loading happens inside {@code computeIfAbsent}, so an eviction
+ * that races a load waits for it and never leaves a pre-commit snapshot behind.
+ * <p>
+ * Because every booking drops the cached copy, {@link #checkNotSoldOut} only short-circuits
+ * once an occupancy read or a failed reserve has cached the sold-out state; until then the
+ * conditional update on the counter row is what rejects the booking.
+ */
+@Service
+public class ShowtimeOccupancyService implements CacheInvalidationHandler {
+
+    public static final int DEFAULT_CAPACITY = SeatLayout.DEFAULT.capacity();
+
+    private final ShowtimeOccupancyRepository occupancyRepository;
+    private final ShowtimeRepository showtimeRepository;
+    private final TheaterService theaterService;
+    private final Map<Long, Occupancy> cache = new ConcurrentHashMap<>();
+
+    public ShowtimeOccupancyService(ShowtimeOccupancyRepository occupancyRepository, ShowtimeRepository showtimeRepository,
+                                    TheaterService theaterService) {
+        this.occupancyRepository = occupancyRepository;
+        this.showtimeRepository = showtimeRepository;
+        this.theaterService = theaterService;
+    }
+
+    public Occupancy getOccupancy(long showtimeId) {
+        Occupancy cached = cache.get(showtimeId);
+        if (cached != null) {
+            return cached;
+        }
+        return cache.computeIfAbsent(showtimeId, id -> {
+            if (!showtimeRepository.existsById(id)) {
+                throw new ResourceNotFoundException("ERROR: Showtime with id " + id + " does not exist.");
+            }
+            return toOccupancy(loadOrCreate(id));
+        });
+    }
+
+    public void checkNotSoldOut(long showtimeId) {
+        Occupancy cached = cache.get(showtimeId);
+        if (cached != null && cached.soldOut()) {
+            throw soldOut();
+        }
+    }
+
+    public void reserveSeat(long showtimeId) {
+        int updated = occupancyRepository.incrementSoldSeats(showtimeId);
+        if (updated == 0 && !occupancyRepository.existsById(showtimeId)) {
+            loadOrCreate(showtimeId);
+            updated = occupancyRepository.incrementSoldSeats(showtimeId);
+        }
+        if (updated == 0) {
+            occupancyRepository.findById(showtimeId)
+                    .ifPresent(occupancy -> cache.put(showtimeId, toOccupancy(occupancy)));
+            throw soldOut();
+        }
+        afterCommit(() -> evict(showtimeId));
+    }
+
+    public void releaseSeat(long showtimeId) {
+        if (occupancyRepository.decrementSoldSeats(showtimeId) > 0) {
+            afterCommit(() -> evict(showtimeId));
+        }
+    }
+
+    public void remove(long showtimeId) {
+        if (occupancyRepository.existsById(showtimeId)) {
+            occupancyRepository.deleteById(showtimeId);
+        }
+        evict(showtimeId);
+    }
+
+    public void evict(long showtimeId) {
+        cache.remove(showtimeId);
+    }
+
+    @Override
+    public CacheRegion region() {
+        return CacheRegion.SHOWTIME;
+    }
+
+    @Override
+    public void invalidate(String showtimeId) {
+        evict(Long.parseLong(showtimeId));
+    }
+
+    @Override
+    public void invalidateAll() {
+        cache.clear();
+    }
+
+    private ShowtimeOccupancy loadOrCreate(long showtimeId) {
+        return occupancyRepository.findById(showtimeId).orElseGet(() -> {
+            try {
+                occupancyRepository.insertFromTickets(showtimeId, capacityOf(showtimeId));
+            } catch (DataIntegrityViolationException e) {
+                // another booking created the counter first
+            }
+            return occupancyRepository.findById(showtimeId)
+                    .orElseThrow(() -> new IllegalStateException("Occupancy for showtime " + showtimeId + " was not created"));
+        });
+    }
+
+    private int capacityOf(long showtimeId) {
+        return showtimeRepository.findById(showtimeId)
+                .map(showtime -> theaterService.getSeatLayout(showtime.getTheater()).capacity())
+                .orElse(DEFAULT_CAPACITY);
+    }
+
+    private static Occupancy toOccupancy(ShowtimeOccupancy occupancy) {
+        return Occupancy.of(occupancy.getShowtimeId(), occupancy.getCapacity(), occupancy.getSoldSeats());
+    }
+
+    private static ValidationException soldOut() {
+        return new ValidationException("This showtime is sold out.");
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.movieticket.showtime;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Makes the database reject overlapping showtimes in the same theater. On PostgreSQL this is an
+ * exclusion constraint on {@code (theater, tsrange(start_time, end_time))}; on H2, which has no
+ * exclusion constraints, a {@link ShowtimeOverlapTrigger} does the same check. Both report the
+ * violation under {@link #CONSTRAINT_NAME} so {@link ShowtimeService} can recognise it.
+ */
+@Component
+public class ShowtimeOverlapConstraint implements ApplicationRunner {
+
+    public static final String CONSTRAINT_NAME = "ex_showtime_theater_overlap";
+    static final String GUARD_TABLE = "showtime_overlap_guard";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ShowtimeOverlapConstraint(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        if ("PostgreSQL".equalsIgnoreCase(database)) {
+            createExclusionConstraint();
+        } else if ("H2".equalsIgnoreCase(database)) {
+            createTrigger();
+        }
+    }
+
+    private void createExclusionConstraint() {
+        Integer existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM pg_constraint WHERE conname = ?", Integer.class, CONSTRAINT_NAME);
+        if (existing != null && existing > 0) {
+            return;
+        }
+        jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS btree_gist");
+        jdbcTemplate.execute("ALTER TABLE showtime ADD CONSTRAINT " + CONSTRAINT_NAME +
+                " EXCLUDE USING gist (theater WITH =, tsrange(start_time, end_time) WITH &&)");
+    }
+
+    private void createTrigger() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + GUARD_TABLE +
+                " (theater VARCHAR(200) PRIMARY KEY)");
+        jdbcTemplate.execute("CREATE TRIGGER IF NOT EXISTS trg_" + CONSTRAINT_NAME +
+                " BEFORE INSERT, UPDATE ON showtime FOR EACH ROW CALL '" +
+                ShowtimeOverlapTrigger.class.getName() + "'");
+    }
+}
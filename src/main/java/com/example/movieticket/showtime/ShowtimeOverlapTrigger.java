@@ -0,0 +1,75 @@
+package com.example.movieticket.showtime;
+
+import org.h2.api.Trigger;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * H2 stand-in for the PostgreSQL exclusion constraint: rejects a showtime row that overlaps
+ * another one in the same theater. The per-theater guard row is locked first, so concurrent
+ * writers for one theater are serialized until the first transaction commits.
+ */
+public class ShowtimeOverlapTrigger implements Trigger {
+
+    private int idColumn = -1;
+    private int theaterColumn = -1;
+    private int startTimeColumn = -1;
+    private int endTimeColumn = -1;
+
+    @Override
+    public void init(Connection conn, String schemaName, String triggerName, String tableName,
+                     boolean before, int type) throws SQLException {
+        try (PreparedStatement statement = conn.prepareStatement(
+                "SELECT COLUMN_NAME, ORDINAL_POSITION FROM INFORMATION_SCHEMA.COLUMNS " +
+                        "WHERE TABLE_SCHEMA = ? AND TABLE_NAME = ?")) {
+            statement.setString(1, schemaName);
+            statement.setString(2, tableName);
+            try (ResultSet columns = statement.executeQuery()) {
+                while (columns.next()) {
+                    int index = columns.getInt(2) - 1;
+                    switch (columns.getString(1).toUpperCase()) {
+                        case "ID" -> idColumn = index;
+                        case "THEATER" -> theaterColumn = index;
+                        case "START_TIME" -> startTimeColumn = index;
+                        case "END_TIME" -> endTimeColumn = index;
+                        default -> { }
+                    }
+                }
+            }
+        }
+        if (idColumn < 0 || theaterColumn < 0 || startTimeColumn < 0 || endTimeColumn < 0) {
+            throw new SQLException("Table " + tableName + " is missing showtime columns");
+        }
+    }
+
+    @Override
+    public void fire(Connection conn, Object[] oldRow, Object[] newRow) throws SQLException {
+        if (newRow == null) {
+            return;
+        }
+        Object theater = newRow[theaterColumn];
+        try (PreparedStatement guard = conn.prepareStatement(
+                "MERGE INTO " + ShowtimeOverlapConstraint.GUARD_TABLE + " (theater) KEY (theater) VALUES (?)")) {
+            guard.setObject(1, theater);
+            guard.executeUpdate();
+        }
+
+        Object id = newRow[idColumn];
+        try (PreparedStatement overlap = conn.prepareStatement(
+                "SELECT 1 FROM showtime WHERE theater = ? AND id <> ? AND start_time < ? AND end_time > ? LIMIT 1")) {
+            overlap.setObject(1, theater);
+            overlap.setObject(2, id == null ? Long.MIN_VALUE : id);
+            overlap.setObject(3, newRow[endTimeColumn]);
+            overlap.setObject(4, newRow[startTimeColumn]);
+            try (ResultSet result = overlap.executeQuery()) {
+                if (result.next()) {
+                    throw new SQLException("Showtime overlaps with another showtime in the same theater ("
+                            + ShowtimeOverlapConstraint.CONSTRAINT_NAME + ")", "23P01");
+                }
+            }
+        }
+    }
+}
@@ -1,23 +1,41 @@
 package com.example.movieticket.showtime;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.Optional;
 
 public interface ShowtimeRepository extends JpaRepository<Showtime, Long> {
-    @Query("SELECT s FROM Showtime s WHERE s.theater = :theater AND ((s.startTime < :endTime AND s.endTime > :startTime))")
-    List<Showtime> findOverlappingShowtime(@Param("theater") String theater,
-                                            @Param("startTime") LocalDateTime startTime,
-                                            @Param("endTime") LocalDateTime endTime);
+    boolean existsByTheater(String theater);
 
-    @Query("SELECT s FROM Showtime s WHERE s.theater = :theater AND s.id <> :id AND ((s.startTime < :endTime AND s.endTime > :startTime))")
-    List<Showtime> findOverlappingShowtimeExcludingId(@Param("theater") String theater,
-                                           @Param("startTime") LocalDateTime startTime,
-                                           @Param("endTime") LocalDateTime endTime,
-                                           @Param("id") Long id);
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM ticket WHERE showtime_id = :id)", nativeQuery = true)
+    boolean hasTickets(@Param("id") Long id);
 
+    @Query(value = "SELECT COUNT(*) FROM ticket WHERE showtime_id = :id", nativeQuery = true)
+    long countTickets(@Param("id") Long id);
+
+    Optional<ShowtimeView> findViewById(Long id);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Showtime s SET s.movieId = :movieId, s.theater = :theater, s.startTime = :startTime, " +
+            "s.endTime = :endTime, s.price = :price, s.version = s.version + 1 " +
+            "WHERE s.id = :id AND s.version = :version")
+    int updateShowtime(@Param("id") Long id,
+                       @Param("version") Long version,
+                       @Param("movieId") Long movieId,
+                       @Param("theater") String theater,
+                       @Param("startTime") LocalDateTime startTime,
+                       @Param("endTime") LocalDateTime endTime,
+                       @Param("price") Double price);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Showtime s WHERE s.id = :id")
+    int deleteShowtime(@Param("id") Long id);
 
 }
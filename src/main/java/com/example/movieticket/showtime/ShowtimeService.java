@@ -1,38 +1,96 @@
 package com.example.movieticket.showtime;
 
+import com.example.movieticket.cache.CacheInvalidationBus;
+import com.example.movieticket.cache.CacheRegion;
+import com.example.movieticket.exception.ConflictException;
 import com.example.movieticket.exception.ResourceNotFoundException;
 import com.example.movieticket.exception.ValidationException;
 import com.example.movieticket.movie.MovieService;
+import com.example.movieticket.theater.SeatLayout;
+import com.example.movieticket.theater.TheaterService;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.function.Supplier;
 
 @Service
 public class ShowtimeService {
     private final ShowtimeRepository showtimeRepository;
     private final MovieService movieService;
-
-    public ShowtimeService(ShowtimeRepository showtimeRepository, MovieService movieService) {
+    private final ShowtimeOccupancyService showtimeOccupancyService;
+    private final TheaterService theaterService;
+    private final TheaterWriteLock theaterWriteLock;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ShowtimeService(ShowtimeRepository showtimeRepository, MovieService movieService,
+                           ShowtimeOccupancyService showtimeOccupancyService, TheaterService theaterService,
+                           TheaterWriteLock theaterWriteLock, CacheInvalidationBus cacheInvalidationBus,
+                           ApplicationEventPublisher eventPublisher) {
         this.showtimeRepository = showtimeRepository;
         this.movieService = movieService;
+        this.showtimeOccupancyService = showtimeOccupancyService;
+        this.theaterService = theaterService;
+        this.theaterWriteLock = theaterWriteLock;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.eventPublisher = eventPublisher;
     }
 
+    /**
+     * One {@code UPDATE ... WHERE id = ? AND version = ?}; the existence check only runs when
+     * no row matched, to tell a missing showtime from a concurrent edit.
+     * <p>
+     * Once tickets are sold, the movie, theater, show date and price are fixed: sales totals are
+     * bucketed and priced by them, and occupancy counters and seat maps are sized by the theater's
+     * layout. Before that, a move to another layout drops the showtime's seat state, which is
+     * rebuilt for the new layout on next use.
+     */
     public Showtime updateShowtime(Long id, Showtime showtimeDetails) {
-        validateShowtimeExists(id);
-        validateShowtime(showtimeDetails, id);
+        if (showtimeDetails.getVersion() == null) {
+            throw new ValidationException("Version is required to update a showtime, reload it and try again.");
+        }
+        validateShowtime(showtimeDetails);
+        Showtime current = getShowtimeById(id);
+        if (soldTermsChange(current, showtimeDetails) && showtimeRepository.hasTickets(id)) {
+            throw new ValidationException("Showtime " + id + " has sold tickets, its movie, theater, date and price cannot change.");
+        }
+        boolean layoutChanged = layoutChanges(current, showtimeDetails);
+        int updated = writeShowtime(showtimeDetails.getTheater(), () -> showtimeRepository.updateShowtime(id,
+                showtimeDetails.getVersion(), showtimeDetails.getMovieId(), showtimeDetails.getTheater(),
+                showtimeDetails.getStartTime(), showtimeDetails.getEndTime(), showtimeDetails.getPrice()));
+        if (updated == 0) {
+            validateShowtimeExists(id);
+            throw new ConflictException("Showtime with id " + id + " was changed by someone else, reload it and try again.");
+        }
         showtimeDetails.setId(id);
-        return showtimeRepository.save(showtimeDetails);
-
+        showtimeDetails.setVersion(showtimeDetails.getVersion() + 1);
+        if (layoutChanged) {
+            showtimeOccupancyService.remove(id);
+            eventPublisher.publishEvent(new ShowtimeLayoutChangedEvent(id));
+        }
+        cacheInvalidationBus.publish(CacheRegion.SHOWTIME, id);
+        return showtimeDetails;
     }
 
     public void addShowtime(Showtime showtime) {
-        validateShowtime(showtime, null);
-        showtimeRepository.save(showtime);
+        validateShowtime(showtime);
+        writeShowtime(showtime.getTheater(), () -> showtimeRepository.saveAndFlush(showtime));
     }
 
+    /** Read before deleting so listeners learn what was deleted; the DELETE still decides a race. */
     public void deleteShowtime(long id) {
-        Showtime toDelete = getShowtimeById(id);
-        showtimeRepository.delete(toDelete);
+        Showtime showtime = getShowtimeById(id);
+        long soldTickets = showtimeRepository.countTickets(id);
+        if (showtimeRepository.deleteShowtime(id) == 0) {
+            throw new ResourceNotFoundException("ERROR: Showtime with id " + id + " does not exist.");
+        }
+        showtimeOccupancyService.remove(id);
+        cacheInvalidationBus.publish(CacheRegion.SHOWTIME, id);
+        eventPublisher.publishEvent(new ShowtimeDeletedEvent(id, showtime, soldTickets));
     }
 
     public void validateShowtimeExists(long id) {
@@ -41,34 +99,66 @@ public class ShowtimeService {
         }
     }
 
+    @Transactional(readOnly = true)
+    public SeatLayout getSeatLayout(long id) {
+        return theaterService.getSeatLayout(getShowtimeById(id).getTheater());
+    }
+
+    public void validateSeatNumber(long id, int seatNumber) {
+        Showtime showtime = getShowtimeById(id);
+        int capacity = theaterService.getSeatLayout(showtime.getTheater()).capacity();
+        if (seatNumber > capacity) {
+            throw new ValidationException("Seat " + seatNumber + " does not exist, theater "
+                    + showtime.getTheater() + " has " + capacity + " seats.");
+        }
+    }
+
+    @Transactional(readOnly = true)
     public Showtime getShowtimeById(Long id) {
         return showtimeRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("ERROR: Showtime with id " + id + " does not exist."));
     }
 
+    @Transactional(readOnly = true)
+    public ShowtimeView getShowtimeView(Long id) {
+        return showtimeRepository.findViewById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("ERROR: Showtime with id " + id + " does not exist."));
+    }
 
-    private void validateShowtime(Showtime showtime, Long excludeId) {
 
-        if (!showtime.getEndTime().isAfter(showtime.getStartTime())) {
-            throw new ValidationException("End time must be after start time");
+    /** Overlaps are rejected by {@link ShowtimeOverlapConstraint}, so the write statement is where they surface. */
+    private <T> T writeShowtime(String theater, Supplier<T> write) {
+        try {
+            return theaterWriteLock.withTheaterLock(theater, write);
+        } catch (DataIntegrityViolationException e) {
+            String cause = String.valueOf(e.getMostSpecificCause().getMessage()).toLowerCase(Locale.ROOT);
+            if (cause.contains(ShowtimeOverlapConstraint.CONSTRAINT_NAME)) {
+                throw new ValidationException("Showtime overlaps with another showtime in the same theater");
+            }
+            throw e;
         }
+    }
 
-        movieService.validateMovieExists(showtime.getMovieId());
+    private static boolean soldTermsChange(Showtime current, Showtime showtimeDetails) {
+        return !Objects.equals(current.getMovieId(), showtimeDetails.getMovieId())
+                || !Objects.equals(current.getTheater(), showtimeDetails.getTheater())
+                || !current.getStartTime().toLocalDate().equals(showtimeDetails.getStartTime().toLocalDate())
+                || !Objects.equals(current.getPrice(), showtimeDetails.getPrice());
+    }
 
-        List<Showtime> overlapping;
+    private boolean layoutChanges(Showtime current, Showtime showtimeDetails) {
+        return !current.getTheater().equals(showtimeDetails.getTheater())
+                && !Objects.equals(theaterService.getSeatLayout(current.getTheater()),
+                theaterService.getSeatLayout(showtimeDetails.getTheater()));
+    }
 
-        if (excludeId == null) {
-            overlapping = showtimeRepository.findOverlappingShowtime(
-                    showtime.getTheater(), showtime.getStartTime(), showtime.getEndTime());
-        }
-        else {
-            overlapping = showtimeRepository.findOverlappingShowtimeExcludingId(
-                    showtime.getTheater(), showtime.getStartTime(), showtime.getEndTime(), excludeId);
-        }
+    private void validateShowtime(Showtime showtime) {
 
-        if (!overlapping.isEmpty()) {
-            throw new ValidationException("Showtime overlaps with another showtime in the same theater");
+        if (!showtime.getEndTime().isAfter(showtime.getStartTime())) {
+            throw new ValidationException("End time must be after start time");
         }
+
+        movieService.validateMovieExists(showtime.getMovieId());
     }
 
 }
@@ -0,0 +1,7 @@
+package com.example.movieticket.showtime;
+
+import java.time.LocalDateTime;
+
+public record ShowtimeView(Long id, Long movieId, String theater, LocalDateTime startTime,
+                           LocalDateTime endTime, Double price, Long version) {
+}
@@ -0,0 +1,98 @@
+package com.example.movieticket.showtime;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Serializes showtime writes per theater while writes to other theaters run in parallel.
+ * In {@link ShowtimeLockMode#LOCAL} mode a theater maps onto one of a fixed set of lock stripes;
+ * in {@link ShowtimeLockMode#ADVISORY} mode the write runs in a transaction that first takes a
+ * PostgreSQL advisory lock (or, on H2, the theater's overlap guard row) keyed by the theater.
+ */
+@Component
+public class TheaterWriteLock {
+
+    private final ShowtimeLockMode mode;
+    private final ReentrantLock[] stripes;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private volatile Boolean postgres;
+
+    public TheaterWriteLock(@Value("${showtime.lock.mode:LOCAL}") ShowtimeLockMode mode,
+                            @Value("${showtime.lock.stripes:64}") int stripeCount,
+                            JdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager) {
+        if (stripeCount < 1) {
+            throw new IllegalArgumentException("Showtime lock stripes must be positive.");
+        }
+        this.mode = mode;
+        int size = 1;
+        while (size < stripeCount) {
+            size <<= 1;
+        }
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionManager == null ? null : new TransactionTemplate(transactionManager);
+    }
+
+    public <T> T withTheaterLock(String theater, Supplier<T> write) {
+        if (mode == ShowtimeLockMode.ADVISORY) {
+            return transactionTemplate.execute(status -> {
+                lockInDatabase(theater);
+                return write.get();
+            });
+        }
+        ReentrantLock lock = stripes[stripeOf(theater)];
+        lock.lock();
+        try {
+            return write.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int stripeOf(String theater) {
+        int hash = theater == null ? 0 : theater.hashCode();
+        return (hash ^ (hash >>> 16)) & (stripes.length - 1);
+    }
+
+    private void lockInDatabase(String theater) {
+        if (isPostgres()) {
+            jdbcTemplate.queryForList("SELECT pg_advisory_xact_lock(?)", advisoryKey(theater));
+        } else {
+            jdbcTemplate.update("MERGE INTO " + ShowtimeOverlapConstraint.GUARD_TABLE +
+                    " (theater) KEY (theater) VALUES (?)", theater);
+        }
+    }
+
+    private boolean isPostgres() {
+        Boolean cached = postgres;
+        if (cached == null) {
+            cached = "PostgreSQL".equalsIgnoreCase(jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName()));
+            postgres = cached;
+        }
+        return cached;
+    }
+
+    /** 64-bit FNV-1a of the theater name; a collision only means two theaters share a lock. */
+    private static long advisoryKey(String theater) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : theater.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.movieticket.theater;
+
+/**
+ * Seats are numbered from 1 row by row, so seat {@code n} sits in row {@code (n - 1) / seatsPerRow}.
+ */
+public record SeatLayout(int capacity, int seatsPerRow) {
+
+    /** Used for showtimes whose theater has no layout on record. */
+    public static final SeatLayout DEFAULT = new SeatLayout(100, 100);
+
+    public int rowCount() {
+        return (capacity + seatsPerRow - 1) / seatsPerRow;
+    }
+}
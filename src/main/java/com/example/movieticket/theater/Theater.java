@@ -0,0 +1,41 @@
+package com.example.movieticket.theater;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_theater_name", columnNames = "name"))
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class Theater {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotBlank(message = " Theater name is required. ")
+    @Size(min = 1, max = 200, message = "theater name length between 1 and 200")
+    private String name;
+
+    @NotNull(message = " Row count is required. ")
+    @Min(value = 1, message = " minimum row count is 1. ")
+    @Max(value = 1000, message = " maximum row count is 1000. ")
+    private Integer rowCount;
+
+    @NotNull(message = " Seats per row is required. ")
+    @Min(value = 1, message = " minimum seats per row is 1. ")
+    @Max(value = 1000, message = " maximum seats per row is 1000. ")
+    private Integer seatsPerRow;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    public int getCapacity() {
+        return rowCount * seatsPerRow;
+    }
+
+    public SeatLayout toSeatLayout() {
+        return new SeatLayout(getCapacity(), seatsPerRow);
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.movieticket.theater;
+
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/theaters")
+public class TheaterController {
+
+    private final TheaterService theaterService;
+
+    public TheaterController(TheaterService theaterService) {
+        this.theaterService = theaterService;
+    }
+
+    @GetMapping("/all")
+    public List<Theater> getAllTheaters() {
+        return theaterService.getTheaters();
+    }
+
+    @GetMapping("/{name}")
+    public Theater getTheater(@PathVariable String name) {
+        return theaterService.getTheaterByName(name);
+    }
+
+    @PostMapping
+    public ResponseEntity<Theater> addNewTheater(@Valid @RequestBody Theater theater) {
+        theaterService.addTheater(theater);
+        return ResponseEntity.ok(theater);
+    }
+
+    @PutMapping("/update/{name}")
+    public ResponseEntity<Theater> updateTheaterInfo(
+            @PathVariable String name,
+            @Valid @RequestBody Theater theaterDetails) {
+
+        Theater updated = theaterService.updateTheater(name, theaterDetails);
+        return ResponseEntity.ok(updated);
+    }
+}
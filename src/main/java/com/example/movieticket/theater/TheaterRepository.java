@@ -0,0 +1,11 @@
+package com.example.movieticket.theater;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface TheaterRepository extends JpaRepository<Theater, Long> {
+    Optional<Theater> findByName(String name);
+
+    boolean existsByName(String name);
+}
@@ -0,0 +1,105 @@
+package com.example.movieticket.theater;
+
+import com.example.movieticket.cache.CacheInvalidationBus;
+import com.example.movieticket.cache.CacheInvalidationHandler;
+import com.example.movieticket.cache.CacheRegion;
+import com.example.movieticket.exception.ResourceNotFoundException;
+import com.example.movieticket.exception.ValidationException;
+import com.example.movieticket.showtime.ShowtimeRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+public class TheaterService implements CacheInvalidationHandler {
+    private final TheaterRepository theaterRepository;
+    private final ShowtimeRepository showtimeRepository;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final Map<String, SeatLayout> layouts = new ConcurrentHashMap<>();
+
+    public TheaterService(TheaterRepository theaterRepository, ShowtimeRepository showtimeRepository,
+                          CacheInvalidationBus cacheInvalidationBus) {
+        this.theaterRepository = theaterRepository;
+        this.showtimeRepository = showtimeRepository;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+    }
+
+    @Transactional(readOnly = true)
+    public List<Theater> getTheaters() {
+        return theaterRepository.findAll();
+    }
+
+    @Transactional(readOnly = true)
+    public Theater getTheaterByName(String name) {
+        return theaterRepository.findByName(name)
+                .orElseThrow(() -> new ResourceNotFoundException("ERROR: Theater with name " + name + " does not exist."));
+    }
+
+    /**
+     * Showtimes may already use a name with no record, seated by {@link SeatLayout#DEFAULT};
+     * recording that theater must not swap their layout.
+     */
+    public void addTheater(Theater theater) {
+        if (theaterRepository.existsByName(theater.getName())) {
+            throw new ValidationException("Theater with name " + theater.getName() + " already exists.");
+        }
+        if (!SeatLayout.DEFAULT.equals(theater.toSeatLayout()) && showtimeRepository.existsByTheater(theater.getName())) {
+            throw new ValidationException("Theater " + theater.getName() + " has showtimes using the default layout of "
+                    + SeatLayout.DEFAULT.capacity() + " seats, its layout must match.");
+        }
+        theaterRepository.save(theater);
+        layouts.remove(theater.getName());
+        cacheInvalidationBus.publish(CacheRegion.THEATER, theater.getName());
+    }
+
+    /**
+     * Sold tickets and occupancy counters are sized by the layout, so it can only change
+     * while no showtime is scheduled in the theater.
+     */
+    public Theater updateTheater(String name, Theater theaterDetails) {
+        Theater existing = getTheaterByName(name);
+        boolean layoutChanged = !Objects.equals(existing.getRowCount(), theaterDetails.getRowCount())
+                || !Objects.equals(existing.getSeatsPerRow(), theaterDetails.getSeatsPerRow());
+        boolean renamed = !existing.getName().equals(theaterDetails.getName());
+        if ((layoutChanged || renamed) && showtimeRepository.existsByTheater(name)) {
+            throw new ValidationException("Theater " + name + " has showtimes, its name and layout cannot change.");
+        }
+        if (renamed && theaterRepository.existsByName(theaterDetails.getName())) {
+            throw new ValidationException("Theater with name " + theaterDetails.getName() + " already exists.");
+        }
+        theaterDetails.setId(existing.getId());
+        Theater saved = theaterRepository.save(theaterDetails);
+        layouts.remove(name);
+        layouts.remove(saved.getName());
+        cacheInvalidationBus.publish(CacheRegion.THEATER, name);
+        if (renamed) {
+            cacheInvalidationBus.publish(CacheRegion.THEATER, saved.getName());
+        }
+        return saved;
+    }
+
+    public SeatLayout getSeatLayout(String theaterName) {
+        return layouts.computeIfAbsent(theaterName, name -> theaterRepository.findByName(name)
+                .map(Theater::toSeatLayout)
+                .orElse(SeatLayout.DEFAULT));
+    }
+
+    @Override
+    public CacheRegion region() {
+        return CacheRegion.THEATER;
+    }
+
+    @Override
+    public void invalidate(String theaterName) {
+        layouts.remove(theaterName);
+    }
+
+    @Override
+    public void invalidateAll() {
+        layouts.clear();
+    }
+}
@@ -0,0 +1,277 @@
+package com.example.movieticket.ticket;
+
+import com.example.movieticket.exception.WaitingRoomException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Waiting room in front of booking. At most {@code limit} bookings run at once; the rest
+ * wait in a bounded FIFO queue per showtime, and free slots are handed out round-robin
+ * across showtimes so one on-sale event cannot starve the others. Waiting holds no request
+ * thread: a queued caller gets a future that a released slot completes on a virtual thread.
+ * The permit it is finally handed carries the position and estimated wait it was given on
+ * joining the queue, and {@link #queueStatus(long)} reports a showtime's line while it waits.
+ * <p>
+ * The limit adapts to booking latency: while latency stays near the best recently seen,
+ * it grows; when latency climbs (the database is queueing), it shrinks.
+ */
+@Component
+public class AdmissionControl {
+
+    private static final double LATENCY_TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+    private static final int MIN_RTT_RESET_SAMPLES = 1000;
+
+    private final boolean enabled;
+    private final int minLimit;
+    private final int maxLimit;
+    private final int queueCapacity;
+    private final long maxWaitNanos;
+    private final LongSupplier nanoClock;
+    private final ExecutorService handoff = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<Long, ArrayDeque<Waiter>> queues = new HashMap<>();
+    private final ArrayDeque<Long> readyShowtimes = new ArrayDeque<>();
+    private double limit;
+    private int inFlight;
+    private int queued;
+    private long minLatencyNanos;
+    private double averageLatencyNanos;
+    private int samplesSinceReset;
+
+    @Autowired
+    public AdmissionControl(@Value("${booking.admission.enabled:true}") boolean enabled,
+                            @Value("${booking.admission.initial-limit:20}") int initialLimit,
+                            @Value("${booking.admission.min-limit:4}") int minLimit,
+                            @Value("${booking.admission.max-limit:200}") int maxLimit,
+                            @Value("${booking.admission.queue-capacity:1000}") int queueCapacity,
+                            @Value("${booking.admission.max-wait:PT5S}") Duration maxWait) {
+        this(enabled, initialLimit, minLimit, maxLimit, queueCapacity, maxWait, System::nanoTime);
+    }
+
+    public AdmissionControl(boolean enabled, int initialLimit, int minLimit, int maxLimit,
+                            int queueCapacity, Duration maxWait, LongSupplier nanoClock) {
+        this.enabled = enabled;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.queueCapacity = queueCapacity;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.nanoClock = nanoClock;
+        this.limit = Math.max(minLimit, Math.min(initialLimit, maxLimit));
+    }
+
+    /**
+     * Returns a permit future that is already complete when a slot is free, and otherwise
+     * completes once the caller reaches the front of its showtime's queue. Throws
+     * {@link WaitingRoomException} with the caller's queue position straight away if the queue
+     * is full; a caller whose wait runs out gets the same exception through the future.
+     * The permit must be closed when the booking finishes.
+     */
+    public CompletableFuture<Permit> admit(long showtimeId) {
+        if (!enabled) {
+            return CompletableFuture.completedFuture(new Permit(this, nanoClock.getAsLong(), false, 0, 0));
+        }
+
+        Waiter waiter;
+        lock.lock();
+        try {
+            ArrayDeque<Waiter> queue = queues.get(showtimeId);
+            if (inFlight < (int) limit && (queue == null || queue.isEmpty())) {
+                inFlight++;
+                return CompletableFuture.completedFuture(new Permit(this, nanoClock.getAsLong(), true, 0, 0));
+            }
+            if (queue == null) {
+                queue = new ArrayDeque<>();
+                queues.put(showtimeId, queue);
+            }
+            if (queue.size() >= queueCapacity) {
+                throw waitingRoom(queue.size() + 1);
+            }
+            if (queue.isEmpty()) {
+                readyShowtimes.addLast(showtimeId);
+            }
+            int position = queue.size() + 1;
+            waiter = new Waiter(showtimeId, position, etaSeconds(position));
+            queue.addLast(waiter);
+            queued++;
+        } finally {
+            lock.unlock();
+        }
+
+        CompletableFuture.delayedExecutor(maxWaitNanos, TimeUnit.NANOSECONDS, handoff).execute(() -> expire(waiter));
+        return waiter.admitted;
+    }
+
+    public AdmissionStats stats() {
+        lock.lock();
+        try {
+            return new AdmissionStats((int) limit, inFlight, queued);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * How many callers are waiting for {@code showtimeId} and roughly how long the last of
+     * them still has to wait.
+     */
+    public AdmissionQueueStatus queueStatus(long showtimeId) {
+        lock.lock();
+        try {
+            ArrayDeque<Waiter> queue = queues.get(showtimeId);
+            int waiting = queue == null ? 0 : queue.size();
+            return new AdmissionQueueStatus(showtimeId, waiting, waiting == 0 ? 0 : etaSeconds(waiting));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void expire(Waiter waiter) {
+        WaitingRoomException timedOut;
+        lock.lock();
+        try {
+            ArrayDeque<Waiter> queue = queues.get(waiter.showtimeId);
+            if (queue == null || !queue.contains(waiter)) {
+                // a slot was handed over before the wait ran out
+                return;
+            }
+            int position = 1;
+            for (Waiter queuedWaiter : queue) {
+                if (queuedWaiter == waiter) {
+                    break;
+                }
+                position++;
+            }
+            queue.remove(waiter);
+            queued--;
+            if (queue.isEmpty()) {
+                queues.remove(waiter.showtimeId);
+                readyShowtimes.remove(waiter.showtimeId);
+            }
+            timedOut = waitingRoom(position);
+        } finally {
+            lock.unlock();
+        }
+        waiter.admitted.completeExceptionally(timedOut);
+    }
+
+    private void release(long startedAt) {
+        long latency = Math.max(1, nanoClock.getAsLong() - startedAt);
+        List<Waiter> admitted = new ArrayList<>();
+        lock.lock();
+        try {
+            inFlight--;
+            adjustLimit(latency);
+            while (inFlight < (int) limit && !readyShowtimes.isEmpty()) {
+                Long showtimeId = readyShowtimes.pollFirst();
+                ArrayDeque<Waiter> queue = queues.get(showtimeId);
+                Waiter next = queue.pollFirst();
+                queued--;
+                if (queue.isEmpty()) {
+                    queues.remove(showtimeId);
+                } else {
+                    readyShowtimes.addLast(showtimeId);
+                }
+                inFlight++;
+                admitted.add(next);
+            }
+        } finally {
+            lock.unlock();
+        }
+        // the releasing thread is still answering its own request, so the next booking runs elsewhere
+        for (Waiter next : admitted) {
+            handoff.execute(() -> next.admitted.complete(
+                    new Permit(this, nanoClock.getAsLong(), true, next.position, next.etaSeconds)));
+        }
+    }
+
+    private void adjustLimit(long latency) {
+        if (minLatencyNanos == 0 || latency < minLatencyNanos || ++samplesSinceReset >= MIN_RTT_RESET_SAMPLES) {
+            minLatencyNanos = latency;
+            samplesSinceReset = 0;
+        }
+        averageLatencyNanos = averageLatencyNanos == 0
+                ? latency
+                : averageLatencyNanos * (1 - SMOOTHING) + latency * SMOOTHING;
+
+        double gradient = Math.max(0.5, Math.min(1.0, LATENCY_TOLERANCE * minLatencyNanos / averageLatencyNanos));
+        double target = limit * gradient;
+        if (gradient >= 1.0 && inFlight + queued >= limit / 2) {
+            target += Math.sqrt(limit);
+        }
+        limit = Math.max(minLimit, Math.min(maxLimit, limit * (1 - SMOOTHING) + target * SMOOTHING));
+    }
+
+    private WaitingRoomException waitingRoom(int position) {
+        return new WaitingRoomException("Booking is busy, you are number " + position + " in line.",
+                position, etaSeconds(position));
+    }
+
+    private long etaSeconds(int position) {
+        double perBookingNanos = averageLatencyNanos == 0 ? TimeUnit.MILLISECONDS.toNanos(50) : averageLatencyNanos;
+        return Math.max(1, (long) Math.ceil(position * perBookingNanos / limit / 1e9));
+    }
+
+    private static final class Waiter {
+        private final long showtimeId;
+        private final int position;
+        private final long etaSeconds;
+        private final CompletableFuture<Permit> admitted = new CompletableFuture<>();
+
+        private Waiter(long showtimeId, int position, long etaSeconds) {
+            this.showtimeId = showtimeId;
+            this.position = position;
+            this.etaSeconds = etaSeconds;
+        }
+    }
+
+    public static final class Permit implements AutoCloseable {
+        private final AdmissionControl admissionControl;
+        private final long startedAt;
+        private final int queuePosition;
+        private final long etaSeconds;
+        private boolean held;
+
+        private Permit(AdmissionControl admissionControl, long startedAt, boolean held,
+                       int queuePosition, long etaSeconds) {
+            this.admissionControl = admissionControl;
+            this.startedAt = startedAt;
+            this.held = held;
+            this.queuePosition = queuePosition;
+            this.etaSeconds = etaSeconds;
+        }
+
+        /** Position the caller was given on joining the queue, or 0 if it was admitted straight away. */
+        public int getQueuePosition() {
+            return queuePosition;
+        }
+
+        /** Wait estimated when the caller joined the queue, or 0 if it was admitted straight away. */
+        public long getEtaSeconds() {
+            return etaSeconds;
+        }
+
+        @Override
+        public void close() {
+            if (held) {
+                held = false;
+                admissionControl.release(startedAt);
+            }
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package com.example.movieticket.ticket;
+
+public record AdmissionQueueStatus(long showtimeId, int waiting, long etaSeconds) {
+}
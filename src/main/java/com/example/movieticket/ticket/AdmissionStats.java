@@ -0,0 +1,4 @@
+package com.example.movieticket.ticket;
+
+public record AdmissionStats(int limit, int inFlight, int queued) {
+}
@@ -0,0 +1,7 @@
+package com.example.movieticket.ticket;
+
+import java.util.List;
+import java.util.UUID;
+
+public record BestAvailableBooking(List<UUID> bookingIds, List<Integer> seatNumbers) {
+}
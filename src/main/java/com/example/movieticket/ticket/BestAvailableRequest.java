@@ -0,0 +1,19 @@
+package com.example.movieticket.ticket;
+
+import jakarta.validation.constraints.*;
+
+import java.util.UUID;
+
+public record BestAvailableRequest(
+        @NotNull(message = "Showtime ID is required")
+        @Positive(message = "Showtime ID must be positive.")
+        Long showtimeId,
+
+        @NotNull(message = "User id is required.")
+        UUID userId,
+
+        @NotNull(message = "Party size is required.")
+        @Min(value = 1, message = "Party size must be at least 1.")
+        @Max(value = 10, message = "Party size must be at most 10.")
+        Integer partySize) {
+}
@@ -0,0 +1,59 @@
+package com.example.movieticket.ticket;
+
+import com.example.movieticket.cache.BoundedCache;
+import com.example.movieticket.cache.CacheInvalidationHandler;
+import com.example.movieticket.cache.CacheRegion;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Recently looked-up bookings keyed by booking id. Bookings never change once made,
+ * so entries only leave on cancellation, eviction or expiry.
+ */
+@Component
+public class BookingCache implements CacheInvalidationHandler {
+
+    private final BoundedCache<UUID, Ticket> bookings;
+
+    public BookingCache(@Value("${booking.cache.max-entries:50000}") int maxEntries,
+                        @Value("${booking.cache.ttl:PT10M}") Duration ttl) {
+        this.bookings = new BoundedCache<>(maxEntries, ttl, Clock.systemUTC());
+    }
+
+    public Optional<Ticket> get(UUID bookingId) {
+        return bookings.get(bookingId);
+    }
+
+    public void put(Ticket ticket) {
+        bookings.put(ticket.getId(), ticket);
+    }
+
+    public void evict(UUID bookingId) {
+        bookings.remove(bookingId);
+    }
+
+    /** Other nodes are not told; their entries for a deleted showtime age out with the TTL. */
+    public void evictShowtime(long showtimeId) {
+        bookings.removeIf(ticket -> ticket.getShowtimeId() == showtimeId);
+    }
+
+    @Override
+    public CacheRegion region() {
+        return CacheRegion.BOOKING;
+    }
+
+    @Override
+    public void invalidate(String bookingId) {
+        evict(UUID.fromString(bookingId));
+    }
+
+    @Override
+    public void invalidateAll() {
+        bookings.clear();
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.movieticket.ticket;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One page of a user's bookings, oldest first. Pass {@code nextCursor} as {@code after}
+ * to fetch the next page; it is {@code null} on the last page.
+ */
+public record BookingHistory(List<BookingSummary> bookings, UUID nextCursor) {
+}
@@ -0,0 +1,99 @@
+package com.example.movieticket.ticket;
+
+import com.example.movieticket.exception.TooManyRequestsException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-user token bucket for booking attempts, kept entirely in memory.
+ * Each bucket is a single {@link AtomicLong} holding the time at which the bucket will be
+ * full again (the GCRA form of a token bucket), so a check is one CAS and never blocks.
+ * Buckets that have refilled completely carry no state and are dropped lazily: eviction first
+ * CASes the idle value to a tombstone, so a caller racing it sees the tombstone and starts over
+ * on a fresh bucket instead of spending a token on one that is no longer in the map.
+ */
+@Component
+public class BookingRateLimiter {
+
+    private static final int EVICTION_INTERVAL = 4096;
+    private static final long EVICTED = Long.MIN_VALUE;
+
+    private final boolean enabled;
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final LongSupplier nanoClock;
+    private final Map<UUID, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final AtomicLong callsSinceEviction = new AtomicLong();
+
+    @Autowired
+    public BookingRateLimiter(@Value("${booking.rate-limit.enabled:true}") boolean enabled,
+                              @Value("${booking.rate-limit.burst:10}") int burst,
+                              @Value("${booking.rate-limit.per-minute:30}") int perMinute) {
+        this(enabled, burst, perMinute, System::nanoTime);
+    }
+
+    public BookingRateLimiter(boolean enabled, int burst, int perMinute, LongSupplier nanoClock) {
+        if (burst < 1 || perMinute < 1) {
+            throw new IllegalArgumentException("Rate limit burst and per-minute values must be positive.");
+        }
+        this.enabled = enabled;
+        this.emissionIntervalNanos = TimeUnit.MINUTES.toNanos(1) / perMinute;
+        this.burstToleranceNanos = emissionIntervalNanos * (burst - 1);
+        this.nanoClock = nanoClock;
+    }
+
+    public void acquire(UUID userId) {
+        if (!enabled || userId == null) {
+            return;
+        }
+        long now = nanoClock.getAsLong();
+        AtomicLong fullAt = buckets.computeIfAbsent(userId, id -> new AtomicLong(now));
+        while (true) {
+            long current = fullAt.get();
+            if (current == EVICTED) {
+                buckets.remove(userId, fullAt);
+                fullAt = buckets.computeIfAbsent(userId, id -> new AtomicLong(now));
+                continue;
+            }
+            long base = Math.max(current, now);
+            long waitNanos = base - burstToleranceNanos - now;
+            if (waitNanos > 0) {
+                rejected.increment();
+                throw new TooManyRequestsException("Too many booking attempts, please try again later.",
+                        Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1)));
+            }
+            if (fullAt.compareAndSet(current, base + emissionIntervalNanos)) {
+                break;
+            }
+        }
+        allowed.increment();
+        if (callsSinceEviction.incrementAndGet() % EVICTION_INTERVAL == 0) {
+            evictIdle();
+        }
+    }
+
+    public RateLimitStats stats() {
+        return new RateLimitStats(allowed.sum(), rejected.sum(), buckets.size());
+    }
+
+    public void evictIdle() {
+        long now = nanoClock.getAsLong();
+        buckets.forEach((userId, fullAt) -> {
+            long current = fullAt.get();
+            if (current <= now && fullAt.compareAndSet(current, EVICTED)) {
+                buckets.remove(userId, fullAt);
+            }
+        });
+    }
+}
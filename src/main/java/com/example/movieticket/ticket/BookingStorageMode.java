@@ -0,0 +1,16 @@
+package com.example.movieticket.ticket;
+
+/**
+ * Where seat availability is decided, selected with {@code booking.storage-mode}.
+ */
+public enum BookingStorageMode {
+    /** A seat is taken when a ticket row exists for it. */
+    TICKET_ROWS,
+    /** A seat is taken when its bit is set in the showtime's persisted seat words. */
+    SEAT_MAP,
+    /**
+     * A seat is taken when its pre-materialized seat row is marked taken. Rows are claimed with
+     * {@code FOR UPDATE SKIP LOCKED}, so several instances can book one showtime without waiting on each other.
+     */
+    SEAT_ROWS
+}
@@ -0,0 +1,6 @@
+package com.example.movieticket.ticket;
+
+import java.util.UUID;
+
+public record BookingSummary(UUID id, Long showtimeId, Integer seatNumber) {
+}
@@ -0,0 +1,153 @@
+package com.example.movieticket.ticket;
+
+import com.example.movieticket.cache.CacheInvalidationBus;
+import com.example.movieticket.cache.CacheRegion;
+import com.example.movieticket.movie.MovieDeletedEvent;
+import com.example.movieticket.showtime.ShowtimeDeletedEvent;
+import com.example.movieticket.showtime.ShowtimeOccupancyService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Removes what hangs off a deleted movie or showtime. Children only reference their parent by id,
+ * so nothing cascades in the database; instead each table is cleared with set-based deletes of at
+ * most {@code cascade.chunk-size} rows, every chunk in its own short transaction, so a movie with
+ * thousands of tickets never holds its locks for the whole purge.
+ * <p>
+ * The purge runs on a background thread, so the DELETE request neither waits for it nor fails with
+ * it. Whatever a failed or interrupted purge leaves behind is found again by the orphan sweep,
+ * which runs every {@code cascade.sweep-interval} and picks up where the last attempt stopped.
+ */
+@Component
+public class CascadeDelete {
+
+    private static final Logger log = LoggerFactory.getLogger(CascadeDelete.class);
+
+    private static final String SHOWTIME_CHUNK_OF_MOVIE = "SELECT id FROM showtime WHERE movie_id = ? ORDER BY id LIMIT ?";
+    private static final String ORPHANED_SHOWTIME_CHUNK =
+            "SELECT s.id FROM showtime s WHERE NOT EXISTS (SELECT 1 FROM movie m WHERE m.id = s.movie_id) ORDER BY s.id LIMIT ?";
+    private static final List<String> ORPHANED_CHILD_CHUNKS = List.of(
+            "SELECT DISTINCT t.showtime_id FROM ticket t WHERE NOT EXISTS (SELECT 1 FROM showtime s WHERE s.id = t.showtime_id) LIMIT ?",
+            "SELECT DISTINCT w.showtime_id FROM showtime_seat_word w WHERE NOT EXISTS (SELECT 1 FROM showtime s WHERE s.id = w.showtime_id) LIMIT ?",
+            "SELECT DISTINCT e.showtime_id FROM showtime_seat e WHERE NOT EXISTS (SELECT 1 FROM showtime s WHERE s.id = e.showtime_id) LIMIT ?",
+            "SELECT o.showtime_id FROM showtime_occupancy o WHERE NOT EXISTS (SELECT 1 FROM showtime s WHERE s.id = o.showtime_id) LIMIT ?");
+    private static final String DELETE_TICKET_CHUNK =
+            "DELETE FROM ticket WHERE id IN (SELECT id FROM ticket WHERE showtime_id = ? LIMIT ?)";
+    private static final List<String> DELETE_SEAT_STATE = List.of(
+            "DELETE FROM showtime_seat_word WHERE showtime_id = ?",
+            "DELETE FROM showtime_seat WHERE showtime_id = ?",
+            "DELETE FROM showtime_occupancy WHERE showtime_id = ?");
+    private static final String DELETE_SHOWTIME = "DELETE FROM showtime WHERE id = ?";
+
+    private final int chunkSize;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate chunkTransaction;
+    private final ShowtimeOccupancyService showtimeOccupancyService;
+    private final SeatAllocator seatAllocator;
+    private final BookingCache bookingCache;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final ScheduledExecutorService purger = Executors.newSingleThreadScheduledExecutor();
+
+    @Autowired
+    public CascadeDelete(@Value("${cascade.chunk-size:1000}") int chunkSize,
+                         @Value("${cascade.sweep-interval:PT10M}") Duration sweepInterval,
+                         JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                         ShowtimeOccupancyService showtimeOccupancyService, SeatAllocator seatAllocator,
+                         BookingCache bookingCache, CacheInvalidationBus cacheInvalidationBus) {
+        this.chunkSize = chunkSize;
+        this.jdbcTemplate = jdbcTemplate;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.showtimeOccupancyService = showtimeOccupancyService;
+        this.seatAllocator = seatAllocator;
+        this.bookingCache = bookingCache;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        long sweepMillis = sweepInterval.toMillis();
+        purger.scheduleWithFixedDelay(() -> runQuietly(this::sweepOrphans), sweepMillis, sweepMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMovieDeleted(MovieDeletedEvent event) {
+        purger.execute(() -> runQuietly(() -> purgeMovie(event.movieId())));
+    }
+
+    /** The showtime row itself is already gone; {@code ShowtimeService} announced it on the bus. */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onShowtimeDeleted(ShowtimeDeletedEvent event) {
+        purger.execute(() -> runQuietly(() -> purgeShowtimeChildren(event.showtimeId())));
+    }
+
+    public void purgeMovie(long movieId) {
+        List<Long> showtimeIds;
+        do {
+            showtimeIds = jdbcTemplate.queryForList(SHOWTIME_CHUNK_OF_MOVIE, Long.class, movieId, chunkSize);
+            purgeShowtimes(showtimeIds);
+        } while (showtimeIds.size() == chunkSize);
+    }
+
+    /** Finishes purges that failed or never ran: showtimes of deleted movies, then children of deleted showtimes. */
+    public void sweepOrphans() {
+        List<Long> showtimeIds;
+        do {
+            showtimeIds = jdbcTemplate.queryForList(ORPHANED_SHOWTIME_CHUNK, Long.class, chunkSize);
+            purgeShowtimes(showtimeIds);
+        } while (showtimeIds.size() == chunkSize);
+
+        for (String orphanedChildren : ORPHANED_CHILD_CHUNKS) {
+            do {
+                showtimeIds = jdbcTemplate.queryForList(orphanedChildren, Long.class, chunkSize);
+                showtimeIds.forEach(this::purgeShowtimeChildren);
+            } while (showtimeIds.size() == chunkSize);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        purger.shutdownNow();
+    }
+
+    private void purgeShowtimes(List<Long> showtimeIds) {
+        showtimeIds.forEach(this::purgeShowtimeChildren);
+        List<Object[]> ids = showtimeIds.stream().map(id -> new Object[]{id}).toList();
+        chunkTransaction.executeWithoutResult(status -> jdbcTemplate.batchUpdate(DELETE_SHOWTIME, ids));
+        showtimeIds.forEach(id -> cacheInvalidationBus.publish(CacheRegion.SHOWTIME, id));
+    }
+
+    private void purgeShowtimeChildren(long showtimeId) {
+        Integer deleted;
+        do {
+            deleted = chunkTransaction.execute(status -> jdbcTemplate.update(DELETE_TICKET_CHUNK, showtimeId, chunkSize));
+        } while (deleted != null && deleted == chunkSize);
+        chunkTransaction.executeWithoutResult(status ->
+                DELETE_SEAT_STATE.forEach(sql -> jdbcTemplate.update(sql, showtimeId)));
+
+        showtimeOccupancyService.evict(showtimeId);
+        seatAllocator.evict(showtimeId);
+        bookingCache.evictShowtime(showtimeId);
+    }
+
+    /** An exception escaping a scheduled task would cancel the sweep for good. */
+    private static void runQuietly(Runnable purge) {
+        try {
+            purge.run();
+        } catch (RuntimeException e) {
+            log.warn("Cascade purge failed, the next orphan sweep retries it", e);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.movieticket.ticket;
+
+import java.util.Arrays;
+
+/**
+ * Seat state for stadium-size venues. Seats are split into chunks of 4096; a chunk with no
+ * taken seats costs nothing, a sparse chunk is a sorted array of seat offsets and a dense
+ * chunk is a 4096-bit bitmap, the same layout Roaring bitmaps use.
+ */
+public class CompressedSeatMap implements SeatState {
+
+    private static final int CHUNK_BITS = 12;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int ARRAY_MAX = 256;
+
+    private final int capacity;
+    private final int seatsPerRow;
+    private final Object[] chunks;
+    private final int[] cardinality;
+    private int taken;
+
+    public CompressedSeatMap(int capacity, int seatsPerRow) {
+        this.capacity = capacity;
+        this.seatsPerRow = seatsPerRow;
+        int chunkCount = (capacity + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        this.chunks = new Object[chunkCount];
+        this.cardinality = new int[chunkCount];
+    }
+
+    @Override
+    public int capacity() {
+        return capacity;
+    }
+
+    @Override
+    public boolean isTaken(int seatNumber) {
+        int bit = seatNumber - 1;
+        int chunk = bit >>> CHUNK_BITS;
+        int offset = bit & (CHUNK_SIZE - 1);
+        return switch (chunks[chunk]) {
+            case null -> false;
+            case short[] offsets -> Arrays.binarySearch(offsets, 0, cardinality[chunk], (short) offset) >= 0;
+            case long[] bitmap -> (bitmap[offset >>> 6] & (1L << offset)) != 0;
+            default -> throw new IllegalStateException("Unknown chunk type");
+        };
+    }
+
+    @Override
+    public void take(int seatNumber) {
+        if (isTaken(seatNumber)) {
+            return;
+        }
+        int bit = seatNumber - 1;
+        int chunk = bit >>> CHUNK_BITS;
+        int offset = bit & (CHUNK_SIZE - 1);
+        int count = cardinality[chunk];
+
+        if (chunks[chunk] instanceof long[] bitmap) {
+            bitmap[offset >>> 6] |= 1L << offset;
+        } else if (count < ARRAY_MAX) {
+            short[] offsets = chunks[chunk] == null ? new short[4] : (short[]) chunks[chunk];
+            if (count == offsets.length) {
+                offsets = Arrays.copyOf(offsets, Math.min(ARRAY_MAX, count * 2));
+            }
+            int insertAt = -Arrays.binarySearch(offsets, 0, count, (short) offset) - 1;
+            System.arraycopy(offsets, insertAt, offsets, insertAt + 1, count - insertAt);
+            offsets[insertAt] = (short) offset;
+            chunks[chunk] = offsets;
+        } else {
+            long[] bitmap = new long[CHUNK_SIZE / Long.SIZE];
+            for (short existing : (short[]) chunks[chunk]) {
+                bitmap[existing >>> 6] |= 1L << existing;
+            }
+            bitmap[offset >>> 6] |= 1L << offset;
+            chunks[chunk] = bitmap;
+        }
+        cardinality[chunk]++;
+        taken++;
+    }
+
+    @Override
+    public void free(int seatNumber) {
+        if (!isTaken(seatNumber)) {
+            return;
+        }
+        int bit = seatNumber - 1;
+        int chunk = bit >>> CHUNK_BITS;
+        int offset = bit & (CHUNK_SIZE - 1);
+        int count = cardinality[chunk];
+
+        if (chunks[chunk] instanceof long[] bitmap) {
+            bitmap[offset >>> 6] &= ~(1L << offset);
+        } else {
+            short[] offsets = (short[]) chunks[chunk];
+            int removeAt = Arrays.binarySearch(offsets, 0, count, (short) offset);
+            System.arraycopy(offsets, removeAt + 1, offsets, removeAt, count - removeAt - 1);
+        }
+        cardinality[chunk]--;
+        taken--;
+        if (cardinality[chunk] == 0) {
+            chunks[chunk] = null;
+        }
+    }
+
+    @Override
+    public int freeSeats() {
+        return capacity - taken;
+    }
+
+    /** Walks the taken seats in order; the gaps between them are the free runs. */
+    @Override
+    public int findBestBlock(int size) {
+        if (size < 1 || size > capacity) {
+            return -1;
+        }
+        SeatBlockSearch search = new SeatBlockSearch(size, capacity, seatsPerRow);
+        int runStart = 0;
+        for (int chunk = 0; chunk < chunks.length; chunk++) {
+            int base = chunk << CHUNK_BITS;
+            switch (chunks[chunk]) {
+                case null -> { }
+                case short[] offsets -> {
+                    for (int i = 0; i < cardinality[chunk]; i++) {
+                        int takenSeat = base + offsets[i];
+                        search.offerRun(runStart, takenSeat - 1);
+                        runStart = takenSeat + 1;
+                    }
+                }
+                case long[] bitmap -> {
+                    for (int word = 0; word < bitmap.length; word++) {
+                        long bits = bitmap[word];
+                        while (bits != 0) {
+                            int takenSeat = base + word * Long.SIZE + Long.numberOfTrailingZeros(bits);
+                            search.offerRun(runStart, takenSeat - 1);
+                            runStart = takenSeat + 1;
+                            bits &= bits - 1;
+                        }
+                    }
+                }
+                default -> throw new IllegalStateException("Unknown chunk type");
+            }
+        }
+        search.offerRun(runStart, capacity - 1);
+        return search.result();
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.movieticket.ticket;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Entity
+@Table(indexes = {
+        @Index(name = "idx_idempotency_record_created_at", columnList = "created_at"),
+        @Index(name = "idx_idempotency_record_booking_id", columnList = "booking_id")
+})
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class IdempotencyRecord implements Persistable<String> {
+    /** The client's key prefixed with its user id, so two users never share a key. */
+    @Id
+    @Column(length = 165)
+    private String idempotencyKey;
+
+    @Column(nullable = false)
+    private UUID bookingId;
+
+    /** SHA-256 of the booked showtime and seat; a replay asking for something else is rejected. */
+    @Column(nullable = false, length = 64)
+    private String requestHash;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    @Override
+    public String getId() {
+        return idempotencyKey;
+    }
+
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.movieticket.ticket;
+
+import com.example.movieticket.cache.BoundedCache;
+import com.example.movieticket.exception.ValidationException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Remembers which booking an {@code Idempotency-Key} produced. Keys are scoped to the user
+ * who sent them and carry a hash of the request, so a replay only returns the booking it
+ * made for the same user and seat. Recent keys are answered from memory; the database copy
+ * is written in the booking transaction and only read on a memory miss, e.g. after a restart.
+ * Cached keys are also indexed by booking id, so a cancellation drops its keys without a scan.
+ */
+@Component
+public class IdempotencyStore {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyStore.class);
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final BoundedCache<String, IdempotencyRecord> recentKeys;
+    private final Map<UUID, Set<String>> keysByBooking = new ConcurrentHashMap<>();
+    private final Duration ttl;
+    private final Clock clock;
+    private final ScheduledExecutorService purger = Executors.newSingleThreadScheduledExecutor();
+
+    @Autowired
+    public IdempotencyStore(IdempotencyRecordRepository idempotencyRecordRepository,
+                            @Value("${booking.idempotency.max-entries:100000}") int maxEntries,
+                            @Value("${booking.idempotency.ttl:PT24H}") Duration ttl) {
+        this(idempotencyRecordRepository, maxEntries, ttl, Clock.systemUTC());
+    }
+
+    public IdempotencyStore(IdempotencyRecordRepository idempotencyRecordRepository, int maxEntries, Duration ttl, Clock clock) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.recentKeys = new BoundedCache<>(maxEntries, ttl, clock, this::unindex);
+        this.ttl = ttl;
+        this.clock = clock;
+        purger.scheduleWithFixedDelay(() -> {
+            try {
+                purgeExpired();
+            } catch (RuntimeException e) {
+                // an escaping exception would cancel the purge for good
+                log.warn("Purging expired idempotency keys failed, retrying on the next run", e);
+            }
+        }, 1, 1, TimeUnit.HOURS);
+    }
+
+    /**
+     * Returns the booking this user's key produced, or throws {@link ValidationException}
+     * if the key was used for a different showtime or seat.
+     */
+    public Optional<UUID> find(Ticket request, String idempotencyKey) {
+        String scopedKey = scope(request.getUserId(), idempotencyKey);
+        Optional<IdempotencyRecord> record = recentKeys.get(scopedKey);
+        if (record.isEmpty()) {
+            Instant cutoff = clock.instant().minus(ttl);
+            record = idempotencyRecordRepository.findById(scopedKey)
+                    .filter(stored -> stored.getCreatedAt().isAfter(cutoff));
+            record.ifPresent(stored -> cache(scopedKey, stored));
+        }
+        if (record.isPresent() && !record.get().getRequestHash().equals(requestHash(request))) {
+            throw new ValidationException("Idempotency-Key " + idempotencyKey + " was already used for a different booking.");
+        }
+        return record.map(IdempotencyRecord::getBookingId);
+    }
+
+    public void remember(Ticket booked, String idempotencyKey) {
+        String scopedKey = scope(booked.getUserId(), idempotencyKey);
+        IdempotencyRecord record = new IdempotencyRecord(scopedKey, booked.getId(), requestHash(booked), clock.instant());
+        idempotencyRecordRepository.save(record);
+        afterCommit(() -> cache(scopedKey, record));
+    }
+
+    /** Drops the keys of a cancelled booking, so replaying them cannot return a booking that is gone. */
+    public void forget(UUID bookingId) {
+        idempotencyRecordRepository.deleteByBookingId(bookingId);
+        afterCommit(() -> {
+            Set<String> scopedKeys = keysByBooking.remove(bookingId);
+            if (scopedKeys != null) {
+                scopedKeys.forEach(recentKeys::remove);
+            }
+        });
+    }
+
+    public void purgeExpired() {
+        idempotencyRecordRepository.deleteCreatedBefore(clock.instant().minus(ttl));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        purger.shutdownNow();
+    }
+
+    private void cache(String scopedKey, IdempotencyRecord record) {
+        recentKeys.put(scopedKey, record);
+        keysByBooking.computeIfAbsent(record.getBookingId(), id -> ConcurrentHashMap.newKeySet()).add(scopedKey);
+    }
+
+    private void unindex(String scopedKey, IdempotencyRecord record) {
+        keysByBooking.computeIfPresent(record.getBookingId(), (id, scopedKeys) -> {
+            scopedKeys.remove(scopedKey);
+            return scopedKeys.isEmpty() ? null : scopedKeys;
+        });
+    }
+
+    private static String scope(UUID userId, String idempotencyKey) {
+        return userId + ":" + idempotencyKey;
+    }
+
+    private static String requestHash(Ticket request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest((request.getShowtimeId() + ":" + request.getSeatNumber()).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,4 @@
+package com.example.movieticket.ticket;
+
+public record RateLimitStats(long allowed, long rejected, int trackedUsers) {
+}
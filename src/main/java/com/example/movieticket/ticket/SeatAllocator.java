@@ -0,0 +1,139 @@
+package com.example.movieticket.ticket;
+
+import com.example.movieticket.cache.CacheInvalidationHandler;
+import com.example.movieticket.cache.CacheRegion;
+import com.example.movieticket.exception.ValidationException;
+import com.example.movieticket.showtime.ShowtimeLayoutChangedEvent;
+import com.example.movieticket.showtime.ShowtimeService;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps a {@link SeatState} per showtime, loaded from the ticket table on first use.
+ * Seats are marked as soon as a booking claims them and unmarked again if its
+ * transaction rolls back; the unique (showtime, seat) constraint stays the final arbiter.
+ */
+@Component
+public class SeatAllocator implements CacheInvalidationHandler {
+
+    private final TicketRepository ticketRepository;
+    private final ShowtimeService showtimeService;
+    private final Map<Long, SeatState> seatStates = new ConcurrentHashMap<>();
+
+    public SeatAllocator(TicketRepository ticketRepository, ShowtimeService showtimeService) {
+        this.ticketRepository = ticketRepository;
+        this.showtimeService = showtimeService;
+    }
+
+    public List<Integer> claimBestBlock(long showtimeId, int partySize) {
+        SeatState seatState = seatState(showtimeId);
+        List<Integer> seats = new ArrayList<>(partySize);
+        synchronized (seatState) {
+            int start = seatState.findBestBlock(partySize);
+            if (start < 0) {
+                throw new ValidationException("There is no block of " + partySize + " adjacent free seats for this showtime.");
+            }
+            for (int seat = start; seat < start + partySize; seat++) {
+                seatState.take(seat);
+                seats.add(seat);
+            }
+        }
+        onRollback(() -> free(seatState, seats));
+        return seats;
+    }
+
+    public void markTaken(long showtimeId, int seatNumber) {
+        SeatState seatState = seatStates.get(showtimeId);
+        if (seatState == null || seatNumber > seatState.capacity()) {
+            return;
+        }
+        synchronized (seatState) {
+            seatState.take(seatNumber);
+        }
+        onRollback(() -> free(seatState, List.of(seatNumber)));
+    }
+
+    public void markFree(long showtimeId, int seatNumber) {
+        SeatState seatState = seatStates.get(showtimeId);
+        if (seatState == null || seatNumber > seatState.capacity()) {
+            return;
+        }
+        afterCommit(() -> free(seatState, List.of(seatNumber)));
+    }
+
+    public void evict(long showtimeId) {
+        seatStates.remove(showtimeId);
+    }
+
+    @EventListener
+    public void onShowtimeLayoutChanged(ShowtimeLayoutChangedEvent event) {
+        evict(event.showtimeId());
+    }
+
+    @Override
+    public CacheRegion region() {
+        return CacheRegion.SHOWTIME;
+    }
+
+    @Override
+    public void invalidate(String showtimeId) {
+        evict(Long.parseLong(showtimeId));
+    }
+
+    @Override
+    public void invalidateAll() {
+        seatStates.clear();
+    }
+
+    private SeatState seatState(long showtimeId) {
+        return seatStates.computeIfAbsent(showtimeId, id -> {
+            SeatState seatState = SeatState.forLayout(showtimeService.getSeatLayout(id));
+            for (Integer seat : ticketRepository.findSeatNumbersByShowtimeId(id)) {
+                if (seat != null && seat <= seatState.capacity()) {
+                    seatState.take(seat);
+                }
+            }
+            return seatState;
+        });
+    }
+
+    private static void free(SeatState seatState, List<Integer> seats) {
+        synchronized (seatState) {
+            seats.forEach(seatState::free);
+        }
+    }
+
+    private static void onRollback(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    action.run();
+                }
+            }
+        });
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
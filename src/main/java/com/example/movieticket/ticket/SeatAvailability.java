@@ -0,0 +1,6 @@
+package com.example.movieticket.ticket;
+
+import java.util.List;
+
+public record SeatAvailability(Long showtimeId, int capacity, int freeSeats, List<Integer> takenSeats) {
+}
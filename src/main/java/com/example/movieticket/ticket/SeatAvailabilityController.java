@@ -0,0 +1,20 @@
+package com.example.movieticket.ticket;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+public class SeatAvailabilityController {
+
+    private final SeatInventory seatInventory;
+
+    public SeatAvailabilityController(SeatInventory seatInventory) {
+        this.seatInventory = seatInventory;
+    }
+
+    @GetMapping("/showtimes/{id}/seats")
+    public SeatAvailability getSeats(@PathVariable Long id) {
+        return seatInventory.getAvailability(id);
+    }
+}
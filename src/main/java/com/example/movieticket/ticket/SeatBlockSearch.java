@@ -0,0 +1,52 @@
+package com.example.movieticket.ticket;
+
+/**
+ * Scores candidate blocks for {@link SeatState#findBestBlock}; positions are 0-based.
+ * Ties go to the first candidate offered, so offering in seat order prefers lower seats.
+ */
+final class SeatBlockSearch {
+
+    private final int size;
+    private final int seatsPerRow;
+    private final double idealRow;
+    private final double idealColumn;
+    private int best = -1;
+    private double bestScore = Double.MAX_VALUE;
+
+    SeatBlockSearch(int size, int capacity, int seatsPerRow) {
+        this.size = size;
+        this.seatsPerRow = seatsPerRow;
+        int rows = (capacity + seatsPerRow - 1) / seatsPerRow;
+        this.idealRow = (rows - 1) / 2.0;
+        this.idealColumn = (seatsPerRow - size) / 2.0;
+    }
+
+    void offer(int start) {
+        int column = start % seatsPerRow;
+        if (column + size > seatsPerRow) {
+            return;
+        }
+        double score = Math.abs(start / seatsPerRow - idealRow) * seatsPerRow + Math.abs(column - idealColumn);
+        if (score < bestScore) {
+            best = start;
+            bestScore = score;
+        }
+    }
+
+    /** Offers the best start inside the free run {@code [from, to]}, row by row. */
+    void offerRun(int from, int to) {
+        for (int row = from / seatsPerRow; row <= to / seatsPerRow; row++) {
+            int rowStart = row * seatsPerRow;
+            int first = Math.max(from, rowStart);
+            int last = Math.min(to, rowStart + seatsPerRow - 1) - size + 1;
+            if (first <= last) {
+                offer(Math.max(first, Math.min(last, rowStart + (int) Math.floor(idealColumn))));
+            }
+        }
+    }
+
+    /** The best block's first seat number (1-based), or {@code -1}. */
+    int result() {
+        return best < 0 ? -1 : best + 1;
+    }
+}
@@ -0,0 +1,4 @@
+package com.example.movieticket.ticket;
+
+public record SeatDelta(Integer seatNumber, SeatStatus status) {
+}
@@ -0,0 +1,20 @@
+package com.example.movieticket.ticket;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public record SeatDeltaBatch(Long showtimeId, List<SeatDelta> changes) {
+
+    public static SeatDeltaBatch coalesce(Long showtimeId, List<SeatDelta> deltas) {
+        Map<Integer, SeatStatus> latest = new LinkedHashMap<>();
+        for (SeatDelta delta : deltas) {
+            latest.remove(delta.seatNumber());
+            latest.put(delta.seatNumber(), delta.status());
+        }
+        List<SeatDelta> changes = new ArrayList<>(latest.size());
+        latest.forEach((seat, status) -> changes.add(new SeatDelta(seat, status)));
+        return new SeatDeltaBatch(showtimeId, changes);
+    }
+}
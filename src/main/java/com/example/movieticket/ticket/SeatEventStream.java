@@ -0,0 +1,189 @@
+package com.example.movieticket.ticket;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Fans committed seat changes out to Server-Sent Event subscribers of each showtime.
+ * Changes are buffered per showtime and flushed as one coalesced batch per interval.
+ * Idle connections hold no thread. A flush only queues each batch on its subscribers;
+ * every subscriber drains its own queue on a virtual thread, one send at a time, so batches
+ * arrive in order and a slow client never holds up the scheduler or the other clients.
+ * A subscriber whose send has been stuck longer than {@code seat-stream.send-timeout-ms}
+ * is dropped.
+ */
+@Component
+public class SeatEventStream {
+
+    private static final long EMITTER_TIMEOUT_MS = TimeUnit.MINUTES.toMillis(30);
+    private static final long HEARTBEAT_INTERVAL_MS = TimeUnit.SECONDS.toMillis(15);
+
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final Map<Long, Queue<SeatDelta>> pending = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final long sendTimeoutNanos;
+
+    public SeatEventStream(@Value("${seat-stream.flush-interval-ms:100}") long flushIntervalMs,
+                           @Value("${seat-stream.send-timeout-ms:5000}") long sendTimeoutMs) {
+        this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        scheduler.scheduleWithFixedDelay(this::flush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::heartbeat, HEARTBEAT_INTERVAL_MS, HEARTBEAT_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    public SseEmitter subscribe(Long showtimeId) {
+        return subscribe(showtimeId, new SseEmitter(EMITTER_TIMEOUT_MS));
+    }
+
+    public SseEmitter subscribe(Long showtimeId, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(showtimeId, emitter);
+        // added inside compute so a concurrent unsubscribe cannot drop the set this subscriber joins
+        subscribers.compute(showtimeId, (id, showtimeSubscribers) -> {
+            Set<Subscriber> joined = showtimeSubscribers == null ? ConcurrentHashMap.newKeySet() : showtimeSubscribers;
+            joined.add(subscriber);
+            return joined;
+        });
+        Runnable unsubscribe = () -> unsubscribe(subscriber);
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(error -> unsubscribe.run());
+        return emitter;
+    }
+
+    public int subscriberCount(Long showtimeId) {
+        Set<Subscriber> showtimeSubscribers = subscribers.get(showtimeId);
+        return showtimeSubscribers == null ? 0 : showtimeSubscribers.size();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTicketBooked(TicketBookedEvent event) {
+        publish(event.showtimeId(), new SeatDelta(event.seatNumber(), SeatStatus.TAKEN));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTicketCancelled(TicketCancelledEvent event) {
+        publish(event.showtimeId(), new SeatDelta(event.seatNumber(), SeatStatus.RELEASED));
+    }
+
+    public void publish(Long showtimeId, SeatDelta delta) {
+        if (subscriberCount(showtimeId) == 0) {
+            return;
+        }
+        pending.computeIfAbsent(showtimeId, id -> new ConcurrentLinkedQueue<>()).add(delta);
+    }
+
+    public void flush() {
+        dropStalled();
+        pending.forEach((showtimeId, queue) -> {
+            List<SeatDelta> drained = new ArrayList<>();
+            for (SeatDelta delta = queue.poll(); delta != null; delta = queue.poll()) {
+                drained.add(delta);
+            }
+            Set<Subscriber> showtimeSubscribers = subscribers.get(showtimeId);
+            if (showtimeSubscribers == null) {
+                pending.remove(showtimeId, queue);
+                return;
+            }
+            if (drained.isEmpty()) {
+                return;
+            }
+            SeatDeltaBatch batch = SeatDeltaBatch.coalesce(showtimeId, drained);
+            showtimeSubscribers.forEach(subscriber -> subscriber.enqueue(SseEmitter.event().name("seats").data(batch)));
+        });
+    }
+
+    private void heartbeat() {
+        dropStalled();
+        subscribers.values().forEach(showtimeSubscribers -> showtimeSubscribers.forEach(subscriber ->
+                subscriber.enqueue(SseEmitter.event().comment("keep-alive"))));
+    }
+
+    private void dropStalled() {
+        long now = System.nanoTime();
+        subscribers.values().forEach(showtimeSubscribers -> showtimeSubscribers.forEach(subscriber -> {
+            long startedAt = subscriber.sendStartedAt;
+            if (startedAt != 0 && now - startedAt > sendTimeoutNanos) {
+                drop(subscriber);
+            }
+        }));
+    }
+
+    private void drop(Subscriber subscriber) {
+        unsubscribe(subscriber);
+        subscriber.outbox.clear();
+        // completing takes the emitter's lock, which the stuck send still holds
+        senders.execute(subscriber.emitter::complete);
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.showtimeId, (id, showtimeSubscribers) -> {
+            showtimeSubscribers.remove(subscriber);
+            return showtimeSubscribers.isEmpty() ? null : showtimeSubscribers;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        senders.shutdownNow();
+        subscribers.values().forEach(showtimeSubscribers ->
+                showtimeSubscribers.forEach(subscriber -> subscriber.emitter.complete()));
+        subscribers.clear();
+    }
+
+    private final class Subscriber {
+        private final Long showtimeId;
+        private final SseEmitter emitter;
+        private final Queue<SseEmitter.SseEventBuilder> outbox = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile long sendStartedAt;
+
+        private Subscriber(Long showtimeId, SseEmitter emitter) {
+            this.showtimeId = showtimeId;
+            this.emitter = emitter;
+        }
+
+        private void enqueue(SseEmitter.SseEventBuilder event) {
+            outbox.add(event);
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                SseEmitter.SseEventBuilder event = outbox.poll();
+                if (event == null) {
+                    draining.set(false);
+                    // an enqueue may have seen draining still set just before it was cleared
+                    if (outbox.isEmpty() || !draining.compareAndSet(false, true)) {
+                        return;
+                    }
+                    continue;
+                }
+                sendStartedAt = System.nanoTime();
+                try {
+                    emitter.send(event);
+                } catch (IOException | IllegalStateException e) {
+                    unsubscribe(this);
+                    outbox.clear();
+                } finally {
+                    sendStartedAt = 0;
+                }
+            }
+        }
+    }
+}
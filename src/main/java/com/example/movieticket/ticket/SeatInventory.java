@@ -0,0 +1,141 @@
+package com.example.movieticket.ticket;
+
+import com.example.movieticket.exception.ValidationException;
+import com.example.movieticket.showtime.ShowtimeLayoutChangedEvent;
+import com.example.movieticket.showtime.ShowtimeService;
+import com.example.movieticket.theater.SeatLayout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Answers which seats of a showtime are taken. In {@link BookingStorageMode#SEAT_MAP} mode
+ * every claim is a conditional {@code UPDATE ... WHERE bits & mask = 0} on the seat words,
+ * so the conflict check and the booking are one statement; {@link BookingStorageMode#SEAT_ROWS}
+ * delegates to {@link SeatRowStore}. In the default mode the ticket rows themselves are the
+ * source of truth and claims are no-ops.
+ */
+@Component
+public class SeatInventory {
+
+    private final BookingStorageMode mode;
+    private final ShowtimeSeatWordRepository seatWordRepository;
+    private final TicketRepository ticketRepository;
+    private final ShowtimeService showtimeService;
+    private final SeatRowStore seatRowStore;
+
+    public SeatInventory(@Value("${booking.storage-mode:TICKET_ROWS}") BookingStorageMode mode,
+                         ShowtimeSeatWordRepository seatWordRepository,
+                         TicketRepository ticketRepository,
+                         ShowtimeService showtimeService,
+                         SeatRowStore seatRowStore) {
+        this.mode = mode;
+        this.seatWordRepository = seatWordRepository;
+        this.ticketRepository = ticketRepository;
+        this.showtimeService = showtimeService;
+        this.seatRowStore = seatRowStore;
+    }
+
+    /** Whether claims decide availability, making the ticket-row existence check redundant. */
+    public boolean tracksSeats() {
+        return mode != BookingStorageMode.TICKET_ROWS;
+    }
+
+    /** Must run inside the booking transaction so a partly applied multi-seat claim rolls back. */
+    public void claim(long showtimeId, Collection<Integer> seatNumbers) {
+        switch (mode) {
+            case SEAT_MAP -> claimSeatBits(showtimeId, seatNumbers);
+            case SEAT_ROWS -> seatRowStore.claim(showtimeId, seatNumbers);
+            case TICKET_ROWS -> { }
+        }
+    }
+
+    public void release(long showtimeId, int seatNumber) {
+        switch (mode) {
+            case SEAT_MAP -> masksByWord(List.of(seatNumber))
+                    .forEach((wordIndex, mask) -> seatWordRepository.releaseSeats(showtimeId, wordIndex, mask));
+            case SEAT_ROWS -> seatRowStore.release(showtimeId, seatNumber);
+            case TICKET_ROWS -> { }
+        }
+    }
+
+    /** Both storages rebuild themselves from the ticket rows, sized for the new layout, on the next claim. */
+    @EventListener
+    public void onShowtimeLayoutChanged(ShowtimeLayoutChangedEvent event) {
+        seatWordRepository.deleteByShowtimeId(event.showtimeId());
+        seatRowStore.discard(event.showtimeId());
+    }
+
+    public SeatAvailability getAvailability(long showtimeId) {
+        SeatLayout layout = showtimeService.getSeatLayout(showtimeId);
+        List<Integer> taken = switch (mode) {
+            case SEAT_MAP -> takenFromSeatWords(showtimeId);
+            case SEAT_ROWS -> seatRowStore.findTakenSeats(showtimeId);
+            case TICKET_ROWS -> List.of();
+        };
+        if (taken.isEmpty()) {
+            taken = ticketRepository.findSeatNumbersByShowtimeId(showtimeId).stream().sorted().toList();
+        }
+        return new SeatAvailability(showtimeId, layout.capacity(), Math.max(0, layout.capacity() - taken.size()), taken);
+    }
+
+    private void claimSeatBits(long showtimeId, Collection<Integer> seatNumbers) {
+        masksByWord(seatNumbers).forEach((wordIndex, mask) -> {
+            int updated = seatWordRepository.takeSeats(showtimeId, wordIndex, mask);
+            if (updated == 0 && !seatWordRepository.existsByShowtimeId(showtimeId)) {
+                createSeatWords(showtimeId);
+                updated = seatWordRepository.takeSeats(showtimeId, wordIndex, mask);
+            }
+            if (updated == 0) {
+                throw new ValidationException("The wanted seat is already booked! choose anther seat.");
+            }
+        });
+    }
+
+    private List<Integer> takenFromSeatWords(long showtimeId) {
+        List<Integer> taken = new ArrayList<>();
+        for (ShowtimeSeatWord word : seatWordRepository.findByShowtimeIdOrderByWordIndexAsc(showtimeId)) {
+            long bits = word.getBits();
+            while (bits != 0) {
+                taken.add(word.getWordIndex() * Long.SIZE + Long.numberOfTrailingZeros(bits) + 1);
+                bits &= bits - 1;
+            }
+        }
+        return taken;
+    }
+
+    /** Builds the seat words from the tickets already sold, e.g. after switching storage modes. */
+    private void createSeatWords(long showtimeId) {
+        int capacity = showtimeService.getSeatLayout(showtimeId).capacity();
+        long[] words = new long[(capacity + Long.SIZE - 1) / Long.SIZE];
+        masksByWord(ticketRepository.findSeatNumbersByShowtimeId(showtimeId))
+                .forEach((wordIndex, mask) -> {
+                    if (wordIndex < words.length) {
+                        words[wordIndex] = mask;
+                    }
+                });
+        for (int wordIndex = 0; wordIndex < words.length; wordIndex++) {
+            try {
+                seatWordRepository.insertIfMissing(showtimeId, wordIndex, words[wordIndex]);
+            } catch (DataIntegrityViolationException e) {
+                // another booking created the word first
+            }
+        }
+    }
+
+    private static Map<Integer, Long> masksByWord(Collection<Integer> seatNumbers) {
+        Map<Integer, Long> masks = new TreeMap<>();
+        for (Integer seatNumber : seatNumbers) {
+            int bit = seatNumber - 1;
+            masks.merge(bit / Long.SIZE, 1L << bit, (a, b) -> a | b);
+        }
+        return masks;
+    }
+}
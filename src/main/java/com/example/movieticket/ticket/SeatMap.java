@@ -0,0 +1,88 @@
+package com.example.movieticket.ticket;
+
+/**
+ * Taken/free bitmap for one showtime; bit {@code n - 1} stands for seat {@code n}.
+ */
+public class SeatMap implements SeatState {
+
+    private final int capacity;
+    private final int seatsPerRow;
+    private final long[] words;
+
+    public SeatMap(int capacity) {
+        this(capacity, capacity);
+    }
+
+    public SeatMap(int capacity, int seatsPerRow) {
+        this.capacity = capacity;
+        this.seatsPerRow = seatsPerRow;
+        this.words = new long[(capacity + Long.SIZE - 1) / Long.SIZE];
+    }
+
+    @Override
+    public int capacity() {
+        return capacity;
+    }
+
+    @Override
+    public boolean isTaken(int seatNumber) {
+        int bit = seatNumber - 1;
+        return (words[bit >>> 6] & (1L << bit)) != 0;
+    }
+
+    @Override
+    public void take(int seatNumber) {
+        int bit = seatNumber - 1;
+        words[bit >>> 6] |= 1L << bit;
+    }
+
+    @Override
+    public void free(int seatNumber) {
+        int bit = seatNumber - 1;
+        words[bit >>> 6] &= ~(1L << bit);
+    }
+
+    @Override
+    public int freeSeats() {
+        int taken = 0;
+        for (long word : words) {
+            taken += Long.bitCount(word);
+        }
+        return capacity - taken;
+    }
+
+    /**
+     * Starts with the free-seat mask and ANDs it with itself shifted by one seat
+     * {@code size - 1} times; a bit that survives marks the start of a long enough run.
+     */
+    @Override
+    public int findBestBlock(int size) {
+        if (size < 1 || size > capacity) {
+            return -1;
+        }
+        long[] runs = new long[words.length];
+        for (int i = 0; i < words.length; i++) {
+            runs[i] = ~words[i];
+        }
+        int tailBits = capacity % Long.SIZE;
+        if (tailBits != 0) {
+            runs[runs.length - 1] &= (1L << tailBits) - 1;
+        }
+        for (int step = 1; step < size; step++) {
+            for (int i = 0; i < runs.length; i++) {
+                long carry = i + 1 < runs.length ? runs[i + 1] << (Long.SIZE - 1) : 0;
+                runs[i] &= (runs[i] >>> 1) | carry;
+            }
+        }
+
+        SeatBlockSearch search = new SeatBlockSearch(size, capacity, seatsPerRow);
+        for (int i = 0; i < runs.length; i++) {
+            long word = runs[i];
+            while (word != 0) {
+                search.offer(i * Long.SIZE + Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+        return search.result();
+    }
+}
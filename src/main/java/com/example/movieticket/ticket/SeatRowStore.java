@@ -0,0 +1,95 @@
+package com.example.movieticket.ticket;
+
+import com.example.movieticket.exception.ValidationException;
+import com.example.movieticket.showtime.ShowtimeService;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Seat rows for {@link BookingStorageMode#SEAT_ROWS}. A showtime's rows are written once, in their
+ * own transaction, the first time it is booked; after that a claim locks the wanted free rows with
+ * {@code SKIP LOCKED} and marks them taken, all inside the booking transaction. A seat that another
+ * node is booking right now is reported as taken instead of blocking the caller.
+ */
+@Component
+public class SeatRowStore {
+
+    private static final int INSERT_BATCH_SIZE = 1000;
+
+    private final ShowtimeSeatRepository seatRepository;
+    private final TicketRepository ticketRepository;
+    private final ShowtimeService showtimeService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate newTransaction;
+
+    public SeatRowStore(ShowtimeSeatRepository seatRepository, TicketRepository ticketRepository,
+                        ShowtimeService showtimeService, JdbcTemplate jdbcTemplate,
+                        PlatformTransactionManager transactionManager) {
+        this.seatRepository = seatRepository;
+        this.ticketRepository = ticketRepository;
+        this.showtimeService = showtimeService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public void claim(long showtimeId, Collection<Integer> seatNumbers) {
+        Set<Integer> wanted = new HashSet<>(seatNumbers);
+        if (!seatRepository.existsByShowtimeId(showtimeId)) {
+            materialize(showtimeId);
+        }
+        List<Integer> locked = seatRepository.lockFreeSeats(showtimeId, wanted);
+        if (locked.size() < wanted.size()) {
+            throw new ValidationException("The wanted seat is already booked! choose anther seat.");
+        }
+        seatRepository.markTaken(showtimeId, wanted);
+    }
+
+    public void release(long showtimeId, int seatNumber) {
+        seatRepository.markFree(showtimeId, seatNumber);
+    }
+
+    /** The rows are materialized again by the next claim. */
+    public void discard(long showtimeId) {
+        seatRepository.deleteByShowtimeId(showtimeId);
+    }
+
+    /** Empty until the showtime's rows have been materialized. */
+    public List<Integer> findTakenSeats(long showtimeId) {
+        return seatRepository.findTakenSeatNumbers(showtimeId);
+    }
+
+    /**
+     * Inserts every seat of the showtime in one transaction, so a node that loses the race to
+     * another materializing node rolls back completely and simply uses the winner's rows.
+     */
+    private void materialize(long showtimeId) {
+        int capacity = showtimeService.getSeatLayout(showtimeId).capacity();
+        Set<Integer> sold = new HashSet<>(ticketRepository.findSeatNumbersByShowtimeId(showtimeId));
+        try {
+            newTransaction.executeWithoutResult(status -> {
+                List<Object[]> batch = new ArrayList<>(Math.min(capacity, INSERT_BATCH_SIZE));
+                for (int seat = 1; seat <= capacity; seat++) {
+                    batch.add(new Object[]{showtimeId, seat, sold.contains(seat)});
+                    if (batch.size() == INSERT_BATCH_SIZE || seat == capacity) {
+                        jdbcTemplate.batchUpdate(
+                                "INSERT INTO showtime_seat (showtime_id, seat_number, taken) VALUES (?, ?, ?)", batch);
+                        batch.clear();
+                    }
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            // another node materialized the rows first
+        }
+    }
+}
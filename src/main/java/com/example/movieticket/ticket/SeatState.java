@@ -0,0 +1,36 @@
+package com.example.movieticket.ticket;
+
+import com.example.movieticket.theater.SeatLayout;
+
+/**
+ * Taken/free state of every seat of one showtime. Implementations are not thread-safe,
+ * callers synchronize on the instance.
+ */
+public interface SeatState {
+
+    /** Halls up to this size use a plain bitset; larger venues use {@link CompressedSeatMap}. */
+    int BITSET_MAX_SEATS = 8192;
+
+    static SeatState forLayout(SeatLayout layout) {
+        return layout.capacity() <= BITSET_MAX_SEATS
+                ? new SeatMap(layout.capacity(), layout.seatsPerRow())
+                : new CompressedSeatMap(layout.capacity(), layout.seatsPerRow());
+    }
+
+    int capacity();
+
+    boolean isTaken(int seatNumber);
+
+    void take(int seatNumber);
+
+    void free(int seatNumber);
+
+    int freeSeats();
+
+    /**
+     * Returns the first seat of the best block of {@code size} adjacent free seats in one
+     * row, or {@code -1} if there is none. Blocks nearest the middle row win, then blocks
+     * nearest the middle of that row.
+     */
+    int findBestBlock(int size);
+}
@@ -0,0 +1,6 @@
+package com.example.movieticket.ticket;
+
+public enum SeatStatus {
+    TAKEN,
+    RELEASED
+}
@@ -0,0 +1,26 @@
+package com.example.movieticket.ticket;
+
+import com.example.movieticket.showtime.ShowtimeService;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+public class SeatStreamController {
+
+    private final SeatEventStream seatEventStream;
+    private final ShowtimeService showtimeService;
+
+    public SeatStreamController(SeatEventStream seatEventStream, ShowtimeService showtimeService) {
+        this.seatEventStream = seatEventStream;
+        this.showtimeService = showtimeService;
+    }
+
+    @GetMapping(path = "/showtimes/{id}/seats/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamSeatChanges(@PathVariable Long id) {
+        showtimeService.validateShowtimeExists(id);
+        return seatEventStream.subscribe(id);
+    }
+}
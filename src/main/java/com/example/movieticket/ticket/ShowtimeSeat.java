@@ -0,0 +1,29 @@
+package com.example.movieticket.ticket;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * One pre-materialized seat of a showtime, used by {@link BookingStorageMode#SEAT_ROWS}.
+ */
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_showtime_seat",
+        columnNames = {"showtime_id", "seat_number"}))
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class ShowtimeSeat {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long showtimeId;
+
+    @Column(nullable = false)
+    private Integer seatNumber;
+
+    @Column(nullable = false)
+    private boolean taken;
+}
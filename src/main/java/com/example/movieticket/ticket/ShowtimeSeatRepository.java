@@ -0,0 +1,44 @@
+package com.example.movieticket.ticket;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ShowtimeSeatRepository extends JpaRepository<ShowtimeSeat, Long> {
+
+    /** Rows locked by another in-flight booking are skipped rather than waited for. */
+    @Query(value = "SELECT seat_number FROM showtime_seat " +
+            "WHERE showtime_id = :showtimeId AND seat_number IN (:seatNumbers) AND taken = FALSE " +
+            "FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Integer> lockFreeSeats(@Param("showtimeId") Long showtimeId,
+                                @Param("seatNumbers") Collection<Integer> seatNumbers);
+
+    @Modifying
+    @Query("UPDATE ShowtimeSeat s SET s.taken = true " +
+            "WHERE s.showtimeId = :showtimeId AND s.seatNumber IN :seatNumbers AND s.taken = false")
+    int markTaken(@Param("showtimeId") Long showtimeId,
+                  @Param("seatNumbers") Collection<Integer> seatNumbers);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE ShowtimeSeat s SET s.taken = false " +
+            "WHERE s.showtimeId = :showtimeId AND s.seatNumber = :seatNumber AND s.taken = true")
+    int markFree(@Param("showtimeId") Long showtimeId,
+                 @Param("seatNumber") Integer seatNumber);
+
+    boolean existsByShowtimeId(Long showtimeId);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ShowtimeSeat s WHERE s.showtimeId = :showtimeId")
+    int deleteByShowtimeId(@Param("showtimeId") Long showtimeId);
+
+    @Query("SELECT s.seatNumber FROM ShowtimeSeat s WHERE s.showtimeId = :showtimeId AND s.taken = true " +
+            "ORDER BY s.seatNumber")
+    List<Integer> findTakenSeatNumbers(@Param("showtimeId") Long showtimeId);
+}
@@ -0,0 +1,29 @@
+package com.example.movieticket.ticket;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * 64 seats of one showtime's persisted seat map; bit {@code i} of word {@code w} is seat {@code w * 64 + i + 1}.
+ */
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_showtime_seat_word",
+        columnNames = {"showtime_id", "word_index"}))
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class ShowtimeSeatWord {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long showtimeId;
+
+    @Column(nullable = false)
+    private Integer wordIndex;
+
+    @Column(nullable = false)
+    private Long bits;
+}
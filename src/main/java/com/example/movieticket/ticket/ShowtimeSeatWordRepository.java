@@ -0,0 +1,48 @@
+package com.example.movieticket.ticket;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+public interface ShowtimeSeatWordRepository extends JpaRepository<ShowtimeSeatWord, Long> {
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE ShowtimeSeatWord w SET w.bits = bitor(w.bits, cast(:mask as Long)) " +
+            "WHERE w.showtimeId = :showtimeId AND w.wordIndex = :wordIndex AND bitand(w.bits, cast(:mask as Long)) = 0")
+    int takeSeats(@Param("showtimeId") Long showtimeId,
+                  @Param("wordIndex") Integer wordIndex,
+                  @Param("mask") Long mask);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE ShowtimeSeatWord w SET w.bits = bitxor(w.bits, cast(:mask as Long)) " +
+            "WHERE w.showtimeId = :showtimeId AND w.wordIndex = :wordIndex AND bitand(w.bits, cast(:mask as Long)) = cast(:mask as Long)")
+    int releaseSeats(@Param("showtimeId") Long showtimeId,
+                     @Param("wordIndex") Integer wordIndex,
+                     @Param("mask") Long mask);
+
+    boolean existsByShowtimeId(Long showtimeId);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ShowtimeSeatWord w WHERE w.showtimeId = :showtimeId")
+    int deleteByShowtimeId(@Param("showtimeId") Long showtimeId);
+
+    List<ShowtimeSeatWord> findByShowtimeIdOrderByWordIndexAsc(Long showtimeId);
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Modifying
+    @Query(value = "INSERT INTO showtime_seat_word (showtime_id, word_index, bits) " +
+            "SELECT CAST(:showtimeId AS BIGINT), CAST(:wordIndex AS INTEGER), CAST(:bits AS BIGINT) " +
+            "WHERE NOT EXISTS (SELECT 1 FROM showtime_seat_word " +
+            "WHERE showtime_id = :showtimeId AND word_index = :wordIndex)", nativeQuery = true)
+    int insertIfMissing(@Param("showtimeId") Long showtimeId,
+                        @Param("wordIndex") Integer wordIndex,
+                        @Param("bits") Long bits);
+}
@@ -7,6 +7,10 @@ import java.util.UUID;
 
 
 @Entity
+@Table(
+        indexes = @Index(name = "idx_ticket_user_id_id", columnList = "user_id, id"),
+        uniqueConstraints = @UniqueConstraint(name = "uk_ticket_showtime_seat", columnNames = {"showtime_id", "seat_number"})
+)
 @NoArgsConstructor
 @AllArgsConstructor
 @Getter
@@ -14,7 +18,7 @@ import java.util.UUID;
 public class Ticket {
 
     @Id
-    @GeneratedValue
+    @TimeOrderedUuid
     private UUID id;
 
     @NotNull(message = "Showtime ID is required")
@@ -22,7 +26,6 @@ public class Ticket {
     private Long showtimeId;
 
     @Min(value = 1, message = " minimum seat number is 1. ")
-    @Max(value = 100, message = " maximum seat number is 100. ")
     @NotNull(message = " seat number is required. ")
     private Integer seatNumber;
 
@@ -0,0 +1,10 @@
+package com.example.movieticket.ticket;
+
+import java.util.UUID;
+
+public record TicketBookedEvent(UUID ticketId, Long showtimeId, Integer seatNumber, UUID userId) {
+
+    public static TicketBookedEvent of(Ticket ticket) {
+        return new TicketBookedEvent(ticket.getId(), ticket.getShowtimeId(), ticket.getSeatNumber(), ticket.getUserId());
+    }
+}
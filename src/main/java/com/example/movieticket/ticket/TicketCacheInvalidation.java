@@ -0,0 +1,73 @@
+package com.example.movieticket.ticket;
+
+import com.example.movieticket.cache.CacheInvalidationBus;
+import com.example.movieticket.cache.CacheInvalidationHandler;
+import com.example.movieticket.cache.CacheRegion;
+import com.example.movieticket.showtime.ShowtimeOccupancyService;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Announces {@link TicketService} writes on the {@link CacheInvalidationBus}. Listens synchronously,
+ * inside the booking transaction, so the notification commits or rolls back with the booking.
+ * <p>
+ * A booking is sent as a {@link CacheRegion#SEAT} patch, which other nodes apply to their seat map
+ * instead of dropping and reloading it for every sale. Their occupancy counter for the showtime is
+ * reloaded on next read: adding one per patch would count a seat twice when the patch overtakes a
+ * reload that already saw it.
+ */
+@Component
+public class TicketCacheInvalidation implements CacheInvalidationHandler {
+
+    private static final String SEPARATOR = ":";
+
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final SeatAllocator seatAllocator;
+    private final ShowtimeOccupancyService showtimeOccupancyService;
+
+    public TicketCacheInvalidation(CacheInvalidationBus cacheInvalidationBus, SeatAllocator seatAllocator,
+                                   ShowtimeOccupancyService showtimeOccupancyService) {
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.seatAllocator = seatAllocator;
+        this.showtimeOccupancyService = showtimeOccupancyService;
+    }
+
+    @EventListener
+    public void onTicketBooked(TicketBookedEvent event) {
+        cacheInvalidationBus.publish(CacheRegion.SEAT, event.showtimeId() + SEPARATOR + event.seatNumber());
+    }
+
+    @EventListener
+    public void onTicketCancelled(TicketCancelledEvent event) {
+        cacheInvalidationBus.publish(CacheRegion.SHOWTIME, event.showtimeId());
+        cacheInvalidationBus.publish(CacheRegion.BOOKING, event.ticketId());
+    }
+
+    @Override
+    public CacheRegion region() {
+        return CacheRegion.SEAT;
+    }
+
+    @Override
+    public void invalidate(String key) {
+        int separator = key.indexOf(SEPARATOR);
+        if (separator < 0) {
+            return;
+        }
+        long showtimeId;
+        int seatNumber;
+        try {
+            showtimeId = Long.parseLong(key.substring(0, separator));
+            seatNumber = Integer.parseInt(key.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return;
+        }
+        seatAllocator.markTaken(showtimeId, seatNumber);
+        showtimeOccupancyService.evict(showtimeId);
+    }
+
+    /** Patches live in the {@link CacheRegion#SHOWTIME} caches, which clear themselves. */
+    @Override
+    public void invalidateAll() {
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.movieticket.ticket;
+
+import java.util.UUID;
+
+public record TicketCancelledEvent(UUID ticketId, Long showtimeId, Integer seatNumber, UUID userId) {
+
+    public static TicketCancelledEvent of(Ticket ticket) {
+        return new TicketCancelledEvent(ticket.getId(), ticket.getShowtimeId(), ticket.getSeatNumber(), ticket.getUserId());
+    }
+}
@@ -6,21 +6,116 @@ import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import com.example.movieticket.exception.ValidationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/bookings")
 public class TicketController {
+    static final String QUEUE_POSITION_HEADER = "X-Queue-Position";
+    static final String QUEUE_ETA_HEADER = "X-Queue-Eta-Seconds";
+
     private final TicketService ticketService;
+    private final AdmissionControl admissionControl;
+    private final BookingRateLimiter bookingRateLimiter;
 
-    public TicketController(TicketService ticketService) {
+    public TicketController(TicketService ticketService, AdmissionControl admissionControl,
+                            BookingRateLimiter bookingRateLimiter) {
         this.ticketService = ticketService;
+        this.admissionControl = admissionControl;
+        this.bookingRateLimiter = bookingRateLimiter;
+    }
+
+    @GetMapping
+    public BookingHistory getBookingHistory(@RequestParam UUID userId,
+                                            @RequestParam(required = false) UUID after,
+                                            @RequestParam(defaultValue = "20") int limit) {
+        return ticketService.getBookingHistory(userId, after, limit);
+    }
+
+    @GetMapping("/rate-limit/stats")
+    public RateLimitStats getRateLimitStats() {
+        return bookingRateLimiter.stats();
+    }
+
+    @GetMapping("/admission/stats")
+    public AdmissionStats getAdmissionStats() {
+        return admissionControl.stats();
+    }
+
+    @GetMapping("/admission/queue/{showtimeId}")
+    public AdmissionQueueStatus getAdmissionQueue(@PathVariable long showtimeId) {
+        return admissionControl.queueStatus(showtimeId);
+    }
+
+    @GetMapping("/{id}")
+    public Ticket getBooking(@PathVariable UUID id) {
+        return ticketService.getBooking(id);
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<String> cancelBooking(@PathVariable UUID id) {
+        ticketService.cancelBooking(id);
+        return ResponseEntity.ok("Booking with id " + id + " was cancelled successfully.");
+    }
+
+    @PostMapping("/best-available")
+    public CompletableFuture<ResponseEntity<BestAvailableBooking>> bookBestAvailable(@Valid @RequestBody BestAvailableRequest request) {
+        bookingRateLimiter.acquire(request.userId());
+        return admissionControl.admit(request.showtimeId()).thenApply(permit -> {
+            try (permit) {
+                return admitted(permit).body(
+                        ticketService.bookBestAvailable(request.showtimeId(), request.userId(), request.partySize()));
+            }
+        });
     }
 
     @PostMapping
-    public ResponseEntity<Map<String, UUID>> bookTicket(@Valid @RequestBody Ticket ticket) {
-        ticketService.addTicket(ticket);
-        return ResponseEntity.ok(Map.of("bookingId", ticket.getId()));
+    public CompletableFuture<ResponseEntity<Map<String, UUID>>> bookTicket(@Valid @RequestBody Ticket ticket,
+                                                                           @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        // rejected attempts never queue for admission or open a transaction
+        bookingRateLimiter.acquire(ticket.getUserId());
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return admissionControl.admit(ticket.getShowtimeId()).thenApply(permit -> {
+                try (permit) {
+                    ticketService.addTicket(ticket);
+                }
+                return admitted(permit).body(Map.of("bookingId", ticket.getId()));
+            });
+        }
+        if (idempotencyKey.length() > 128) {
+            throw new ValidationException("Idempotency-Key must be at most 128 characters.");
+        }
+
+        Optional<UUID> existing = ticketService.findBookingByIdempotencyKey(ticket, idempotencyKey);
+        if (existing.isPresent()) {
+            return CompletableFuture.completedFuture(ResponseEntity.ok(Map.of("bookingId", existing.get())));
+        }
+        return admissionControl.admit(ticket.getShowtimeId()).thenApply(permit -> {
+            try (permit) {
+                ticketService.addTicket(ticket, idempotencyKey);
+            } catch (ValidationException | DataIntegrityViolationException e) {
+                // a concurrent retry with the same key may have won the race
+                return ticketService.findBookingByIdempotencyKey(ticket, idempotencyKey)
+                        .map(bookingId -> admitted(permit).body(Map.of("bookingId", bookingId)))
+                        .orElseThrow(() -> e);
+            }
+            return admitted(permit).body(Map.of("bookingId", ticket.getId()));
+        });
+    }
+
+    /** A caller that had to queue learns the position and wait it was given on joining. */
+    private static ResponseEntity.BodyBuilder admitted(AdmissionControl.Permit permit) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (permit.getQueuePosition() > 0) {
+            response.header(QUEUE_POSITION_HEADER, String.valueOf(permit.getQueuePosition()))
+                    .header(QUEUE_ETA_HEADER, String.valueOf(permit.getEtaSeconds()));
+        }
+        return response;
     }
 }
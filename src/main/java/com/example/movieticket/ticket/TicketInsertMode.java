@@ -0,0 +1,14 @@
+package com.example.movieticket.ticket;
+
+/**
+ * How a single booking writes its ticket row, selected with {@code booking.ticket-insert}.
+ */
+public enum TicketInsertMode {
+    /** The ticket is persisted through the entity manager and inserted at flush. */
+    JPA,
+    /**
+     * The ticket is written by one conditional {@code INSERT ... SELECT ... WHERE NOT EXISTS} over JDBC,
+     * which also decides whether the seat is free, so no entity enters the persistence context.
+     */
+    JDBC
+}
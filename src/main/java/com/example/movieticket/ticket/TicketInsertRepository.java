@@ -0,0 +1,10 @@
+package com.example.movieticket.ticket;
+
+public interface TicketInsertRepository {
+
+    /** Returns false when the seat was already booked; only detected in {@link TicketInsertMode#JDBC} mode. */
+    boolean insert(Ticket ticket);
+
+    /** Whether {@link #insert} itself rejects taken seats, making a separate existence check redundant. */
+    boolean insertRejectsTakenSeats();
+}
@@ -0,0 +1,70 @@
+package com.example.movieticket.ticket;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Locale;
+
+class TicketInsertRepositoryImpl implements TicketInsertRepository {
+
+    private static final String INSERT_IF_SEAT_FREE =
+            "INSERT INTO ticket (id, showtime_id, seat_number, user_id) SELECT ?, ?, ?, ? " +
+            "WHERE NOT EXISTS (SELECT 1 FROM ticket WHERE showtime_id = ? AND seat_number = ?)";
+
+    private static final String SEAT_CONSTRAINT = "uk_ticket_showtime_seat";
+
+    private final TicketInsertMode mode;
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+
+    TicketInsertRepositoryImpl(@Value("${booking.ticket-insert:JPA}") TicketInsertMode mode,
+                               EntityManager entityManager, JdbcTemplate jdbcTemplate) {
+        this.mode = mode;
+        this.entityManager = entityManager;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** Ids are always server-assigned; a client-supplied id is discarded rather than trusted. */
+    @Override
+    public boolean insert(Ticket ticket) {
+        if (mode == TicketInsertMode.JPA) {
+            ticket.setId(null);
+            try {
+                entityManager.persist(ticket);
+                entityManager.flush();
+                return true;
+            } catch (PersistenceException e) {
+                if (!isSeatConstraint(e)) {
+                    throw e;
+                }
+                // a concurrent booking of the same seat committed first
+                return false;
+            }
+        }
+        ticket.setId(TimeOrderedUuidGenerator.next());
+        try {
+            return jdbcTemplate.update(INSERT_IF_SEAT_FREE, ticket.getId(), ticket.getShowtimeId(), ticket.getSeatNumber(),
+                    ticket.getUserId(), ticket.getShowtimeId(), ticket.getSeatNumber()) == 1;
+        } catch (DuplicateKeyException e) {
+            if (!isSeatConstraint(e)) {
+                throw e;
+            }
+            // two bookings passed NOT EXISTS concurrently; uk_ticket_showtime_seat let only one through
+            return false;
+        }
+    }
+
+    private static boolean isSeatConstraint(RuntimeException e) {
+        String message = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+        return message != null && message.toLowerCase(Locale.ROOT).contains(SEAT_CONSTRAINT);
+    }
+
+    @Override
+    public boolean insertRejectsTakenSeats() {
+        return mode == TicketInsertMode.JDBC;
+    }
+}
@@ -1,8 +1,32 @@
 package com.example.movieticket.ticket;
 
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
-public interface TicketRepository extends JpaRepository<Ticket, Long> {
+import java.util.List;
+import java.util.UUID;
+
+public interface TicketRepository extends JpaRepository<Ticket, UUID>, TicketInsertRepository {
     boolean existsByShowtimeIdAndSeatNumber(Long showtimeId, Integer seatNumber);
+
+    List<Ticket> findByOrderByIdAsc(Pageable pageable);
+
+    List<Ticket> findByIdGreaterThanOrderByIdAsc(UUID after, Pageable pageable);
+
+    List<BookingSummary> findByUserIdOrderByIdAsc(UUID userId, Pageable pageable);
+
+    List<BookingSummary> findByUserIdAndIdGreaterThanOrderByIdAsc(UUID userId, UUID after, Pageable pageable);
+
+    @Query("SELECT t.seatNumber FROM Ticket t WHERE t.showtimeId = :showtimeId")
+    List<Integer> findSeatNumbersByShowtimeId(@Param("showtimeId") Long showtimeId);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Ticket t WHERE t.id = :id")
+    int deleteBooking(@Param("id") UUID id);
 }
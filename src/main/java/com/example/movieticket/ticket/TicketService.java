@@ -1,31 +1,164 @@
 package com.example.movieticket.ticket;
 
 
+import com.example.movieticket.exception.ResourceNotFoundException;
 import com.example.movieticket.exception.ValidationException;
+import com.example.movieticket.showtime.ShowtimeOccupancyService;
 import com.example.movieticket.showtime.ShowtimeService;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
 
 
 @Service
 public class TicketService {
+    private static final int MAX_HISTORY_PAGE_SIZE = 100;
+    private static final String SEAT_TAKEN = "The wanted seat is already booked! choose anther seat.";
+
     private final TicketRepository ticketRepository;
     private final ShowtimeService showtimeService;
+    private final ShowtimeOccupancyService showtimeOccupancyService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final IdempotencyStore idempotencyStore;
+    private final BookingCache bookingCache;
+    private final SeatAllocator seatAllocator;
+    private final SeatInventory seatInventory;
 
-    public TicketService(TicketRepository ticketRepository, ShowtimeService showtimeService) {
+    public TicketService(TicketRepository ticketRepository, ShowtimeService showtimeService,
+                         ShowtimeOccupancyService showtimeOccupancyService, ApplicationEventPublisher eventPublisher,
+                         IdempotencyStore idempotencyStore, BookingCache bookingCache,
+                         SeatAllocator seatAllocator, SeatInventory seatInventory) {
         this.ticketRepository = ticketRepository;
         this.showtimeService = showtimeService;
+        this.showtimeOccupancyService = showtimeOccupancyService;
+        this.eventPublisher = eventPublisher;
+        this.idempotencyStore = idempotencyStore;
+        this.bookingCache = bookingCache;
+        this.seatAllocator = seatAllocator;
+        this.seatInventory = seatInventory;
     }
 
+    @Transactional
     public void addTicket(Ticket ticket) {
+        addTicket(ticket, null);
+    }
+
+    @Transactional
+    public void addTicket(Ticket ticket, String idempotencyKey) {
         validateTicket(ticket);
-        ticketRepository.save(ticket);
+        seatInventory.claim(ticket.getShowtimeId(), List.of(ticket.getSeatNumber()));
+        showtimeOccupancyService.reserveSeat(ticket.getShowtimeId());
+        if (!ticketRepository.insert(ticket)) {
+            throw new ValidationException(SEAT_TAKEN);
+        }
+        seatAllocator.markTaken(ticket.getShowtimeId(), ticket.getSeatNumber());
+        if (idempotencyKey != null) {
+            idempotencyStore.remember(ticket, idempotencyKey);
+        }
+        eventPublisher.publishEvent(TicketBookedEvent.of(ticket));
+    }
+
+    /**
+     * Picks the best block of adjacent free seats from the in-memory seat map and books
+     * all of them in one transaction. Should a concurrent single-seat booking win one of
+     * those seats, the stale map is dropped and the caller can simply retry.
+     */
+    @Transactional
+    public BestAvailableBooking bookBestAvailable(Long showtimeId, UUID userId, int partySize) {
+        showtimeOccupancyService.checkNotSoldOut(showtimeId);
+        showtimeService.validateShowtimeExists(showtimeId);
+
+        List<Integer> seats = seatAllocator.claimBestBlock(showtimeId, partySize);
+        try {
+            seatInventory.claim(showtimeId, seats);
+        } catch (ValidationException e) {
+            throw staleSeatMap(showtimeId);
+        }
+        List<Ticket> tickets = new ArrayList<>(seats.size());
+        for (Integer seat : seats) {
+            showtimeOccupancyService.reserveSeat(showtimeId);
+            tickets.add(new Ticket(null, showtimeId, seat, userId));
+        }
+        try {
+            ticketRepository.saveAllAndFlush(tickets);
+        } catch (DataIntegrityViolationException e) {
+            throw staleSeatMap(showtimeId);
+        }
+        tickets.forEach(ticket -> eventPublisher.publishEvent(TicketBookedEvent.of(ticket)));
+        return new BestAvailableBooking(tickets.stream().map(Ticket::getId).toList(), seats);
+    }
+
+    @Transactional(readOnly = true)
+    public Ticket getBooking(UUID bookingId) {
+        Optional<Ticket> cached = bookingCache.get(bookingId);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        Ticket ticket = ticketRepository.findById(bookingId)
+                .orElseThrow(() -> new ResourceNotFoundException("ERROR: Booking with id " + bookingId + " does not exist."));
+        bookingCache.put(ticket);
+        return ticket;
+    }
+
+    /**
+     * The seat is freed by a single conditional delete; only the caller whose delete hit
+     * a row releases the occupancy counter, so concurrent cancellations cannot double-release.
+     */
+    @Transactional
+    public void cancelBooking(UUID bookingId) {
+        Ticket ticket = getBooking(bookingId);
+        bookingCache.evict(bookingId);
+        if (ticketRepository.deleteBooking(bookingId) == 0) {
+            throw new ResourceNotFoundException("ERROR: Booking with id " + bookingId + " does not exist.");
+        }
+        idempotencyStore.forget(bookingId);
+        showtimeOccupancyService.releaseSeat(ticket.getShowtimeId());
+        seatInventory.release(ticket.getShowtimeId(), ticket.getSeatNumber());
+        seatAllocator.markFree(ticket.getShowtimeId(), ticket.getSeatNumber());
+        eventPublisher.publishEvent(TicketCancelledEvent.of(ticket));
+    }
+
+    @Transactional(readOnly = true)
+    public BookingHistory getBookingHistory(UUID userId, UUID after, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_HISTORY_PAGE_SIZE));
+        Pageable page = PageRequest.of(0, pageSize + 1);
+        List<BookingSummary> bookings = after == null
+                ? ticketRepository.findByUserIdOrderByIdAsc(userId, page)
+                : ticketRepository.findByUserIdAndIdGreaterThanOrderByIdAsc(userId, after, page);
+
+        if (bookings.size() <= pageSize) {
+            return new BookingHistory(bookings, null);
+        }
+        List<BookingSummary> firstPage = bookings.subList(0, pageSize);
+        return new BookingHistory(List.copyOf(firstPage), firstPage.get(pageSize - 1).id());
+    }
+
+    public Optional<UUID> findBookingByIdempotencyKey(Ticket request, String idempotencyKey) {
+        return idempotencyStore.find(request, idempotencyKey);
+    }
+
+    private ValidationException staleSeatMap(Long showtimeId) {
+        seatAllocator.evict(showtimeId);
+        return new ValidationException("Some of the selected seats were just booked, please try again.");
     }
 
     private void validateTicket(Ticket ticket) {
-        showtimeService.validateShowtimeExists(ticket.getShowtimeId());
+        showtimeOccupancyService.checkNotSoldOut(ticket.getShowtimeId());
+        showtimeService.validateSeatNumber(ticket.getShowtimeId(), ticket.getSeatNumber());
+        if (seatInventory.tracksSeats() || ticketRepository.insertRejectsTakenSeats()) {
+            return;
+        }
         boolean bookedSeat = ticketRepository.existsByShowtimeIdAndSeatNumber(ticket.getShowtimeId(), ticket.getSeatNumber());
         if (bookedSeat) {
-            throw new ValidationException("The wanted seat is already booked! choose anther seat.");
+            throw new ValidationException(SEAT_TAKEN);
         }
     }
 
@@ -0,0 +1,112 @@
+package com.example.movieticket.cacheTest;
+
+import com.example.movieticket.cache.BoundedCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("BoundedCache Tests")
+class BoundedCacheTest {
+
+    private MutableClock clock;
+    private BoundedCache<String, Integer> cache;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        cache = new BoundedCache<>(2, Duration.ofMinutes(10), clock);
+    }
+
+    @Test
+    @DisplayName("Should return stored values until they expire")
+    void shouldExpireEntriesAfterTtl() {
+        cache.put("a", 1);
+
+        clock.advance(Duration.ofMinutes(9));
+        assertThat(cache.get("a")).contains(1);
+
+        clock.advance(Duration.ofMinutes(2));
+        assertThat(cache.get("a")).isEmpty();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently used entry when full")
+    void shouldEvictLeastRecentlyUsed() {
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.get("a");
+
+        cache.put("c", 3);
+
+        assertThat(cache.get("a")).contains(1);
+        assertThat(cache.get("b")).isEmpty();
+        assertThat(cache.get("c")).contains(3);
+    }
+
+    @Test
+    @DisplayName("Should forget removed entries")
+    void shouldRemoveEntries() {
+        cache.put("a", 1);
+
+        cache.remove("a");
+
+        assertThat(cache.get("a")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should report every entry that leaves the cache to the removal listener")
+    void shouldNotifyRemovalListener() {
+        List<String> removed = new ArrayList<>();
+        BoundedCache<String, Integer> listened = new BoundedCache<>(2, Duration.ofMinutes(10), clock,
+                (key, value) -> removed.add(key + "=" + value));
+        listened.put("a", 1);
+        listened.put("b", 2);
+
+        listened.put("a", 10);
+        listened.put("c", 3);
+        listened.remove("a");
+        clock.advance(Duration.ofMinutes(11));
+        listened.get("c");
+
+        assertThat(removed).containsExactly("a=1", "b=2", "a=10", "c=3");
+        assertThat(listened.size()).isZero();
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        private void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
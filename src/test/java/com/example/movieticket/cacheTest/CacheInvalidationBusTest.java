@@ -0,0 +1,104 @@
+package com.example.movieticket.cacheTest;
+
+import com.example.movieticket.cache.CacheInvalidationBus;
+import com.example.movieticket.cache.CacheInvalidationHandler;
+import com.example.movieticket.cache.CacheRegion;
+import com.example.movieticket.cache.InvalidationTransport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("CacheInvalidationBus Tests")
+class CacheInvalidationBusTest {
+
+    private final List<CacheInvalidationBus> nodes = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        nodes.forEach(CacheInvalidationBus::shutdown);
+    }
+
+    private CacheInvalidationBus startNode(RecordingHandler... handlers) {
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        for (int i = 0; i < handlers.length; i++) {
+            beans.addBean("handler" + i, handlers[i]);
+        }
+        CacheInvalidationBus bus = new CacheInvalidationBus(InvalidationTransport.IN_PROCESS, null, null,
+                beans.getBeanProvider(CacheInvalidationHandler.class));
+        bus.start();
+        nodes.add(bus);
+        return bus;
+    }
+
+    @Test
+    @DisplayName("Should deliver to other nodes but not back to the publisher")
+    void shouldDeliverToOtherNodesOnly() {
+        RecordingHandler local = new RecordingHandler(CacheRegion.BOOKING);
+        RecordingHandler remote = new RecordingHandler(CacheRegion.BOOKING);
+        CacheInvalidationBus publisher = startNode(local);
+        startNode(remote);
+        String bookingId = UUID.randomUUID().toString();
+
+        publisher.publish(CacheRegion.BOOKING, bookingId);
+
+        assertThat(local.keys).isEmpty();
+        assertThat(remote.keys).containsExactly(bookingId);
+    }
+
+    @Test
+    @DisplayName("Should only call handlers of the published region")
+    void shouldRouteByRegion() {
+        RecordingHandler bookings = new RecordingHandler(CacheRegion.BOOKING);
+        RecordingHandler theaters = new RecordingHandler(CacheRegion.THEATER);
+        CacheInvalidationBus publisher = startNode();
+        startNode(bookings, theaters);
+
+        publisher.publish(CacheRegion.THEATER, "Hall " + UUID.randomUUID());
+
+        assertThat(bookings.keys).isEmpty();
+        assertThat(theaters.keys).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should stop delivering to a node that shut down")
+    void shouldSkipStoppedNodes() {
+        RecordingHandler remote = new RecordingHandler(CacheRegion.BOOKING);
+        CacheInvalidationBus publisher = startNode();
+        startNode(remote).shutdown();
+
+        publisher.publish(CacheRegion.BOOKING, UUID.randomUUID());
+
+        assertThat(remote.keys).isEmpty();
+    }
+
+    private static final class RecordingHandler implements CacheInvalidationHandler {
+        private final CacheRegion region;
+        private final List<String> keys = new ArrayList<>();
+
+        private RecordingHandler(CacheRegion region) {
+            this.region = region;
+        }
+
+        @Override
+        public CacheRegion region() {
+            return region;
+        }
+
+        @Override
+        public void invalidate(String key) {
+            keys.add(key);
+        }
+
+        @Override
+        public void invalidateAll() {
+            keys.add("*");
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.movieticket.datasourceTest;
+
+import com.example.movieticket.datasource.ReadWriteRoutingDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private EmbeddedDatabase primary;
+    private EmbeddedDatabase replica;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("routing-primary", "primary");
+        replica = database("routing-replica", "replica");
+        var routing = ReadWriteRoutingDataSource.of(primary, replica);
+        var transactionManager = new DataSourceTransactionManager(routing);
+        jdbcTemplate = new JdbcTemplate(routing);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        primary.shutdown();
+        replica.shutdown();
+    }
+
+    @Test
+    void readOnlyTransaction_ReadsFromReplica() {
+        assertThat(markerIn(readOnly)).isEqualTo("replica");
+    }
+
+    @Test
+    void readWriteTransaction_UsesPrimary() {
+        assertThat(markerIn(readWrite)).isEqualTo("primary");
+    }
+
+    @Test
+    void noTransaction_UsesPrimary() {
+        assertThat(marker()).isEqualTo("primary");
+    }
+
+    @Test
+    void pinnedThread_ReadsFromPrimaryUntilPinIsClosed() {
+        try (ReadWriteRoutingDataSource.Pin pin = ReadWriteRoutingDataSource.pinToPrimary()) {
+            assertThat(markerIn(readOnly)).isEqualTo("primary");
+        }
+        assertThat(markerIn(readOnly)).isEqualTo("replica");
+    }
+
+    private String markerIn(TransactionTemplate transaction) {
+        return transaction.execute(status -> marker());
+    }
+
+    private String marker() {
+        return jdbcTemplate.queryForObject("SELECT name FROM marker", String.class);
+    }
+
+    private static EmbeddedDatabase database(String name, String marker) {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .setName(name)
+                .build();
+        new JdbcTemplate(database).execute("CREATE TABLE marker (name VARCHAR(16))");
+        new JdbcTemplate(database).update("INSERT INTO marker VALUES (?)", marker);
+        return database;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.movieticket.datasourceTest;
+
+import com.example.movieticket.datasource.ReadYourWrites;
+import com.example.movieticket.ticket.TicketBookedEvent;
+import com.example.movieticket.ticket.TicketCancelledEvent;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReadYourWritesTest {
+
+    private final ReadYourWrites readYourWrites = new ReadYourWrites(100, Duration.ofMinutes(1));
+
+    @Test
+    void booking_MarksUserAsRecentWriter() {
+        UUID userId = UUID.randomUUID();
+
+        readYourWrites.onTicketBooked(new TicketBookedEvent(UUID.randomUUID(), 1L, 5, userId));
+
+        assertThat(readYourWrites.recentlyWrote(userId)).isTrue();
+        assertThat(readYourWrites.recentlyWrote(UUID.randomUUID())).isFalse();
+    }
+
+    @Test
+    void cancellation_MarksUserAsRecentWriter() {
+        UUID userId = UUID.randomUUID();
+
+        readYourWrites.onTicketCancelled(new TicketCancelledEvent(UUID.randomUUID(), 1L, 5, userId));
+
+        assertThat(readYourWrites.recentlyWrote(userId)).isTrue();
+    }
+
+    @Test
+    void booking_MarksBookingAsRecentlyWritten() {
+        UUID bookingId = UUID.randomUUID();
+
+        readYourWrites.onTicketBooked(new TicketBookedEvent(bookingId, 1L, 5, null));
+
+        assertThat(readYourWrites.recentlyWritten(bookingId)).isTrue();
+        assertThat(readYourWrites.recentlyWritten(UUID.randomUUID())).isFalse();
+    }
+
+    @Test
+    void unknownUser_IsNeverSticky() {
+        readYourWrites.recordWrite(null);
+
+        assertThat(readYourWrites.recentlyWrote(null)).isFalse();
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.movieticket.movieTest;
+
+import com.example.movieticket.movie.Genre;
+import com.example.movieticket.movie.GenreDictionary;
+import com.example.movieticket.movie.GenreRepository;
+import com.example.movieticket.movie.Movie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("GenreDictionary Tests")
+class GenreDictionaryTest {
+
+    @Mock
+    private GenreRepository genreRepository;
+
+    @InjectMocks
+    private GenreDictionary genreDictionary;
+
+    @BeforeEach
+    void setUp() {
+        when(genreRepository.findAll()).thenReturn(List.of(new Genre((short) 1, "Sci-Fi")));
+    }
+
+    @Test
+    @DisplayName("Should resolve known genres case-insensitively without touching the database again")
+    void shouldResolveKnownGenre() {
+        Movie movie = new Movie(null, "Arrival", "  sci-fi ", 116, 7.9, 2016);
+
+        genreDictionary.encode(movie);
+
+        assertThat(movie.getGenreId()).isEqualTo((short) 1);
+        assertThat(movie.getGenre()).isEqualTo("Sci-Fi");
+        verify(genreRepository, never()).save(any(Genre.class));
+    }
+
+    @Test
+    @DisplayName("Should store a new genre once and reuse its code")
+    void shouldStoreNewGenreOnce() {
+        when(genreRepository.findByName("Drama")).thenReturn(Optional.empty());
+        when(genreRepository.save(any(Genre.class))).thenReturn(new Genre((short) 2, "Drama"));
+
+        assertThat(genreDictionary.intern("Drama")).isEqualTo((short) 2);
+        assertThat(genreDictionary.intern("DRAMA")).isEqualTo((short) 2);
+
+        verify(genreRepository, times(1)).save(any(Genre.class));
+    }
+
+    @Test
+    @DisplayName("Should decode stored codes back to shared genre names")
+    void shouldDecodeGenre() {
+        Movie first = new Movie(1L, "Arrival", null, 116, 7.9, 2016);
+        Movie second = new Movie(2L, "Dune", null, 155, 8.0, 2021);
+        first.setGenreId((short) 1);
+        second.setGenreId((short) 1);
+
+        genreDictionary.decode(first);
+        genreDictionary.decode(second);
+
+        assertThat(first.getGenre()).isEqualTo("Sci-Fi").isSameAs(second.getGenre());
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.movieticket.movieTest;
+
+import com.example.movieticket.movie.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("MovieCatalog Tests")
+class MovieCatalogTest {
+
+    private MovieCatalog catalog;
+
+    @BeforeEach
+    void setUp() {
+        GenreRepository genreRepository = mock(GenreRepository.class);
+        when(genreRepository.findAll()).thenReturn(List.of(
+                new Genre((short) 0, "Sci-Fi"),
+                new Genre((short) 1, "Thriller"),
+                new Genre((short) 2, "Musical")
+        ));
+        catalog = new MovieCatalog(new GenreDictionary(genreRepository));
+        catalog.rebuild(List.of(
+                movie(1L, "The Matrix", (short) 0, 8.7, 1999),
+                movie(2L, "Inception", (short) 1, 8.8, 2010),
+                movie(3L, "Arrival", (short) 0, 7.9, 2016),
+                movie(4L, "Cats", (short) 2, 2.8, 2019)
+        ));
+    }
+
+    private Movie movie(Long id, String title, short genreId, double rating, int releaseYear) {
+        Movie movie = new Movie(id, title, null, 120, rating, releaseYear);
+        movie.setGenreId(genreId);
+        return movie;
+    }
+
+    @Test
+    @DisplayName("Should filter by genre ignoring case")
+    void shouldFilterByGenre() {
+        List<Movie> movies = catalog.query(new MovieFilter("sci-fi", null, null, null, null, MovieSortField.TITLE, null));
+
+        assertThat(movies).extracting(Movie::getTitle).containsExactly("Arrival", "The Matrix");
+    }
+
+    @Test
+    @DisplayName("Should filter by rating and year ranges and sort descending")
+    void shouldFilterByRangesAndSort() {
+        List<Movie> movies = catalog.query(new MovieFilter(null, 7.0, null, 2000, null, MovieSortField.RATING, true));
+
+        assertThat(movies).extracting(Movie::getTitle).containsExactly("Inception", "Arrival");
+    }
+
+    @Test
+    @DisplayName("Should return nothing for an unknown genre")
+    void shouldReturnEmptyForUnknownGenre() {
+        assertThat(catalog.query(new MovieFilter("Western", null, null, null, null, null, null))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should count movies per genre in a single pass")
+    void shouldCountByGenre() {
+        assertThat(catalog.countByGenre(MovieFilter.none()))
+                .containsExactly(entry("Sci-Fi", 2), entry("Musical", 1), entry("Thriller", 1));
+        assertThat(catalog.countByGenre(new MovieFilter(null, 5.0, null, null, null, null, null)))
+                .containsOnlyKeys("Sci-Fi", "Thriller");
+    }
+
+    @Test
+    @DisplayName("Should reflect incremental changes")
+    void shouldReflectIncrementalChanges() {
+        catalog.remove(4L);
+        catalog.put(movie(5L, "Dune", (short) 0, 8.0, 2021));
+
+        assertThat(catalog.query(new MovieFilter(null, null, null, 2019, null, MovieSortField.RELEASE_YEAR, null)))
+                .extracting(Movie::getTitle).containsExactly("Dune");
+    }
+
+    @Test
+    @DisplayName("Should resolve ids by title across renames and removals")
+    void shouldResolveIdsByTitle() {
+        catalog.put(movie(1L, "The Matrix Reloaded", (short) 0, 7.2, 2003));
+        catalog.remove(2L);
+
+        assertThat(catalog.idOf("The Matrix Reloaded")).contains(1L);
+        assertThat(catalog.idOf("The Matrix")).isEmpty();
+        assertThat(catalog.idOf("Inception")).isEmpty();
+        assertThat(catalog.idOf("Arrival")).contains(3L);
+    }
+}
@@ -16,6 +16,7 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -120,7 +121,7 @@ class MovieControllerTest {
         @Test
         void shouldReturnAllMovies() throws Exception {
             Movie movie2 = new Movie(2L, "Inception", "Thriller", 148, 8.0, 2010);
-            when(movieService.getMovies()).thenReturn(Arrays.asList(testMovie, movie2));
+            when(movieService.getMovies(any(MovieFilter.class))).thenReturn(Arrays.asList(testMovie, movie2));
 
             mockMvc.perform(get("/movies/all"))
                     .andDo(print())
@@ -128,18 +129,74 @@ class MovieControllerTest {
                     .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
                     .andExpect(jsonPath("$", hasSize(2)));
 
-            verify(movieService).getMovies();
+            verify(movieService).getMovies(MovieFilter.none());
         }
 
         @Test
         void shouldReturnEmptyList() throws Exception {
-            when(movieService.getMovies()).thenReturn(List.of());
+            when(movieService.getMovies(any(MovieFilter.class))).thenReturn(List.of());
 
             mockMvc.perform(get("/movies/all"))
                     .andExpect(status().isOk())
                     .andExpect(jsonPath("$", hasSize(0)));
 
-            verify(movieService).getMovies();
+            verify(movieService).getMovies(MovieFilter.none());
+        }
+
+        @Test
+        void shouldBindFilterAndSortParameters() throws Exception {
+            when(movieService.getMovies(any(MovieFilter.class))).thenReturn(List.of(testMovie));
+
+            mockMvc.perform(get("/movies/all")
+                            .param("genre", "Sci-Fi")
+                            .param("minRating", "7.5")
+                            .param("fromYear", "1990")
+                            .param("sort", "RATING")
+                            .param("descending", "true"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(1)));
+
+            verify(movieService).getMovies(new MovieFilter("Sci-Fi", 7.5, null, 1990, null, MovieSortField.RATING, true));
+        }
+
+        @Test
+        void shouldReturnGenreFacets() throws Exception {
+            when(movieService.countMoviesByGenre(any(MovieFilter.class))).thenReturn(Map.of("Sci-Fi", 3));
+
+            mockMvc.perform(get("/movies/facets/genre").param("minRating", "5"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$['Sci-Fi']", is(3)));
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /movies/search")
+    class SearchMoviesTests {
+
+        @Test
+        void shouldReturnMatchingTitles() throws Exception {
+            when(movieService.searchTitles("the m", MovieSearchMode.PREFIX, 10))
+                    .thenReturn(List.of("The Matrix", "The Matrix Reloaded"));
+
+            mockMvc.perform(get("/movies/search").param("q", "the m"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(2)))
+                    .andExpect(jsonPath("$[0]", is("The Matrix")));
+
+            verify(movieService).searchTitles("the m", MovieSearchMode.PREFIX, 10);
+        }
+
+        @Test
+        void shouldPassSearchModeAndLimit() throws Exception {
+            when(movieService.searchTitles("atri", MovieSearchMode.CONTAINS, 5))
+                    .thenReturn(List.of("The Matrix"));
+
+            mockMvc.perform(get("/movies/search")
+                            .param("q", "atri")
+                            .param("mode", "CONTAINS")
+                            .param("limit", "5"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(1)));
         }
     }
 
@@ -8,6 +8,8 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
 
 import java.util.List;
 import java.util.Optional;
@@ -108,6 +110,52 @@ class MovieRepositoryTest {
         assertThat(movieRepository.findByTitle(title)).isEmpty();
     }
 
+    @Test
+    @DisplayName("Should update a movie by title in one statement")
+    void testUpdateByTitle() {
+        Movie savedMovie = movieRepository.save(defaultMovie);
+
+        int updated = movieRepository.updateByTitle("Test Movie", "Renamed Movie", null, 130, 9.0, 2024);
+
+        assertThat(updated).isEqualTo(1);
+        assertThat(movieRepository.findIdByTitle("Renamed Movie")).contains(savedMovie.getId());
+        assertThat(movieRepository.updateByTitle("Test Movie", "Other", null, 130, 9.0, 2024)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should delete a movie by title in one statement")
+    void testDeleteByTitle() {
+        movieRepository.save(defaultMovie);
+
+        assertThat(movieRepository.deleteByTitle("Test Movie")).isEqualTo(1);
+        assertThat(movieRepository.deleteByTitle("Test Movie")).isZero();
+        assertThat(movieRepository.findIdByTitle("Test Movie")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should reject a second movie with the same title")
+    void testTitleIsUnique() {
+        movieRepository.saveAndFlush(defaultMovie);
+
+        assertThatThrownBy(() -> movieRepository.saveAndFlush(createMovie("Test Movie", "Drama", 100, 6.0, 2021)))
+                .isInstanceOf(DataIntegrityViolationException.class)
+                .satisfies(e -> assertThat(((DataIntegrityViolationException) e).getMostSpecificCause().getMessage())
+                        .containsIgnoringCase(Movie.TITLE_CONSTRAINT));
+    }
+
+    @Test
+    @DisplayName("Should order filtered titles case-insensitively when asked to ignore case")
+    void testFindFilteredIgnoresTitleCase() {
+        movieRepository.save(createMovie("banana", "Action", 100, 6.0, 2020));
+        movieRepository.save(createMovie("Apple", "Action", 100, 6.0, 2020));
+        movieRepository.save(createMovie("cherry", "Action", 100, 6.0, 2020));
+
+        List<Movie> movies = movieRepository.findFiltered(null, null, null, null, null,
+                Sort.by(Sort.Order.asc("title").ignoreCase()));
+
+        assertThat(movies).extracting(Movie::getTitle).containsExactly("Apple", "banana", "cherry");
+    }
+
     @Test
     @DisplayName("Should handle invalid movie data")
     void testInvalidMovie() {
@@ -0,0 +1,82 @@
+package com.example.movieticket.movieTest;
+
+import com.example.movieticket.movie.Movie;
+import com.example.movieticket.movie.MovieSearchIndex;
+import com.example.movieticket.movie.MovieSearchMode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("MovieSearchIndex Tests")
+class MovieSearchIndexTest {
+
+    private MovieSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new MovieSearchIndex();
+        index.rebuild(List.of(
+                movie(1L, "The Matrix"),
+                movie(2L, "The Matrix Reloaded"),
+                movie(3L, "Inception"),
+                movie(4L, "The Dark Knight")
+        ));
+    }
+
+    private Movie movie(Long id, String title) {
+        return new Movie(id, title, "Action", 120, 8.0, 2000);
+    }
+
+    @Test
+    @DisplayName("Should return titles starting with the prefix in sorted order")
+    void shouldFindByPrefix() {
+        assertThat(index.search("the M", MovieSearchMode.PREFIX, 10))
+                .containsExactly("The Matrix", "The Matrix Reloaded");
+    }
+
+    @Test
+    @DisplayName("Should respect the result limit")
+    void shouldRespectLimit() {
+        assertThat(index.search("the", MovieSearchMode.PREFIX, 2)).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Should find titles containing the fragment")
+    void shouldFindBySubstring() {
+        assertThat(index.search("knig", MovieSearchMode.CONTAINS, 10))
+                .containsExactly("The Dark Knight");
+        assertThat(index.search("ception", MovieSearchMode.CONTAINS, 10))
+                .containsExactly("Inception");
+    }
+
+    @Test
+    @DisplayName("Should sort every substring match before applying the limit")
+    void shouldSortSubstringMatchesBeforeLimit() {
+        index.put(movie(9L, "Another Theory"));
+
+        assertThat(index.search("the", MovieSearchMode.CONTAINS, 2))
+                .containsExactly("Another Theory", "The Dark Knight");
+    }
+
+    @Test
+    @DisplayName("Should tolerate typos in fuzzy mode")
+    void shouldFindBySimilarity() {
+        assertThat(index.search("inceptoin", MovieSearchMode.FUZZY, 10))
+                .containsExactly("Inception");
+    }
+
+    @Test
+    @DisplayName("Should reflect updates and removals")
+    void shouldApplyIncrementalChanges() {
+        index.put(movie(3L, "Interstellar"));
+        index.remove(4L);
+
+        assertThat(index.search("inc", MovieSearchMode.PREFIX, 10)).isEmpty();
+        assertThat(index.search("inter", MovieSearchMode.PREFIX, 10)).containsExactly("Interstellar");
+        assertThat(index.search("dark", MovieSearchMode.CONTAINS, 10)).isEmpty();
+    }
+}
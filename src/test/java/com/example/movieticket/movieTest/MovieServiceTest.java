@@ -1,16 +1,22 @@
 package com.example.movieticket.movieTest;
 
 
+import com.example.movieticket.cache.CacheInvalidationBus;
+import com.example.movieticket.cache.CacheRegion;
 import com.example.movieticket.exception.ResourceNotFoundException;
+import com.example.movieticket.exception.ValidationException;
 import com.example.movieticket.movie.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import java.util.Arrays;
 import java.util.List;
@@ -18,6 +24,8 @@ import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,6 +35,21 @@ class MovieServiceTest {
     @Mock
     private MovieRepository movieRepository;
 
+    @Mock
+    private MovieSearchIndex movieSearchIndex;
+
+    @Mock
+    private MovieCatalog movieCatalog;
+
+    @Mock
+    private GenreDictionary genreDictionary;
+
+    @Mock
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private MovieService movieService;
 
@@ -81,6 +104,30 @@ class MovieServiceTest {
                             movie.getDuration() == 136
             ));
         }
+
+        @Test
+        @DisplayName("Should encode the genre before saving")
+        void shouldEncodeGenreBeforeSave() {
+            when(movieRepository.save(testMovie)).thenReturn(testMovie);
+
+            movieService.addMovie(testMovie);
+
+            InOrder inOrder = inOrder(genreDictionary, movieRepository);
+            inOrder.verify(genreDictionary).encode(testMovie);
+            inOrder.verify(movieRepository).save(testMovie);
+        }
+
+        @Test
+        @DisplayName("Should throw ValidationException when the title is already taken")
+        void shouldRejectDuplicateTitle() {
+            when(movieRepository.save(testMovie))
+                    .thenThrow(new DataIntegrityViolationException("Unique index or primary key violation: \"PUBLIC.UK_MOVIE_TITLE\""));
+
+            assertThatThrownBy(() -> movieService.addMovie(testMovie))
+                    .isInstanceOf(ValidationException.class)
+                    .hasMessageContaining("Movie with title The Matrix already exists.");
+            verifyNoInteractions(movieSearchIndex, cacheInvalidationBus);
+        }
     }
 
     @Nested
@@ -113,6 +160,65 @@ class MovieServiceTest {
             assertThat(actualMovies).isEmpty();
             verify(movieRepository, times(1)).findAll();
         }
+
+        @Test
+        @DisplayName("Should serve filtered listings from the in-memory catalog once loaded")
+        void shouldUseCatalogForFilteredListings() {
+            MovieFilter filter = new MovieFilter("Sci-Fi", 7.0, null, null, null, MovieSortField.RATING, true);
+            when(movieCatalog.isLoaded()).thenReturn(true);
+            when(movieCatalog.query(filter)).thenReturn(List.of(testMovie));
+
+            List<Movie> actualMovies = movieService.getMovies(filter);
+
+            assertThat(actualMovies).containsExactly(testMovie);
+            verifyNoInteractions(movieRepository);
+        }
+
+        @Test
+        @DisplayName("Should fall back to the indexed database query before the catalog is loaded")
+        void shouldFallBackToDatabaseQuery() {
+            MovieFilter filter = new MovieFilter("Sci-Fi", null, null, 1990, 2000, null, null);
+            when(movieCatalog.isLoaded()).thenReturn(false);
+            when(genreDictionary.codeOf("Sci-Fi")).thenReturn(Optional.of((short) 3));
+            when(movieRepository.findFiltered(eq((short) 3), isNull(), isNull(), eq(1990), eq(2000), any()))
+                    .thenReturn(List.of(testMovie));
+
+            List<Movie> actualMovies = movieService.getMovies(filter);
+
+            assertThat(actualMovies).containsExactly(testMovie);
+            verify(movieCatalog, never()).query(any());
+        }
+
+        @Test
+        @DisplayName("Should ask the database fallback to order titles ignoring case, like the catalog")
+        void shouldSortDatabaseTitlesIgnoringCase() {
+            MovieFilter filter = new MovieFilter(null, null, null, null, 2000, MovieSortField.TITLE, false);
+            when(movieCatalog.isLoaded()).thenReturn(false);
+            when(movieRepository.findFiltered(isNull(), isNull(), isNull(), isNull(), eq(2000),
+                    argThat(sort -> sort.getOrderFor("title") != null && sort.getOrderFor("title").isIgnoreCase())))
+                    .thenReturn(List.of(testMovie));
+
+            assertThat(movieService.getMovies(filter)).containsExactly(testMovie);
+        }
+
+        @Test
+        @DisplayName("Should not query the database for an unknown genre")
+        void shouldSkipDatabaseForUnknownGenre() {
+            when(movieCatalog.isLoaded()).thenReturn(false);
+            when(genreDictionary.codeOf("Western")).thenReturn(Optional.empty());
+
+            assertThat(movieService.getMovies(new MovieFilter("Western", null, null, null, null, null, null))).isEmpty();
+            verifyNoInteractions(movieRepository);
+        }
+
+        @Test
+        @DisplayName("Should use plain findAll when no filter is given")
+        void shouldUseFindAllWithoutFilter() {
+            when(movieRepository.findAll()).thenReturn(List.of(testMovie));
+
+            assertThat(movieService.getMovies(MovieFilter.none())).containsExactly(testMovie);
+            verifyNoInteractions(movieCatalog);
+        }
     }
 
     @Nested
@@ -153,48 +259,58 @@ class MovieServiceTest {
         @Test
         @DisplayName("Should update movie successfully when valid title and details provided")
         void shouldUpdateMovieWhenValidTitleAndDetailsProvided() {
-            when(movieRepository.findByTitle("The Matrix")).thenReturn(Optional.of(testMovie));
-            when(movieRepository.save(any(Movie.class))).thenReturn(updatedMovie);
+            when(movieRepository.findIdByTitle("The Matrix")).thenReturn(Optional.of(1L));
+            when(movieRepository.updateByTitle(eq("The Matrix"), eq("The Matrix Reloaded"), any(), eq(138), eq(7.0), eq(2003)))
+                    .thenReturn(1);
 
             Movie result = movieService.updateMovie("The Matrix", updatedMovie);
 
             assertThat(result).isNotNull();
             assertThat(result.getTitle()).isEqualTo("The Matrix Reloaded");
-            verify(movieRepository, times(1)).findByTitle("The Matrix");
-            verify(movieRepository, times(1)).save(any(Movie.class));
+            assertThat(result.getId()).isEqualTo(1L);
+            verify(movieRepository, never()).findByTitle(any());
+            verify(movieRepository, never()).save(any(Movie.class));
         }
 
         @Test
         @DisplayName("Should throw ResourceNotFoundException when updating non-existent movie")
         void shouldThrowResourceNotFoundExceptionWhenUpdatingNonExistentMovie() {
             String nonExistentTitle = "NOT EXISTING MOVIE";
-            when(movieRepository.findByTitle(nonExistentTitle)).thenReturn(Optional.empty());
+            when(movieRepository.findIdByTitle(nonExistentTitle)).thenReturn(Optional.empty());
+            when(movieRepository.updateByTitle(eq(nonExistentTitle), any(), any(), any(), any(), any())).thenReturn(0);
 
             assertThatThrownBy(() -> movieService.updateMovie(nonExistentTitle, updatedMovie))
                     .isInstanceOf(ResourceNotFoundException.class)
                     .hasMessageContaining("ERROR: Movie with title "+ nonExistentTitle +" does not exist.");
-            verify(movieRepository, times(1)).findByTitle(nonExistentTitle);
-            verify(movieRepository, never()).save(any(Movie.class));
+            verifyNoInteractions(movieSearchIndex, cacheInvalidationBus);
         }
 
         @Test
-        @DisplayName("Should create new Movie object with updated details")
-        void shouldCreateNewMovieObjectWithUpdatedDetails() {
-            when(movieRepository.findByTitle("The Matrix")).thenReturn(Optional.of(testMovie));
-            when(movieRepository.save(any(Movie.class))).thenReturn(updatedMovie);
+        @DisplayName("Should take the id from the loaded catalog instead of querying it")
+        void shouldResolveIdFromCatalog() {
+            when(movieCatalog.idOf("The Matrix")).thenReturn(Optional.of(1L));
+            when(movieRepository.updateByTitle(eq("The Matrix"), any(), any(), any(), any(), any())).thenReturn(1);
 
             movieService.updateMovie("The Matrix", updatedMovie);
 
-            verify(movieRepository).save(argThat(movie ->
-                    movie.getId().equals(1L) &&
-                            movie.getTitle().equals("The Matrix Reloaded") &&
-                            movie.getGenre().equals("Action") &&
-                            movie.getDuration() == 138 &&
-                            movie.getRating() == 7.0 &&
-                            movie.getReleaseYear() == 2003
-            ));
+            verify(movieRepository, never()).findIdByTitle(any());
+            verify(movieCatalog).put(updatedMovie);
+            verify(movieSearchIndex).put(updatedMovie);
+            verify(cacheInvalidationBus).publish(CacheRegion.MOVIE, 1L);
         }
 
+        @Test
+        @DisplayName("Should throw ValidationException when renaming onto an existing title")
+        void shouldRejectRenameOntoExistingTitle() {
+            when(movieRepository.findIdByTitle("The Matrix")).thenReturn(Optional.of(1L));
+            when(movieRepository.updateByTitle(eq("The Matrix"), any(), any(), any(), any(), any()))
+                    .thenThrow(new DataIntegrityViolationException("Unique index or primary key violation: \"PUBLIC.UK_MOVIE_TITLE\""));
+
+            assertThatThrownBy(() -> movieService.updateMovie("The Matrix", updatedMovie))
+                    .isInstanceOf(ValidationException.class)
+                    .hasMessageContaining("already exists");
+            verifyNoInteractions(movieSearchIndex, cacheInvalidationBus);
+        }
     }
 
     @Nested
@@ -204,26 +320,114 @@ class MovieServiceTest {
         @Test
         @DisplayName("Should delete movie successfully when valid title provided")
         void shouldDeleteMovieWhenValidTitleProvided() {
-            when(movieRepository.findByTitle("The Matrix")).thenReturn(Optional.of(testMovie));
-            doNothing().when(movieRepository).delete(testMovie);
+            when(movieRepository.findIdByTitle("The Matrix")).thenReturn(Optional.of(1L));
+            when(movieRepository.deleteByTitle("The Matrix")).thenReturn(1);
 
             movieService.deleteMovie("The Matrix");
 
-            verify(movieRepository, times(1)).findByTitle("The Matrix");
-            verify(movieRepository, times(1)).delete(testMovie);
+            verify(movieRepository, times(1)).deleteByTitle("The Matrix");
+            verify(movieRepository, never()).delete(any(Movie.class));
         }
 
         @Test
         @DisplayName("Should throw ResourceNotFoundException when deleting non-existent movie")
         void shouldThrowResourceNotFoundException_WhenDeletingNonExistentMovie() {
             String nonExistentTitle = "NOT EXISTING MOVIE";
-            when(movieRepository.findByTitle(nonExistentTitle)).thenReturn(Optional.empty());
+            when(movieRepository.findIdByTitle(nonExistentTitle)).thenReturn(Optional.empty());
+            when(movieRepository.deleteByTitle(nonExistentTitle)).thenReturn(0);
 
             assertThatThrownBy(() -> movieService.deleteMovie(nonExistentTitle))
                     .isInstanceOf(ResourceNotFoundException.class)
                     .hasMessageContaining("ERROR: Movie with title "+ nonExistentTitle +" does not exist.");
-            verify(movieRepository, times(1)).findByTitle(nonExistentTitle);
-            verify(movieRepository, never()).delete(any(Movie.class));
+            verifyNoInteractions(movieSearchIndex, cacheInvalidationBus);
+        }
+    }
+
+    @Nested
+    @DisplayName("Search index Tests")
+    class SearchIndexTests {
+
+        @Test
+        @DisplayName("Should index a movie after it is saved")
+        void shouldIndexMovieAfterSave() {
+            when(movieRepository.save(testMovie)).thenReturn(testMovie);
+
+            movieService.addMovie(testMovie);
+
+            verify(movieSearchIndex, times(1)).put(testMovie);
+        }
+
+        @Test
+        @DisplayName("Should remove a deleted movie from the index")
+        void shouldRemoveDeletedMovieFromIndex() {
+            when(movieRepository.findIdByTitle("The Matrix")).thenReturn(Optional.of(1L));
+            when(movieRepository.deleteByTitle("The Matrix")).thenReturn(1);
+
+            movieService.deleteMovie("The Matrix");
+
+            verify(movieSearchIndex, times(1)).remove(1L);
+        }
+
+        @Test
+        @DisplayName("Should clamp the search limit before querying the index")
+        void shouldClampSearchLimit() {
+            when(movieSearchIndex.search("mat", MovieSearchMode.PREFIX, 50)).thenReturn(List.of("The Matrix"));
+
+            List<String> titles = movieService.searchTitles("mat", MovieSearchMode.PREFIX, 1000);
+
+            assertThat(titles).containsExactly("The Matrix");
+            verifyNoMoreInteractions(movieRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("Cache invalidation Tests")
+    class CacheInvalidationTests {
+
+        @Test
+        @DisplayName("Should tell other nodes about a deleted movie")
+        void shouldPublishDeletedMovie() {
+            when(movieRepository.findIdByTitle("The Matrix")).thenReturn(Optional.of(1L));
+            when(movieRepository.deleteByTitle("The Matrix")).thenReturn(1);
+
+            movieService.deleteMovie("The Matrix");
+
+            verify(cacheInvalidationBus).publish(CacheRegion.MOVIE, 1L);
+        }
+
+        @Test
+        @DisplayName("Should announce a deleted movie so its showtimes and tickets are purged")
+        void shouldPublishMovieDeletedEvent() {
+            when(movieRepository.findIdByTitle("The Matrix")).thenReturn(Optional.of(1L));
+            when(movieRepository.deleteByTitle("The Matrix")).thenReturn(1);
+
+            movieService.deleteMovie("The Matrix");
+
+            verify(eventPublisher).publishEvent(new MovieDeletedEvent(1L));
+        }
+
+        @Test
+        @DisplayName("Should reload a movie changed on another node")
+        void shouldReloadChangedMovie() {
+            when(movieRepository.findById(1L)).thenReturn(Optional.of(testMovie));
+
+            movieService.invalidate("1");
+
+            verify(genreDictionary).decode(testMovie);
+            verify(movieSearchIndex).put(testMovie);
+            verify(movieCatalog).put(testMovie);
+        }
+
+        @Test
+        @DisplayName("Should drop a movie deleted on another node")
+        void shouldDropDeletedMovie() {
+            when(movieRepository.findById(1L)).thenReturn(Optional.empty());
+
+            movieService.invalidate("1");
+
+            verify(movieSearchIndex).remove(1L);
+            verify(movieCatalog).remove(1L);
+            verifyNoInteractions(cacheInvalidationBus);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,70 @@
+package com.example.movieticket.reportTest;
+
+import com.example.movieticket.exception.GlobalExceptionHandler;
+import com.example.movieticket.report.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SalesReportController Tests")
+class SalesReportControllerTest {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private SalesReportService salesReportService;
+
+    @InjectMocks
+    private SalesReportController salesReportController;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(salesReportController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should return grouped sales for the requested date range")
+    void shouldReturnGroupedSales() throws Exception {
+        LocalDate from = LocalDate.of(2026, 3, 1);
+        LocalDate to = LocalDate.of(2026, 3, 31);
+        when(salesReportService.getReport(SalesGrouping.DAY, from, to))
+                .thenReturn(List.of(new SalesReportRow("2026-03-14", 2L, 2470L)));
+
+        mockMvc.perform(get("/reports/sales")
+                        .param("groupBy", "DAY")
+                        .param("from", "2026-03-01")
+                        .param("to", "2026-03-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].group", is("2026-03-14")))
+                .andExpect(jsonPath("$[0].ticketsSold", is(2)))
+                .andExpect(jsonPath("$[0].revenueCents", is(2470)));
+    }
+
+    @Test
+    @DisplayName("Should report the number of tickets scanned by a rebuild")
+    void shouldRebuild() throws Exception {
+        when(salesReportService.rebuild()).thenReturn(42L);
+
+        mockMvc.perform(post("/reports/sales/rebuild"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ticketsScanned", is(42)));
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.movieticket.reportTest;
+
+import com.example.movieticket.movie.MovieDeletedEvent;
+import com.example.movieticket.report.*;
+import com.example.movieticket.showtime.Showtime;
+import com.example.movieticket.showtime.ShowtimeDeletedEvent;
+import com.example.movieticket.showtime.ShowtimeRepository;
+import com.example.movieticket.ticket.Ticket;
+import com.example.movieticket.ticket.TicketBookedEvent;
+import com.example.movieticket.ticket.TicketCancelledEvent;
+import com.example.movieticket.ticket.TicketRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SalesReportService Tests")
+class SalesReportServiceTest {
+
+    @Mock
+    private SalesAggregateRepository salesAggregateRepository;
+
+    @Mock
+    private ShowtimeRepository showtimeRepository;
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private SalesReportService salesReportService;
+
+    private Showtime showtime;
+    private LocalDate showDate;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime start = LocalDateTime.of(2026, 3, 14, 19, 0);
+        showDate = start.toLocalDate();
+        showtime = new Showtime(1L, 7L, "Theater A", start, start.plusHours(2), 12.35);
+    }
+
+    private TicketBookedEvent bookedEvent() {
+        return new TicketBookedEvent(UUID.randomUUID(), 1L, 5, UUID.randomUUID());
+    }
+
+    @Nested
+    @DisplayName("onTicketBooked() Tests")
+    class OnTicketBookedTests {
+
+        @Test
+        @DisplayName("Should add the ticket price in cents to an existing bucket")
+        void shouldAddToExistingBucket() {
+            when(showtimeRepository.findById(1L)).thenReturn(Optional.of(showtime));
+            when(salesAggregateRepository.addSales(7L, "Theater A", showDate, 1, 1235)).thenReturn(1);
+
+            salesReportService.onTicketBooked(bookedEvent());
+
+            verify(salesAggregateRepository, never()).insertIfMissing(anyLong(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Should create a missing bucket and then add to it")
+        void shouldCreateMissingBucket() {
+            when(showtimeRepository.findById(1L)).thenReturn(Optional.of(showtime));
+            when(salesAggregateRepository.addSales(7L, "Theater A", showDate, 1, 1235)).thenReturn(0, 1);
+
+            salesReportService.onTicketBooked(bookedEvent());
+
+            verify(salesAggregateRepository).insertIfMissing(7L, "Theater A", showDate);
+            verify(salesAggregateRepository, times(2)).addSales(7L, "Theater A", showDate, 1, 1235);
+        }
+
+        @Test
+        @DisplayName("Should subtract a cancelled ticket without creating a bucket")
+        void shouldSubtractCancelledTicket() {
+            when(showtimeRepository.findById(1L)).thenReturn(Optional.of(showtime));
+            when(salesAggregateRepository.addSales(7L, "Theater A", showDate, -1, -1235)).thenReturn(0);
+
+            salesReportService.onTicketCancelled(new TicketCancelledEvent(UUID.randomUUID(), 1L, 5, UUID.randomUUID()));
+
+            verify(salesAggregateRepository, never()).insertIfMissing(anyLong(), any(), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Deletion Tests")
+    class DeletionTests {
+
+        @Test
+        @DisplayName("Should take a deleted showtime's sales back out of its bucket")
+        void shouldSubtractDeletedShowtimeSales() {
+            when(salesAggregateRepository.addSales(7L, "Theater A", showDate, -3, -3705)).thenReturn(1);
+
+            salesReportService.onShowtimeDeleted(new ShowtimeDeletedEvent(1L, showtime, 3));
+
+            verify(salesAggregateRepository).addSales(7L, "Theater A", showDate, -3, -3705);
+        }
+
+        @Test
+        @DisplayName("Should leave the buckets alone when the deleted showtime sold nothing")
+        void shouldIgnoreUnsoldShowtime() {
+            salesReportService.onShowtimeDeleted(new ShowtimeDeletedEvent(1L, showtime, 0));
+
+            verifyNoInteractions(salesAggregateRepository);
+        }
+
+        @Test
+        @DisplayName("Should drop every bucket of a deleted movie")
+        void shouldDropDeletedMovieBuckets() {
+            salesReportService.onMovieDeleted(new MovieDeletedEvent(7L));
+
+            verify(salesAggregateRepository).deleteByMovieId(7L);
+        }
+    }
+
+    @Nested
+    @DisplayName("rebuild() Tests")
+    class RebuildTests {
+
+        @Test
+        @DisplayName("Should scan tickets in id-ordered batches and replace all buckets")
+        @SuppressWarnings("unchecked")
+        void shouldRebuildFromTicketBatches() {
+            Ticket first = new Ticket(UUID.fromString("00000000-0000-0000-0000-000000000001"), 1L, 1, UUID.randomUUID());
+            Ticket second = new Ticket(UUID.fromString("00000000-0000-0000-0000-000000000002"), 1L, 2, UUID.randomUUID());
+            when(ticketRepository.findByOrderByIdAsc(any(Pageable.class))).thenReturn(List.of(first, second));
+            when(ticketRepository.findByIdGreaterThanOrderByIdAsc(eq(second.getId()), any(Pageable.class))).thenReturn(List.of());
+            when(showtimeRepository.findById(1L)).thenReturn(Optional.of(showtime));
+            when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                    ((TransactionCallback<Object>) invocation.getArgument(0)).doInTransaction(null));
+
+            long scanned = salesReportService.rebuild();
+
+            assertThat(scanned).isEqualTo(2);
+            verify(showtimeRepository, times(1)).findById(1L);
+            verify(salesAggregateRepository).deleteAllInBatch();
+            ArgumentCaptor<List<SalesAggregate>> saved = ArgumentCaptor.forClass(List.class);
+            verify(salesAggregateRepository).saveAll(saved.capture());
+            assertThat(saved.getValue()).singleElement()
+                    .satisfies(aggregate -> {
+                        assertThat(aggregate.getTicketsSold()).isEqualTo(2L);
+                        assertThat(aggregate.getRevenueCents()).isEqualTo(2470L);
+                        assertThat(aggregate.getSalesDate()).isEqualTo(showDate);
+                    });
+        }
+    }
+
+    @Test
+    @DisplayName("Should delegate report grouping to the matching aggregate query")
+    void shouldDelegateGrouping() {
+        LocalDate from = LocalDate.of(2026, 1, 1);
+        LocalDate to = LocalDate.of(2026, 12, 31);
+        List<SalesReportRow> rows = List.of(new SalesReportRow("Theater A", 2L, 2470L));
+        when(salesAggregateRepository.sumByTheater(from, to)).thenReturn(rows);
+
+        assertThat(salesReportService.getReport(SalesGrouping.THEATER, from, to)).isEqualTo(rows);
+    }
+}
@@ -3,6 +3,7 @@ package com.example.movieticket.showtimeTest;
 import com.example.movieticket.exception.GlobalExceptionHandler;
 import com.example.movieticket.showtime.*;
 
+import com.example.movieticket.exception.ConflictException;
 import com.example.movieticket.exception.ResourceNotFoundException;
 import com.example.movieticket.exception.ValidationException;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -39,6 +40,9 @@ class ShowtimeControllerTest {
     @Mock
     private ShowtimeService showtimeService;
 
+    @Mock
+    private ShowtimeOccupancyService showtimeOccupancyService;
+
     @InjectMocks
     private ShowtimeController showtimeController;
 
@@ -205,7 +209,7 @@ class ShowtimeControllerTest {
         @Test
         @DisplayName("Should return showtime with 200 OK when valid id provided")
         void shouldReturnShowtimeWithStatus200() throws Exception {
-             when(showtimeService.getShowtimeById(1L)).thenReturn(testShowtime);
+             when(showtimeService.getShowtimeView(1L)).thenReturn(view(testShowtime));
 
 
             mockMvc.perform(get("/showtimes/1")
@@ -217,14 +221,14 @@ class ShowtimeControllerTest {
                     .andExpect(jsonPath("$.theater", is("Theater A")))
                     .andExpect(jsonPath("$.price", is(12.50)));
 
-            verify(showtimeService, times(1)).getShowtimeById(1L);
+            verify(showtimeService, times(1)).getShowtimeView(1L);
         }
 
         @Test
         @DisplayName("Should return 404 NOT FOUND when showtime does not exist")
         void shouldReturn404NotFoundWhenShowtimeDoesNotExist() throws Exception {
              Long nonExistentId = 999L;
-            when(showtimeService.getShowtimeById(nonExistentId))
+            when(showtimeService.getShowtimeView(nonExistentId))
                     .thenThrow(new ResourceNotFoundException("ERROR: Showtime with id " + nonExistentId + " does not exist."));
 
 
@@ -233,7 +237,7 @@ class ShowtimeControllerTest {
                     .andDo(print())
                     .andExpect(status().isNotFound());
 
-            verify(showtimeService, times(1)).getShowtimeById(nonExistentId);
+            verify(showtimeService, times(1)).getShowtimeView(nonExistentId);
         }
 
         @Test
@@ -248,7 +252,7 @@ class ShowtimeControllerTest {
                     LocalDateTime.of(2024, 1, 20, 17, 0),
                     10.00
             );
-            when(showtimeService.getShowtimeById(showtimeId)).thenReturn(differentShowtime);
+            when(showtimeService.getShowtimeView(showtimeId)).thenReturn(view(differentShowtime));
 
 
             mockMvc.perform(get("/showtimes/" + showtimeId)
@@ -259,13 +263,13 @@ class ShowtimeControllerTest {
                     .andExpect(jsonPath("$.movieId", is(3)))
                     .andExpect(jsonPath("$.theater", is("Theater D")));
 
-            verify(showtimeService, times(1)).getShowtimeById(42L);
+            verify(showtimeService, times(1)).getShowtimeView(42L);
         }
 
         @Test
         @DisplayName("Should return correct content type")
         void shouldReturnCorrectContentType() throws Exception {
-             when(showtimeService.getShowtimeById(1L)).thenReturn(testShowtime);
+             when(showtimeService.getShowtimeView(1L)).thenReturn(view(testShowtime));
 
 
             mockMvc.perform(get("/showtimes/1"))
@@ -273,7 +277,7 @@ class ShowtimeControllerTest {
                     .andExpect(status().isOk())
                     .andExpect(content().contentType(MediaType.APPLICATION_JSON));
 
-            verify(showtimeService, times(1)).getShowtimeById(1L);
+            verify(showtimeService, times(1)).getShowtimeView(1L);
         }
     }
 
@@ -358,6 +362,31 @@ class ShowtimeControllerTest {
             verify(showtimeService, times(1)).updateShowtime(eq(1L), any(Showtime.class));
         }
 
+        @Test
+        @DisplayName("Should return 409 CONFLICT when the showtime was changed concurrently")
+        void shouldReturn409ConflictWhenVersionIsStale() throws Exception {
+            when(showtimeService.updateShowtime(eq(1L), any(Showtime.class)))
+                    .thenThrow(new ConflictException("Showtime with id 1 was changed by someone else, reload it and try again."));
+
+            mockMvc.perform(put("/showtimes/update/1")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(updatedShowtime)))
+                    .andExpect(status().isConflict())
+                    .andExpect(jsonPath("$.error", is("Conflict Error")));
+        }
+
+        @Test
+        @DisplayName("Should return 400 BAD REQUEST when the version is missing")
+        void shouldReturn400BadRequestWhenVersionIsMissing() throws Exception {
+            when(showtimeService.updateShowtime(eq(1L), any(Showtime.class)))
+                    .thenThrow(new ValidationException("Version is required to update a showtime, reload it and try again."));
+
+            mockMvc.perform(put("/showtimes/update/1")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(updatedShowtime)))
+                    .andExpect(status().isBadRequest());
+        }
+
         @Test
         @DisplayName("Should handle path variable correctly")
         void shouldHandlePathVariableCorrectly() throws Exception {
@@ -468,4 +497,36 @@ class ShowtimeControllerTest {
         }
     }
 
-}
\ No newline at end of file
+    @Nested
+    @DisplayName("GET /showtimes/{id}/occupancy")
+    class GetOccupancyTests {
+
+        @Test
+        @DisplayName("Should return sold and available seat counts")
+        void shouldReturnOccupancy() throws Exception {
+            when(showtimeOccupancyService.getOccupancy(1L)).thenReturn(Occupancy.of(1L, 100, 40));
+
+            mockMvc.perform(get("/showtimes/1/occupancy"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.capacity", is(100)))
+                    .andExpect(jsonPath("$.soldSeats", is(40)))
+                    .andExpect(jsonPath("$.availableSeats", is(60)))
+                    .andExpect(jsonPath("$.soldOut", is(false)));
+        }
+
+        @Test
+        @DisplayName("Should return 404 when showtime does not exist")
+        void shouldReturn404WhenShowtimeMissing() throws Exception {
+            when(showtimeOccupancyService.getOccupancy(999L))
+                    .thenThrow(new ResourceNotFoundException("ERROR: Showtime with id 999 does not exist."));
+
+            mockMvc.perform(get("/showtimes/999/occupancy"))
+                    .andExpect(status().isNotFound());
+        }
+    }
+
+    private static ShowtimeView view(Showtime showtime) {
+        return new ShowtimeView(showtime.getId(), showtime.getMovieId(), showtime.getTheater(),
+                showtime.getStartTime(), showtime.getEndTime(), showtime.getPrice(), showtime.getVersion());
+    }
+}
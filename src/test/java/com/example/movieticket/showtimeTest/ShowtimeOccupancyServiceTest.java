@@ -0,0 +1,136 @@
+package com.example.movieticket.showtimeTest;
+
+import com.example.movieticket.exception.ResourceNotFoundException;
+import com.example.movieticket.exception.ValidationException;
+import com.example.movieticket.showtime.*;
+import com.example.movieticket.theater.SeatLayout;
+import com.example.movieticket.theater.TheaterService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ShowtimeOccupancyService Tests")
+class ShowtimeOccupancyServiceTest {
+
+    @Mock
+    private ShowtimeOccupancyRepository occupancyRepository;
+
+    @Mock
+    private ShowtimeRepository showtimeRepository;
+
+    @Mock
+    private TheaterService theaterService;
+
+    @InjectMocks
+    private ShowtimeOccupancyService occupancyService;
+
+    @Test
+    @DisplayName("Should load occupancy once and serve it from memory afterwards")
+    void shouldCacheOccupancy() {
+        when(showtimeRepository.existsById(1L)).thenReturn(true);
+        when(occupancyRepository.findById(1L)).thenReturn(Optional.of(new ShowtimeOccupancy(1L, 100, 30)));
+
+        Occupancy first = occupancyService.getOccupancy(1L);
+        Occupancy second = occupancyService.getOccupancy(1L);
+
+        assertThat(first.availableSeats()).isEqualTo(70);
+        assertThat(second).isSameAs(first);
+        verify(occupancyRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Should reload the committed counter after a booking instead of patching a possibly stale copy")
+    void shouldReloadAfterReservation() {
+        when(showtimeRepository.existsById(1L)).thenReturn(true);
+        when(occupancyRepository.findById(1L))
+                .thenReturn(Optional.of(new ShowtimeOccupancy(1L, 100, 30)))
+                .thenReturn(Optional.of(new ShowtimeOccupancy(1L, 100, 31)));
+        when(occupancyRepository.incrementSoldSeats(1L)).thenReturn(1);
+
+        occupancyService.getOccupancy(1L);
+        occupancyService.reserveSeat(1L);
+
+        assertThat(occupancyService.getOccupancy(1L).soldSeats()).isEqualTo(31);
+        verify(occupancyRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Should throw ResourceNotFoundException for an unknown showtime")
+    void shouldRejectUnknownShowtime() {
+        when(showtimeRepository.existsById(999L)).thenReturn(false);
+
+        assertThatThrownBy(() -> occupancyService.getOccupancy(999L))
+                .isInstanceOf(ResourceNotFoundException.class);
+        verifyNoInteractions(occupancyRepository);
+    }
+
+    @Test
+    @DisplayName("Should increment the counter without extra queries when capacity remains")
+    void shouldReserveSeat() {
+        when(occupancyRepository.incrementSoldSeats(1L)).thenReturn(1);
+
+        occupancyService.reserveSeat(1L);
+
+        verify(occupancyRepository, never()).existsById(anyLong());
+        verify(occupancyRepository, never()).insertFromTickets(anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should create the counter from existing tickets on first booking")
+    void shouldCreateCounterOnFirstBooking() {
+        when(occupancyRepository.incrementSoldSeats(1L)).thenReturn(0, 1);
+        when(occupancyRepository.existsById(1L)).thenReturn(false);
+        when(occupancyRepository.findById(1L))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(new ShowtimeOccupancy(1L, 100, 5)));
+
+        occupancyService.reserveSeat(1L);
+
+        verify(occupancyRepository).insertFromTickets(1L, ShowtimeOccupancyService.DEFAULT_CAPACITY);
+        verify(occupancyRepository, times(2)).incrementSoldSeats(1L);
+    }
+
+    @Test
+    @DisplayName("Should mark a full showtime sold out and short-circuit later checks")
+    void shouldShortCircuitWhenSoldOut() {
+        when(occupancyRepository.incrementSoldSeats(1L)).thenReturn(0);
+        when(occupancyRepository.existsById(1L)).thenReturn(true);
+        when(occupancyRepository.findById(1L)).thenReturn(Optional.of(new ShowtimeOccupancy(1L, 100, 100)));
+
+        assertThatThrownBy(() -> occupancyService.reserveSeat(1L))
+                .isInstanceOf(ValidationException.class)
+                .hasMessageContaining("sold out");
+        assertThatThrownBy(() -> occupancyService.checkNotSoldOut(1L))
+                .isInstanceOf(ValidationException.class);
+    }
+
+    @Test
+    @DisplayName("Should size a new counter by the showtime's theater")
+    void shouldUseTheaterCapacity() {
+        Showtime showtime = new Showtime(1L, 7L, "Stadium", LocalDateTime.of(2026, 5, 1, 20, 0),
+                LocalDateTime.of(2026, 5, 1, 23, 0), 80.0);
+        when(occupancyRepository.incrementSoldSeats(1L)).thenReturn(0, 1);
+        when(occupancyRepository.existsById(1L)).thenReturn(false);
+        when(occupancyRepository.findById(1L))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(new ShowtimeOccupancy(1L, 50_000, 0)));
+        when(showtimeRepository.findById(1L)).thenReturn(Optional.of(showtime));
+        when(theaterService.getSeatLayout("Stadium")).thenReturn(new SeatLayout(50_000, 250));
+
+        occupancyService.reserveSeat(1L);
+
+        verify(occupancyRepository).insertFromTickets(1L, 50_000);
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.movieticket.showtimeTest;
+
+import com.example.movieticket.showtime.Showtime;
+import com.example.movieticket.showtime.ShowtimeOverlapConstraint;
+import com.example.movieticket.showtime.ShowtimeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DataJpaTest
+@Import(ShowtimeOverlapConstraint.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Showtime overlap constraint Tests")
+class ShowtimeOverlapConstraintTest {
+
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+
+    @Autowired
+    private ShowtimeOverlapConstraint overlapConstraint;
+
+    private LocalDateTime startTime;
+
+    @BeforeEach
+    void setUp() {
+        overlapConstraint.run(null);
+        showtimeRepository.deleteAll();
+        startTime = LocalDateTime.of(2030, 1, 15, 19, 0);
+    }
+
+    private Showtime createShowtime(String theater, LocalDateTime start, LocalDateTime end) {
+        return new Showtime(null, 1L, theater, start, end, 10.0);
+    }
+
+    @Test
+    @DisplayName("Should reject an overlapping showtime in the same theater")
+    void testRejectsOverlap() {
+        showtimeRepository.saveAndFlush(createShowtime("Theater A", startTime, startTime.plusHours(2)));
+
+        assertThatThrownBy(() -> showtimeRepository.saveAndFlush(
+                createShowtime("Theater A", startTime.plusHours(1), startTime.plusHours(3))))
+                .isInstanceOf(DataIntegrityViolationException.class)
+                .satisfies(e -> assertThat(((DataIntegrityViolationException) e).getMostSpecificCause().getMessage())
+                        .containsIgnoringCase(ShowtimeOverlapConstraint.CONSTRAINT_NAME));
+        assertThat(showtimeRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should allow back-to-back showtimes and other theaters")
+    void testAllowsAdjacentAndOtherTheaters() {
+        showtimeRepository.saveAndFlush(createShowtime("Theater A", startTime, startTime.plusHours(2)));
+
+        assertThatCode(() -> {
+            showtimeRepository.saveAndFlush(createShowtime("Theater A", startTime.plusHours(2), startTime.plusHours(4)));
+            showtimeRepository.saveAndFlush(createShowtime("Theater B", startTime, startTime.plusHours(2)));
+        }).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("Should let a showtime move within its own slot but not onto another one")
+    void testUpdateExcludesItself() {
+        Showtime first = showtimeRepository.saveAndFlush(createShowtime("Theater A", startTime, startTime.plusHours(2)));
+        showtimeRepository.saveAndFlush(createShowtime("Theater A", startTime.plusHours(3), startTime.plusHours(5)));
+
+        first.setEndTime(startTime.plusHours(2).plusMinutes(30));
+        Showtime moved = showtimeRepository.saveAndFlush(first);
+        assertThat(moved.getEndTime()).isEqualTo(startTime.plusHours(2).plusMinutes(30));
+
+        moved.setEndTime(startTime.plusHours(4));
+        assertThatThrownBy(() -> showtimeRepository.saveAndFlush(moved))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.movieticket.showtimeTest;
+
+import com.example.movieticket.showtime.Showtime;
+import com.example.movieticket.showtime.ShowtimeRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongFunction;
+
+/**
+ * Compares bytes allocated per showtime lookup for a managed entity in a read-write transaction,
+ * the same entity in a read-only transaction, and the {@code ShowtimeView} projection.
+ * Skipped by default; run with
+ * {@code mvn test -Dtest=ShowtimeReadAllocationBenchmark -Dbenchmark=true [-Dbenchmark.requests=200000]}.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DisplayName("Showtime read allocation benchmark")
+class ShowtimeReadAllocationBenchmark {
+
+    private static final int SHOWTIMES = 1_000;
+
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void compareEntityAndProjectionReads() {
+        int requests = Integer.getInteger("benchmark.requests", 200_000);
+        List<Long> ids = seed();
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        run("entity, read-write", requests, ids, id -> readWrite.execute(status -> showtimeRepository.findById(id)));
+        run("entity, read-only", requests, ids, id -> readOnly.execute(status -> showtimeRepository.findById(id)));
+        run("projection, read-only", requests, ids, id -> readOnly.execute(status -> showtimeRepository.findViewById(id)));
+
+        showtimeRepository.deleteAllInBatch();
+    }
+
+    private List<Long> seed() {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 10, 0);
+        List<Showtime> showtimes = new ArrayList<>(SHOWTIMES);
+        for (int i = 0; i < SHOWTIMES; i++) {
+            LocalDateTime begin = start.plusHours(3L * i);
+            showtimes.add(new Showtime(null, 1L, "Bench Theater", begin, begin.plusHours(2), 10.0));
+        }
+        return showtimeRepository.saveAll(showtimes).stream().map(Showtime::getId).toList();
+    }
+
+    private void run(String label, int requests, List<Long> ids, LongFunction<Object> lookup) {
+        for (int i = 0; i < requests / 10; i++) {
+            lookup.apply(ids.get(i % ids.size()));
+        }
+
+        var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            lookup.apply(ids.get(i % ids.size()));
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        System.out.printf("%s: %,d B/request, %,.0f requests/s%n",
+                label, allocated / requests, requests / seconds);
+    }
+}
@@ -2,6 +2,9 @@ package com.example.movieticket.showtimeTest;
 
 import com.example.movieticket.showtime.Showtime;
 import com.example.movieticket.showtime.ShowtimeRepository;
+import com.example.movieticket.showtime.ShowtimeView;
+import com.example.movieticket.ticket.Ticket;
+import com.example.movieticket.ticket.TicketRepository;
 import jakarta.validation.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -10,8 +13,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 
 import java.time.LocalDateTime;
-import java.util.List;
+import java.time.temporal.ChronoUnit;
 import java.util.Optional;
+import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.*;
 
@@ -22,13 +26,16 @@ public class ShowtimeRepositoryTest {
     @Autowired
     private ShowtimeRepository showtimeRepository;
 
+    @Autowired
+    private TicketRepository ticketRepository;
+
     private LocalDateTime startTime;
     private LocalDateTime endTime;
     private Showtime defaultShowtime;
 
     @BeforeEach
     void setUp() {
-        startTime = LocalDateTime.now().plusHours(1);
+        startTime = LocalDateTime.now().plusHours(1).truncatedTo(ChronoUnit.SECONDS);
         endTime = startTime.plusHours(2);
         defaultShowtime = createShowtime("Theater A", 1L, startTime, endTime, 10.0);
     }
@@ -70,73 +77,61 @@ public class ShowtimeRepositoryTest {
     }
 
     @Test
-    @DisplayName("Should detect overlapping showtime in same theater")
-    void testFindOverlappingShowtime() {
-        Showtime s1 = createShowtime("Theater A", 1L, startTime, endTime, 10.0);
-        Showtime s2 = createShowtime("Theater A", 2L, startTime.plusMinutes(30), endTime.plusMinutes(30), 12.0);
-
-        showtimeRepository.saveAll(List.of(s1, s2));
-
-        List<Showtime> overlapping = showtimeRepository.findOverlappingShowtime("Theater A", startTime, endTime);
-
-        assertThat(overlapping).isNotEmpty()
-                .contains(s2);
+    @DisplayName("update a showtime")
+    void testUpdateShowtime() {
+        Showtime saved = showtimeRepository.save(defaultShowtime);
+        saved.setPrice(15.0);
+        Showtime updated = showtimeRepository.save(saved);
+        assertThat(updated).hasFieldOrPropertyWithValue("price", 15.0);
     }
 
     @Test
-    @DisplayName("Should not detect overlapping showtimes in different theaters")
-    void testNoOverlapDifferentTheaters() {
-        Showtime s1 = createShowtime("Theater A", 1L, startTime, endTime, 10.0);
-        Showtime s2 = createShowtime("Theater B", 1L, startTime, endTime, 12.0);
-
-        showtimeRepository.save(s1);
+    @DisplayName("read a showtime as a view projection")
+    void testFindViewById() {
+        Showtime saved = showtimeRepository.save(defaultShowtime);
 
-        List<Showtime> overlapping = showtimeRepository.findOverlappingShowtime(s2.getTheater(), s2.getStartTime(),
-                s2.getEndTime());
+        Optional<ShowtimeView> view = showtimeRepository.findViewById(saved.getId());
 
-        assertThat(overlapping).isEmpty();
+        assertThat(view).contains(new ShowtimeView(saved.getId(), 1L, "Theater A", startTime, endTime, 10.0, 0L));
+        assertThat(showtimeRepository.findViewById(saved.getId() + 1)).isEmpty();
     }
 
     @Test
-    @DisplayName("Should not detect non-overlapping showtime in same theater")
-    void testNoOverlapSameTheater() {
-        Showtime s1 = createShowtime("Theater A", 1L, startTime, endTime, 10.0);
-        Showtime s2 = createShowtime("Theater A", 7L, endTime.plusHours(1), endTime.plusHours(3), 12.0);
-
-        showtimeRepository.saveAll(List.of(s1, s2));
-
-        Showtime s3 = createShowtime("Theater A", 5L, endTime.plusHours(5), endTime.plusHours(7), 19.0);
+    @DisplayName("update a showtime only while its version matches")
+    void testVersionGuardedUpdate() {
+        Showtime saved = showtimeRepository.saveAndFlush(defaultShowtime);
+        Long id = saved.getId();
 
-        List<Showtime> overlapping = showtimeRepository.findOverlappingShowtime(s3.getTheater(), s3.getStartTime(),
-                s3.getEndTime());
+        assertThat(showtimeRepository.updateShowtime(id, 0L, 2L, "Theater B", startTime, endTime, 12.0)).isEqualTo(1);
+        assertThat(showtimeRepository.updateShowtime(id, 0L, 3L, "Theater C", startTime, endTime, 14.0)).isZero();
+        assertThat(showtimeRepository.updateShowtime(id, 1L, 3L, "Theater C", startTime, endTime, 14.0)).isEqualTo(1);
 
-        assertThat(overlapping).isEmpty();
+        assertThat(showtimeRepository.findViewById(id))
+                .hasValueSatisfying(view -> {
+                    assertThat(view.theater()).isEqualTo("Theater C");
+                    assertThat(view.version()).isEqualTo(2L);
+                });
     }
 
     @Test
-    @DisplayName("Should exclude specified showtime when checking for overlaps")
-    void testFindOverlappingShowtimesExcluding() {
-        Showtime s1 = createShowtime("Theater A", 1L, startTime, endTime, 10.0);
-        Showtime s2 = createShowtime("Theater A", 2L, startTime.plusMinutes(30), endTime.plusMinutes(30), 12.0);
-
-        Showtime saved1 = showtimeRepository.save(s1);
-        Showtime saved2 = showtimeRepository.save(s2);
+    @DisplayName("delete a showtime by id in one statement")
+    void testDeleteShowtimeById() {
+        Long id = showtimeRepository.save(defaultShowtime).getId();
 
-        List<Showtime> overlapping = showtimeRepository.findOverlappingShowtime(
-                "Theater A", startTime, endTime
-        );
-
-        assertThat(overlapping).contains(saved2);
-        assertThat(overlapping).contains(saved1);
+        assertThat(showtimeRepository.deleteShowtime(id)).isEqualTo(1);
+        assertThat(showtimeRepository.deleteShowtime(id)).isZero();
     }
 
     @Test
-    @DisplayName("update a showtime")
-    void testUpdateShowtime() {
-        Showtime saved = showtimeRepository.save(defaultShowtime);
-        saved.setPrice(15.0);
-        Showtime updated = showtimeRepository.save(saved);
-        assertThat(updated).hasFieldOrPropertyWithValue("price", 15.0);
+    @DisplayName("tell whether and how many tickets a showtime has sold")
+    void testHasTickets() {
+        Long id = showtimeRepository.save(defaultShowtime).getId();
+        assertThat(showtimeRepository.hasTickets(id)).isFalse();
+
+        ticketRepository.saveAndFlush(new Ticket(null, id, 3, UUID.randomUUID()));
+
+        assertThat(showtimeRepository.hasTickets(id)).isTrue();
+        assertThat(showtimeRepository.countTickets(id)).isEqualTo(1);
     }
 
     @Test
@@ -3,25 +3,36 @@ package com.example.movieticket.showtimeTest;
 
 import com.example.movieticket.showtime.*;
 
+import com.example.movieticket.cache.CacheInvalidationBus;
+import com.example.movieticket.cache.CacheRegion;
+import com.example.movieticket.exception.ConflictException;
 import com.example.movieticket.exception.ResourceNotFoundException;
 import com.example.movieticket.exception.ValidationException;
 import com.example.movieticket.movie.MovieService;
+import com.example.movieticket.theater.SeatLayout;
+import com.example.movieticket.theater.TheaterService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
-import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,6 +45,21 @@ class ShowtimeServiceTest {
     @Mock
     private MovieService movieService;
 
+    @Mock
+    private ShowtimeOccupancyService showtimeOccupancyService;
+
+    @Mock
+    private TheaterService theaterService;
+
+    @Mock
+    private TheaterWriteLock theaterWriteLock;
+
+    @Mock
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ShowtimeService showtimeService;
 
@@ -44,6 +70,8 @@ class ShowtimeServiceTest {
 
     @BeforeEach
     void setUp() {
+        lenient().when(theaterWriteLock.withTheaterLock(anyString(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
         startTime = LocalDateTime.of(2024, 1, 15, 19, 0);
         endTime = LocalDateTime.of(2024, 1, 15, 21, 30);
 
@@ -64,6 +92,7 @@ class ShowtimeServiceTest {
                 LocalDateTime.of(2024, 1, 16, 22, 30),
                 15.00
         );
+        updatedShowtime.setVersion(0L);
     }
 
     @Nested
@@ -75,24 +104,14 @@ class ShowtimeServiceTest {
         void shouldAddShowtime_WhenAllValidationsPass() {
 
             doNothing().when(movieService).validateMovieExists(1L);
-            when(showtimeRepository.findOverlappingShowtime(
-                    testShowtime.getTheater(),
-                    testShowtime.getStartTime(),
-                    testShowtime.getEndTime()
-            )).thenReturn(List.of());
-            when(showtimeRepository.save(any(Showtime.class))).thenReturn(testShowtime);
+            when(showtimeRepository.saveAndFlush(any(Showtime.class))).thenReturn(testShowtime);
 
 
             showtimeService.addShowtime(testShowtime);
 
 
             verify(movieService, times(1)).validateMovieExists(1L);
-            verify(showtimeRepository, times(1)).findOverlappingShowtime(
-                    testShowtime.getTheater(),
-                    testShowtime.getStartTime(),
-                    testShowtime.getEndTime()
-            );
-            verify(showtimeRepository, times(1)).save(testShowtime);
+            verify(showtimeRepository, times(1)).saveAndFlush(testShowtime);
         }
 
         @Test
@@ -112,7 +131,7 @@ class ShowtimeServiceTest {
                     .isInstanceOf(ValidationException.class)
                     .hasMessageContaining("End time must be after start time");
 
-            verify(showtimeRepository, never()).save(any(Showtime.class));
+            verify(showtimeRepository, never()).saveAndFlush(any(Showtime.class));
         }
 
         @Test
@@ -134,7 +153,7 @@ class ShowtimeServiceTest {
                     .isInstanceOf(ValidationException.class)
                     .hasMessageContaining("End time must be after start time");
 
-            verify(showtimeRepository, never()).save(any(Showtime.class));
+            verify(showtimeRepository, never()).saveAndFlush(any(Showtime.class));
         }
 
         @Test
@@ -158,35 +177,49 @@ class ShowtimeServiceTest {
                     .isInstanceOf(ResourceNotFoundException.class)
                     .hasMessageContaining("ERROR: Movie with id 999 does not exist.");
 
-            verify(showtimeRepository, never()).save(any(Showtime.class));
+            verify(showtimeRepository, never()).saveAndFlush(any(Showtime.class));
         }
 
         @Test
         @DisplayName("Should throw ValidationException when showtime overlaps with existing showtime")
         void shouldThrowValidationException_WhenShowtimeOverlaps() {
 
-            Showtime overlappingShowtime = new Showtime(
-                    2L,
-                    2L,
-                    "Theater A",
-                    startTime.plusMinutes(30),
-                    endTime.plusMinutes(30),
-                    15.00
-            );
-
             doNothing().when(movieService).validateMovieExists(1L);
-            when(showtimeRepository.findOverlappingShowtime(
-                    testShowtime.getTheater(),
-                    testShowtime.getStartTime(),
-                    testShowtime.getEndTime()
-            )).thenReturn(List.of(overlappingShowtime));
+            when(showtimeRepository.saveAndFlush(any(Showtime.class))).thenThrow(overlapViolation());
 
 
             assertThatThrownBy(() -> showtimeService.addShowtime(testShowtime))
                     .isInstanceOf(ValidationException.class)
                     .hasMessageContaining("Showtime overlaps with another showtime in the same theater");
+        }
 
-            verify(showtimeRepository, never()).save(any(Showtime.class));
+        @Test
+        @DisplayName("Should save while holding the theater's write lock")
+        void shouldSaveUnderTheaterLock() {
+
+            doNothing().when(movieService).validateMovieExists(1L);
+            when(showtimeRepository.saveAndFlush(testShowtime)).thenReturn(testShowtime);
+
+
+            showtimeService.addShowtime(testShowtime);
+
+
+            InOrder inOrder = inOrder(theaterWriteLock, showtimeRepository);
+            inOrder.verify(theaterWriteLock).withTheaterLock(eq("Theater A"), any());
+            inOrder.verify(showtimeRepository).saveAndFlush(testShowtime);
+        }
+
+        @Test
+        @DisplayName("Should rethrow integrity violations that are not overlaps")
+        void shouldRethrowOtherIntegrityViolations() {
+
+            doNothing().when(movieService).validateMovieExists(1L);
+            when(showtimeRepository.saveAndFlush(any(Showtime.class)))
+                    .thenThrow(new DataIntegrityViolationException("NULL not allowed for column \"PRICE\""));
+
+
+            assertThatThrownBy(() -> showtimeService.addShowtime(testShowtime))
+                    .isInstanceOf(DataIntegrityViolationException.class);
         }
 
         @Test
@@ -203,18 +236,13 @@ class ShowtimeServiceTest {
             );
 
             doNothing().when(movieService).validateMovieExists(1L);
-            when(showtimeRepository.findOverlappingShowtime(
-                    "Theater B",
-                    startTime,
-                    endTime
-            )).thenReturn(List.of());
-            when(showtimeRepository.save(any(Showtime.class))).thenReturn(showtimeInDifferentTheater);
+            when(showtimeRepository.saveAndFlush(any(Showtime.class))).thenReturn(showtimeInDifferentTheater);
 
 
             showtimeService.addShowtime(showtimeInDifferentTheater);
 
 
-            verify(showtimeRepository, times(1)).save(showtimeInDifferentTheater);
+            verify(showtimeRepository, times(1)).saveAndFlush(showtimeInDifferentTheater);
         }
     }
 
@@ -255,10 +283,46 @@ class ShowtimeServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("getShowtimeView() Tests")
+    class GetShowtimeViewTests {
+
+        @Test
+        @DisplayName("Should return the projection without loading the entity")
+        void shouldReturnView_WhenValidIdProvided() {
+            ShowtimeView view = new ShowtimeView(1L, 1L, "Theater A", testShowtime.getStartTime(),
+                    testShowtime.getEndTime(), testShowtime.getPrice(), 0L);
+            when(showtimeRepository.findViewById(1L)).thenReturn(Optional.of(view));
+
+            assertThat(showtimeService.getShowtimeView(1L)).isEqualTo(view);
+            verify(showtimeRepository, never()).findById(any());
+        }
+
+        @Test
+        @DisplayName("Should throw ResourceNotFoundException when showtime not found")
+        void shouldThrowResourceNotFoundException_WhenShowtimeNotFound() {
+            when(showtimeRepository.findViewById(999L)).thenReturn(Optional.empty());
+
+            assertThatThrownBy(() -> showtimeService.getShowtimeView(999L))
+                    .isInstanceOf(ResourceNotFoundException.class)
+                    .hasMessageContaining("ERROR: Showtime with id 999 does not exist.");
+        }
+    }
+
     @Nested
     @DisplayName("updateShowtime() Tests")
     class UpdateShowtimeTests {
 
+        @BeforeEach
+        void stubCurrentShowtime() {
+            lenient().when(showtimeRepository.findById(1L)).thenReturn(Optional.of(testShowtime));
+        }
+
+        private void stubUpdate(Showtime showtime, int rows) {
+            when(showtimeRepository.updateShowtime(1L, showtime.getVersion(), showtime.getMovieId(), showtime.getTheater(),
+                    showtime.getStartTime(), showtime.getEndTime(), showtime.getPrice())).thenReturn(rows);
+        }
+
         @Test
         @DisplayName("Should update showtime successfully when all validations pass")
         void shouldUpdateShowtime_WhenAllValidationsPass() {
@@ -268,29 +332,21 @@ class ShowtimeServiceTest {
             updatedShowtime.setStartTime(startTime);
             updatedShowtime.setEndTime(endTime);
             updatedShowtime.setMovieId(1L);
-
-            when(showtimeRepository.existsById(1L)).thenReturn(true);
+            updatedShowtime.setVersion(0L);
 
             doNothing().when(movieService).validateMovieExists(1L);
-
-            when(showtimeRepository.findOverlappingShowtimeExcludingId(
-                    updatedShowtime.getTheater(),
-                    updatedShowtime.getStartTime(),
-                    updatedShowtime.getEndTime(),
-                    1L
-            )).thenReturn(List.of());
-
-            when(showtimeRepository.save(any(Showtime.class)))
-                    .thenAnswer(invocation -> invocation.getArgument(0));
+            stubUpdate(updatedShowtime, 1);
 
             Showtime result = showtimeService.updateShowtime(1L, updatedShowtime);
 
             assertThat(result).isNotNull();
             assertThat(result.getId()).isEqualTo(1L);
             assertThat(result.getTheater()).isEqualTo("Theater B");
+            assertThat(result.getVersion()).isEqualTo(1L);
 
-            verify(showtimeRepository).existsById(1L);
-            verify(showtimeRepository).save(any(Showtime.class));
+            verify(showtimeRepository, never()).existsById(anyLong());
+            verify(showtimeRepository, never()).saveAndFlush(any(Showtime.class));
+            verify(cacheInvalidationBus).publish(CacheRegion.SHOWTIME, 1L);
         }
 
         @Test
@@ -298,14 +354,103 @@ class ShowtimeServiceTest {
         void shouldThrowResourceNotFoundException_WhenUpdatingNonExistentShowtime() {
 
             Long nonExistentId = 999L;
-            when(showtimeRepository.existsById(nonExistentId)).thenReturn(false);
+            when(showtimeRepository.findById(nonExistentId)).thenReturn(Optional.empty());
 
 
             assertThatThrownBy(() -> showtimeService.updateShowtime(nonExistentId, updatedShowtime))
                     .isInstanceOf(ResourceNotFoundException.class)
                     .hasMessageContaining("ERROR: Showtime with id " + nonExistentId + " does not exist.");
-            verify(showtimeRepository, times(1)).existsById(nonExistentId);
-            verify(showtimeRepository, never()).save(any(Showtime.class));
+            verify(showtimeRepository, never()).updateShowtime(any(), any(), any(), any(), any(), any(), any());
+            verifyNoInteractions(cacheInvalidationBus);
+        }
+
+        @Test
+        @DisplayName("Should refuse to change the theater, date or price of a showtime with sold tickets")
+        void shouldRefuseSoldTermsChange_WhenTicketsAreSold() {
+            when(showtimeRepository.hasTickets(1L)).thenReturn(true);
+
+            assertThatThrownBy(() -> showtimeService.updateShowtime(1L, updatedShowtime))
+                    .isInstanceOf(ValidationException.class)
+                    .hasMessageContaining("has sold tickets");
+
+            verify(showtimeRepository, never()).updateShowtime(any(), any(), any(), any(), any(), any(), any());
+            verifyNoInteractions(cacheInvalidationBus);
+        }
+
+        @Test
+        @DisplayName("Should allow moving the start time within the same day after tickets are sold")
+        void shouldAllowSameDayRetime_WhenTicketsAreSold() {
+            Showtime retimed = new Showtime(1L, 1L, "Theater A", startTime.plusHours(1), endTime.plusHours(1), 12.50);
+            retimed.setVersion(0L);
+            stubUpdate(retimed, 1);
+
+            showtimeService.updateShowtime(1L, retimed);
+
+            verify(showtimeRepository, never()).hasTickets(anyLong());
+            verifyNoInteractions(showtimeOccupancyService, eventPublisher);
+        }
+
+        @Test
+        @DisplayName("Should drop the seat state when an unsold showtime moves to another seat layout")
+        void shouldDropSeatState_WhenUnsoldShowtimeChangesLayout() {
+            when(theaterService.getSeatLayout("Theater A")).thenReturn(SeatLayout.DEFAULT);
+            when(theaterService.getSeatLayout("Theater B")).thenReturn(new SeatLayout(240, 20));
+            when(showtimeRepository.hasTickets(1L)).thenReturn(false);
+            stubUpdate(updatedShowtime, 1);
+
+            showtimeService.updateShowtime(1L, updatedShowtime);
+
+            verify(showtimeOccupancyService).remove(1L);
+            verify(eventPublisher).publishEvent(new ShowtimeLayoutChangedEvent(1L));
+            verify(cacheInvalidationBus).publish(CacheRegion.SHOWTIME, 1L);
+        }
+
+        @Test
+        @DisplayName("Should keep the seat state when the new theater has the same layout")
+        void shouldKeepSeatState_WhenLayoutIsUnchanged() {
+            when(theaterService.getSeatLayout(anyString())).thenReturn(SeatLayout.DEFAULT);
+            stubUpdate(updatedShowtime, 1);
+
+            showtimeService.updateShowtime(1L, updatedShowtime);
+
+            verifyNoInteractions(showtimeOccupancyService, eventPublisher);
+        }
+
+        @Test
+        @DisplayName("Should throw ConflictException when the showtime changed since it was read")
+        void shouldThrowConflictException_WhenVersionIsStale() {
+            updatedShowtime.setVersion(3L);
+            stubUpdate(updatedShowtime, 0);
+            when(showtimeRepository.existsById(1L)).thenReturn(true);
+
+            assertThatThrownBy(() -> showtimeService.updateShowtime(1L, updatedShowtime))
+                    .isInstanceOf(ConflictException.class)
+                    .hasMessageContaining("changed by someone else");
+            verifyNoInteractions(cacheInvalidationBus);
+        }
+
+        @Test
+        @DisplayName("Should return the bumped version after a guarded update")
+        void shouldBumpVersion_WhenGuardedUpdateSucceeds() {
+            updatedShowtime.setVersion(3L);
+            stubUpdate(updatedShowtime, 1);
+
+            Showtime result = showtimeService.updateShowtime(1L, updatedShowtime);
+
+            assertThat(result.getVersion()).isEqualTo(4L);
+        }
+
+        @Test
+        @DisplayName("Should throw ValidationException when the version is missing")
+        void shouldThrowValidationException_WhenVersionIsMissing() {
+            updatedShowtime.setVersion(null);
+
+            assertThatThrownBy(() -> showtimeService.updateShowtime(1L, updatedShowtime))
+                    .isInstanceOf(ValidationException.class)
+                    .hasMessageContaining("Version is required");
+
+            verify(showtimeRepository, never()).updateShowtime(any(), any(), any(), any(), any(), any(), any());
+            verifyNoInteractions(cacheInvalidationBus);
         }
 
         @Test
@@ -320,69 +465,40 @@ class ShowtimeServiceTest {
                     LocalDateTime.of(2024, 1, 16, 20, 0), // End before start
                     15.00
             );
-            when(showtimeRepository.existsById(1L)).thenReturn(true);
+            invalidUpdate.setVersion(0L);
 
             assertThatThrownBy(() -> showtimeService.updateShowtime(1L, invalidUpdate))
                     .isInstanceOf(ValidationException.class)
                     .hasMessageContaining("End time must be after start time");
 
-            verify(showtimeRepository, never()).save(any(Showtime.class));
+            verify(showtimeRepository, never()).updateShowtime(any(), any(), any(), any(), any(), any(), any());
         }
 
         @Test
         @DisplayName("Should throw ValidationException when updated showtime overlaps")
         void shouldThrowValidationException_WhenUpdatedShowtimeOverlaps() {
-            Showtime overlapping = new Showtime(
-                    2L,
-                    2L,
-                    "Theater B",
-                    updatedShowtime.getStartTime(),
-                    updatedShowtime.getEndTime(),
-                    10.00
-            );
-
-            when(showtimeRepository.existsById(1L)).thenReturn(true);
             doNothing().when(movieService).validateMovieExists(1L);
 
-            when(showtimeRepository.findOverlappingShowtimeExcludingId(
-                    updatedShowtime.getTheater(),
-                    updatedShowtime.getStartTime(),
-                    updatedShowtime.getEndTime(),
-                    1L
-            )).thenReturn(List.of(overlapping));
+            when(showtimeRepository.updateShowtime(eq(1L), any(), any(), any(), any(), any(), any()))
+                    .thenThrow(overlapViolation());
 
             assertThatThrownBy(() -> showtimeService.updateShowtime(1L, updatedShowtime))
                     .isInstanceOf(ValidationException.class)
                     .hasMessageContaining("Showtime overlaps with another showtime in the same theater");
-
-            verify(showtimeRepository, never()).save(any(Showtime.class));
         }
 
         @Test
-        @DisplayName("Should create new Showtime object with updated details")
-        void shouldCreateNewShowtimeObject_WithUpdatedDetails() {
-
-            when(showtimeRepository.existsById(1L)).thenReturn(true);
+        @DisplayName("Should write the updated details under the new theater's lock")
+        void shouldWriteUpdatedDetailsUnderTheaterLock() {
             doNothing().when(movieService).validateMovieExists(1L);
-
-            when(showtimeRepository.findOverlappingShowtimeExcludingId(
-                    updatedShowtime.getTheater(),
-                    updatedShowtime.getStartTime(),
-                    updatedShowtime.getEndTime(),
-                    1L
-            )).thenReturn(List.of());
-
-            when(showtimeRepository.save(any(Showtime.class)))
-                    .thenAnswer(invocation -> invocation.getArgument(0));
+            stubUpdate(updatedShowtime, 1);
 
             showtimeService.updateShowtime(1L, updatedShowtime);
 
-            verify(showtimeRepository).save(argThat(showtime ->
-                    showtime.getId().equals(1L) &&
-                            showtime.getMovieId().equals(1L) &&
-                            showtime.getTheater().equals("Theater B") &&
-                            showtime.getPrice() == 15.00
-            ));
+            InOrder inOrder = inOrder(theaterWriteLock, showtimeRepository);
+            inOrder.verify(theaterWriteLock).withTheaterLock(eq("Theater B"), any());
+            inOrder.verify(showtimeRepository).updateShowtime(1L, 0L, 1L, "Theater B",
+                    updatedShowtime.getStartTime(), updatedShowtime.getEndTime(), 15.00);
         }
     }
 
@@ -395,14 +511,16 @@ class ShowtimeServiceTest {
         void shouldDeleteShowtime_WhenValidIdProvided() {
 
             when(showtimeRepository.findById(1L)).thenReturn(Optional.of(testShowtime));
-            doNothing().when(showtimeRepository).delete(testShowtime);
+            when(showtimeRepository.countTickets(1L)).thenReturn(3L);
+            when(showtimeRepository.deleteShowtime(1L)).thenReturn(1);
 
 
             showtimeService.deleteShowtime(1L);
 
 
-            verify(showtimeRepository, times(1)).findById(1L);
-            verify(showtimeRepository, times(1)).delete(testShowtime);
+            verify(showtimeOccupancyService, times(1)).remove(1L);
+            verify(cacheInvalidationBus).publish(CacheRegion.SHOWTIME, 1L);
+            verify(eventPublisher).publishEvent(new ShowtimeDeletedEvent(1L, testShowtime, 3L));
         }
 
         @Test
@@ -416,8 +534,7 @@ class ShowtimeServiceTest {
             assertThatThrownBy(() -> showtimeService.deleteShowtime(nonExistentId))
                     .isInstanceOf(ResourceNotFoundException.class)
                     .hasMessageContaining("ERROR: Showtime with id " + nonExistentId + " does not exist.");
-            verify(showtimeRepository, times(1)).findById(nonExistentId);
-            verify(showtimeRepository, never()).delete(any(Showtime.class));
+            verifyNoInteractions(showtimeOccupancyService, cacheInvalidationBus, eventPublisher);
         }
     }
 
@@ -452,6 +569,31 @@ class ShowtimeServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("validateSeatNumber() Tests")
+    class ValidateSeatNumberTests {
+
+        @Test
+        @DisplayName("Should accept seats within the theater's capacity")
+        void shouldAcceptSeatWithinCapacity() {
+            when(showtimeRepository.findById(1L)).thenReturn(Optional.of(testShowtime));
+            when(theaterService.getSeatLayout("Theater A")).thenReturn(new SeatLayout(500, 25));
+
+            assertThatCode(() -> showtimeService.validateSeatNumber(1L, 500)).doesNotThrowAnyException();
+        }
+
+        @Test
+        @DisplayName("Should reject seats beyond the theater's capacity")
+        void shouldRejectSeatBeyondCapacity() {
+            when(showtimeRepository.findById(1L)).thenReturn(Optional.of(testShowtime));
+            when(theaterService.getSeatLayout("Theater A")).thenReturn(new SeatLayout(500, 25));
+
+            assertThatThrownBy(() -> showtimeService.validateSeatNumber(1L, 501))
+                    .isInstanceOf(ValidationException.class)
+                    .hasMessage("Seat 501 does not exist, theater Theater A has 500 seats.");
+        }
+    }
+
     @Nested
     @DisplayName("validateShowtime() - Private Method Tests (via public methods)")
     class ValidateShowtimeTests {
@@ -461,23 +603,15 @@ class ShowtimeServiceTest {
         void shouldValidateAllConditions_InCorrectOrder() {
 
             doNothing().when(movieService).validateMovieExists(1L);
-            when(showtimeRepository.findOverlappingShowtime(
-                    testShowtime.getTheater(),
-                    testShowtime.getStartTime(),
-                    testShowtime.getEndTime()
-            )).thenReturn(List.of());
-            when(showtimeRepository.save(any(Showtime.class))).thenReturn(testShowtime);
+            when(showtimeRepository.saveAndFlush(any(Showtime.class))).thenReturn(testShowtime);
 
 
             showtimeService.addShowtime(testShowtime);
 
 
-            verify(movieService, times(1)).validateMovieExists(1L);
-            verify(showtimeRepository, times(1)).findOverlappingShowtime(
-                    testShowtime.getTheater(),
-                    testShowtime.getStartTime(),
-                    testShowtime.getEndTime()
-            );
+            InOrder inOrder = inOrder(movieService, showtimeRepository);
+            inOrder.verify(movieService).validateMovieExists(1L);
+            inOrder.verify(showtimeRepository).saveAndFlush(testShowtime);
         }
 
         @Test
@@ -500,7 +634,13 @@ class ShowtimeServiceTest {
 
             // Verify subsequent validations were not called
             verify(movieService, never()).validateMovieExists(anyLong());
-            verify(showtimeRepository, never()).findOverlappingShowtime(any(), any(), any());
+            verify(showtimeRepository, never()).saveAndFlush(any(Showtime.class));
         }
     }
-}
\ No newline at end of file
+
+    private static DataIntegrityViolationException overlapViolation() {
+        return new DataIntegrityViolationException("could not execute statement",
+                new SQLException("Showtime overlaps with another showtime in the same theater ("
+                        + ShowtimeOverlapConstraint.CONSTRAINT_NAME + ")", "23P01"));
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.movieticket.showtimeTest;
+
+import com.example.movieticket.showtime.ShowtimeLockMode;
+import com.example.movieticket.showtime.TheaterWriteLock;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("TheaterWriteLock Tests")
+class TheaterWriteLockTest {
+
+    private final TheaterWriteLock writeLock = new TheaterWriteLock(ShowtimeLockMode.LOCAL, 1024, null, null);
+
+    @Test
+    @DisplayName("Should return the value of the guarded write")
+    void shouldReturnWriteResult() {
+        assertThat(writeLock.withTheaterLock("Theater A", () -> 42)).isEqualTo(42);
+    }
+
+    @Test
+    @DisplayName("Should serialize writes to the same theater")
+    void shouldSerializeSameTheater() throws Exception {
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() -> writeLock.withTheaterLock("Theater A", () -> {
+            holding.countDown();
+            await(release);
+            return null;
+        }));
+        assertThat(holding.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<String> second = CompletableFuture.supplyAsync(
+                () -> writeLock.withTheaterLock("Theater A", () -> "second"));
+
+        assertThatThrownBy(() -> second.get(200, TimeUnit.MILLISECONDS))
+                .isInstanceOf(TimeoutException.class);
+        release.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("second");
+    }
+
+    @Test
+    @DisplayName("Should not block writes to a theater on another stripe")
+    void shouldNotBlockOtherTheaters() throws Exception {
+        // "Theater A" and "Theater B" hash onto different stripes of two
+        TheaterWriteLock twoStripes = new TheaterWriteLock(ShowtimeLockMode.LOCAL, 2, null, null);
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() -> twoStripes.withTheaterLock("Theater A", () -> {
+            holding.countDown();
+            await(release);
+            return null;
+        }));
+        assertThat(holding.await(5, TimeUnit.SECONDS)).isTrue();
+
+        try {
+            assertThat(CompletableFuture.supplyAsync(() -> twoStripes.withTheaterLock("Theater B", () -> "other"))
+                    .get(5, TimeUnit.SECONDS)).isEqualTo("other");
+        } finally {
+            release.countDown();
+            first.get(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject a non-positive stripe count")
+    void shouldRejectInvalidStripes() {
+        assertThatThrownBy(() -> new TheaterWriteLock(ShowtimeLockMode.LOCAL, 0, null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
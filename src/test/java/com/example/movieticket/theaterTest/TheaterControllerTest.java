@@ -0,0 +1,95 @@
+package com.example.movieticket.theaterTest;
+
+import com.example.movieticket.exception.GlobalExceptionHandler;
+import com.example.movieticket.exception.ValidationException;
+import com.example.movieticket.theater.Theater;
+import com.example.movieticket.theater.TheaterController;
+import com.example.movieticket.theater.TheaterService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TheaterController Tests")
+class TheaterControllerTest {
+
+    private MockMvc mockMvc;
+
+    private ObjectMapper objectMapper;
+
+    @Mock
+    private TheaterService theaterService;
+
+    @InjectMocks
+    private TheaterController theaterController;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(theaterController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+        objectMapper = new ObjectMapper();
+    }
+
+    @Test
+    @DisplayName("Should add a theater and report its capacity")
+    void shouldAddTheater() throws Exception {
+        mockMvc.perform(post("/theaters")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new Theater(null, "Hall 1", 10, 20))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Hall 1"))
+                .andExpect(jsonPath("$.capacity").value(200));
+
+        verify(theaterService).addTheater(any(Theater.class));
+    }
+
+    @Test
+    @DisplayName("Should return 400 BAD REQUEST for an empty layout")
+    void shouldRejectEmptyLayout() throws Exception {
+        mockMvc.perform(post("/theaters")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Hall 1\",\"rowCount\":0,\"seatsPerRow\":20}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(theaterService);
+    }
+
+    @Test
+    @DisplayName("Should return 400 BAD REQUEST when the layout cannot change")
+    void shouldReturn400WhenUpdateIsRejected() throws Exception {
+        when(theaterService.updateTheater(eq("Hall 1"), any(Theater.class)))
+                .thenThrow(new ValidationException("Theater Hall 1 has showtimes, its name and layout cannot change."));
+
+        mockMvc.perform(put("/theaters/update/{name}", "Hall 1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new Theater(null, "Hall 1", 12, 20))))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should list all theaters")
+    void shouldListTheaters() throws Exception {
+        when(theaterService.getTheaters()).thenReturn(List.of(new Theater(1L, "Hall 1", 10, 20)));
+
+        mockMvc.perform(get("/theaters/all"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].capacity").value(200));
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.movieticket.theaterTest;
+
+import com.example.movieticket.theater.Theater;
+import com.example.movieticket.theater.TheaterRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DataJpaTest
+@DisplayName("Theater Repository Tests")
+class TheaterRepositoryTest {
+
+    @Autowired
+    private TheaterRepository theaterRepository;
+
+    @Test
+    @DisplayName("Should find a theater by name")
+    void testFindByName() {
+        theaterRepository.save(new Theater(null, "Hall 1", 10, 20));
+
+        assertThat(theaterRepository.findByName("Hall 1"))
+                .hasValueSatisfying(theater -> assertThat(theater.getCapacity()).isEqualTo(200));
+        assertThat(theaterRepository.existsByName("Hall 2")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should reject two theaters with the same name")
+    void testUniqueName() {
+        theaterRepository.saveAndFlush(new Theater(null, "Hall 1", 10, 20));
+
+        assertThatThrownBy(() -> theaterRepository.saveAndFlush(new Theater(null, "Hall 1", 5, 5)))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+}
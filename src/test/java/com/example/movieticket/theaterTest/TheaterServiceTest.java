@@ -0,0 +1,176 @@
+package com.example.movieticket.theaterTest;
+
+import com.example.movieticket.cache.CacheInvalidationBus;
+import com.example.movieticket.cache.CacheRegion;
+import com.example.movieticket.exception.ResourceNotFoundException;
+import com.example.movieticket.exception.ValidationException;
+import com.example.movieticket.showtime.ShowtimeRepository;
+import com.example.movieticket.theater.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TheaterService Tests")
+class TheaterServiceTest {
+
+    @Mock
+    private TheaterRepository theaterRepository;
+
+    @Mock
+    private ShowtimeRepository showtimeRepository;
+
+    @Mock
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @InjectMocks
+    private TheaterService theaterService;
+
+    private Theater hall;
+
+    @BeforeEach
+    void setUp() {
+        hall = new Theater(1L, "Hall 1", 10, 20);
+    }
+
+    @Nested
+    @DisplayName("addTheater() Tests")
+    class AddTheaterTests {
+
+        @Test
+        @DisplayName("Should save a new theater")
+        void shouldSaveNewTheater() {
+            when(theaterRepository.existsByName("Hall 1")).thenReturn(false);
+
+            theaterService.addTheater(hall);
+
+            verify(theaterRepository).save(hall);
+        }
+
+        @Test
+        @DisplayName("Should reject a duplicate name")
+        void shouldRejectDuplicateName() {
+            when(theaterRepository.existsByName("Hall 1")).thenReturn(true);
+
+            assertThatThrownBy(() -> theaterService.addTheater(hall))
+                    .isInstanceOf(ValidationException.class)
+                    .hasMessage("Theater with name Hall 1 already exists.");
+            verify(theaterRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("Should refuse a layout other than the default for a name showtimes already use")
+        void shouldRefuseNonDefaultLayoutForUsedName() {
+            when(theaterRepository.existsByName("Hall 1")).thenReturn(false);
+            when(showtimeRepository.existsByTheater("Hall 1")).thenReturn(true);
+
+            assertThatThrownBy(() -> theaterService.addTheater(hall))
+                    .isInstanceOf(ValidationException.class)
+                    .hasMessageContaining("default layout");
+            verify(theaterRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("Should record a used name when its layout matches the default")
+        void shouldRecordUsedNameWithDefaultLayout() {
+            Theater matchingDefault = new Theater(null, "Hall 1", 1, 100);
+            when(theaterRepository.existsByName("Hall 1")).thenReturn(false);
+
+            theaterService.addTheater(matchingDefault);
+
+            verify(theaterRepository).save(matchingDefault);
+            verify(showtimeRepository, never()).existsByTheater(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("updateTheater() Tests")
+    class UpdateTheaterTests {
+
+        @Test
+        @DisplayName("Should refuse to change the layout of a theater with showtimes")
+        void shouldRefuseLayoutChangeWithShowtimes() {
+            when(theaterRepository.findByName("Hall 1")).thenReturn(Optional.of(hall));
+            when(showtimeRepository.existsByTheater("Hall 1")).thenReturn(true);
+
+            assertThatThrownBy(() -> theaterService.updateTheater("Hall 1", new Theater(null, "Hall 1", 12, 20)))
+                    .isInstanceOf(ValidationException.class);
+            verify(theaterRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("Should update the layout and serve the new one afterwards")
+        void shouldUpdateLayout() {
+            when(theaterRepository.findByName("Hall 1"))
+                    .thenReturn(Optional.of(hall))
+                    .thenReturn(Optional.of(hall))
+                    .thenReturn(Optional.of(new Theater(1L, "Hall 1", 12, 20)));
+            when(showtimeRepository.existsByTheater("Hall 1")).thenReturn(false);
+            when(theaterRepository.save(any(Theater.class))).thenAnswer(invocation -> invocation.getArgument(0));
+            assertThat(theaterService.getSeatLayout("Hall 1").capacity()).isEqualTo(200);
+
+            Theater updated = theaterService.updateTheater("Hall 1", new Theater(null, "Hall 1", 12, 20));
+
+            assertThat(updated.getId()).isEqualTo(1L);
+            assertThat(theaterService.getSeatLayout("Hall 1")).isEqualTo(new SeatLayout(240, 20));
+            verify(cacheInvalidationBus).publish(CacheRegion.THEATER, "Hall 1");
+        }
+    }
+
+    @Nested
+    @DisplayName("getSeatLayout() Tests")
+    class GetSeatLayoutTests {
+
+        @Test
+        @DisplayName("Should load the layout once and cache it")
+        void shouldCacheLayout() {
+            when(theaterRepository.findByName("Hall 1")).thenReturn(Optional.of(hall));
+
+            assertThat(theaterService.getSeatLayout("Hall 1")).isEqualTo(new SeatLayout(200, 20));
+            assertThat(theaterService.getSeatLayout("Hall 1")).isEqualTo(new SeatLayout(200, 20));
+
+            verify(theaterRepository, times(1)).findByName("Hall 1");
+        }
+
+        @Test
+        @DisplayName("Should reload a layout invalidated by another node")
+        void shouldReloadInvalidatedLayout() {
+            when(theaterRepository.findByName("Hall 1")).thenReturn(Optional.of(hall));
+
+            theaterService.getSeatLayout("Hall 1");
+            theaterService.invalidate("Hall 1");
+            theaterService.getSeatLayout("Hall 1");
+
+            verify(theaterRepository, times(2)).findByName("Hall 1");
+        }
+
+        @Test
+        @DisplayName("Should fall back to the default layout for unknown theaters")
+        void shouldFallBackToDefault() {
+            when(theaterRepository.findByName("Old Hall")).thenReturn(Optional.empty());
+
+            assertThat(theaterService.getSeatLayout("Old Hall")).isEqualTo(SeatLayout.DEFAULT);
+        }
+    }
+
+    @Test
+    @DisplayName("Should throw ResourceNotFoundException for an unknown theater")
+    void shouldThrowForUnknownTheater() {
+        when(theaterRepository.findByName("Nowhere")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> theaterService.getTheaterByName("Nowhere"))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("ERROR: Theater with name Nowhere does not exist.");
+    }
+}
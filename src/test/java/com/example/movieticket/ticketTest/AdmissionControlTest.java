@@ -0,0 +1,135 @@
+package com.example.movieticket.ticketTest;
+
+import com.example.movieticket.exception.WaitingRoomException;
+import com.example.movieticket.ticket.AdmissionControl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("AdmissionControl Tests")
+class AdmissionControlTest {
+
+    private final AtomicLong now = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+
+    private AdmissionControl admissionControl(int limit, int queueCapacity, Duration maxWait) {
+        return new AdmissionControl(true, limit, 1, 100, queueCapacity, maxWait, now::get);
+    }
+
+    @Test
+    @DisplayName("Should admit immediately while under the limit")
+    void shouldAdmitUnderLimit() {
+        AdmissionControl admission = admissionControl(2, 10, Duration.ofSeconds(1));
+
+        AdmissionControl.Permit first = admission.admit(1L).join();
+        AdmissionControl.Permit second = admission.admit(1L).join();
+
+        assertThat(admission.stats().inFlight()).isEqualTo(2);
+        first.close();
+        second.close();
+        assertThat(admission.stats().inFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should hand a released slot to the longest waiting caller without blocking either")
+    void shouldAdmitWaitersInFifoOrder() throws Exception {
+        AdmissionControl admission = admissionControl(1, 10, Duration.ofSeconds(10));
+        AdmissionControl.Permit holder = admission.admit(1L).join();
+
+        CompletableFuture<AdmissionControl.Permit> first = admission.admit(1L);
+        CompletableFuture<AdmissionControl.Permit> second = admission.admit(1L);
+
+        assertThat(admission.stats().queued()).isEqualTo(2);
+        assertThat(first).isNotDone();
+        assertThat(second).isNotDone();
+
+        holder.close();
+        AdmissionControl.Permit firstPermit = first.get(5, TimeUnit.SECONDS);
+        assertThat(second).isNotDone();
+
+        firstPermit.close();
+        second.get(5, TimeUnit.SECONDS).close();
+
+        assertThat(admission.stats().inFlight()).isZero();
+        assertThat(admission.stats().queued()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should report the line while queued and hand each waiter its position on admission")
+    void shouldExposeQueuePosition() throws Exception {
+        AdmissionControl admission = admissionControl(1, 10, Duration.ofSeconds(10));
+        AdmissionControl.Permit holder = admission.admit(1L).join();
+        assertThat(holder.getQueuePosition()).isZero();
+
+        CompletableFuture<AdmissionControl.Permit> first = admission.admit(1L);
+        CompletableFuture<AdmissionControl.Permit> second = admission.admit(1L);
+
+        assertThat(admission.queueStatus(1L).waiting()).isEqualTo(2);
+        assertThat(admission.queueStatus(1L).etaSeconds()).isPositive();
+        assertThat(admission.queueStatus(2L).waiting()).isZero();
+
+        holder.close();
+        AdmissionControl.Permit firstPermit = first.get(5, TimeUnit.SECONDS);
+        assertThat(firstPermit.getQueuePosition()).isEqualTo(1);
+        assertThat(firstPermit.getEtaSeconds()).isPositive();
+        assertThat(admission.queueStatus(1L).waiting()).isEqualTo(1);
+
+        firstPermit.close();
+        AdmissionControl.Permit secondPermit = second.get(5, TimeUnit.SECONDS);
+        assertThat(secondPermit.getQueuePosition()).isEqualTo(2);
+        secondPermit.close();
+    }
+
+    @Test
+    @DisplayName("Should reject with a queue position when the showtime queue is full")
+    void shouldRejectWhenQueueIsFull() {
+        AdmissionControl admission = admissionControl(1, 0, Duration.ofSeconds(1));
+        admission.admit(1L).join();
+
+        assertThatThrownBy(() -> admission.admit(1L))
+                .isInstanceOf(WaitingRoomException.class)
+                .satisfies(e -> {
+                    WaitingRoomException waitingRoom = (WaitingRoomException) e;
+                    assertThat(waitingRoom.getPosition()).isEqualTo(1);
+                    assertThat(waitingRoom.getEtaSeconds()).isPositive();
+                });
+    }
+
+    @Test
+    @DisplayName("Should give up after the maximum wait and leave the queue")
+    void shouldTimeOutWaiting() {
+        AdmissionControl admission = admissionControl(1, 10, Duration.ofMillis(20));
+        admission.admit(1L).join();
+
+        assertThat(admission.admit(1L)).failsWithin(5, TimeUnit.SECONDS)
+                .withThrowableOfType(ExecutionException.class)
+                .withCauseInstanceOf(WaitingRoomException.class);
+        assertThat(admission.stats().queued()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should lower the limit when booking latency climbs")
+    void shouldShrinkLimitWhenLatencyRises() {
+        AdmissionControl admission = admissionControl(50, 10, Duration.ofSeconds(1));
+        book(admission, TimeUnit.MILLISECONDS.toNanos(10));
+        int before = admission.stats().limit();
+
+        for (int i = 0; i < 20; i++) {
+            book(admission, TimeUnit.MILLISECONDS.toNanos(100));
+        }
+
+        assertThat(admission.stats().limit()).isLessThan(before);
+    }
+
+    private void book(AdmissionControl admission, long latencyNanos) {
+        AdmissionControl.Permit permit = admission.admit(1L).join();
+        now.addAndGet(latencyNanos);
+        permit.close();
+    }
+}
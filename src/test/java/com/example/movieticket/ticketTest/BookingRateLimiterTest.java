@@ -0,0 +1,117 @@
+package com.example.movieticket.ticketTest;
+
+import com.example.movieticket.exception.TooManyRequestsException;
+import com.example.movieticket.ticket.BookingRateLimiter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("BookingRateLimiter Tests")
+class BookingRateLimiterTest {
+
+    private AtomicLong now;
+    private BookingRateLimiter rateLimiter;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        now = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+        rateLimiter = new BookingRateLimiter(true, 3, 60, now::get);
+        userId = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("Should allow a burst and then reject with a retry hint")
+    void shouldRejectAfterBurst() {
+        rateLimiter.acquire(userId);
+        rateLimiter.acquire(userId);
+        rateLimiter.acquire(userId);
+
+        assertThatThrownBy(() -> rateLimiter.acquire(userId))
+                .isInstanceOf(TooManyRequestsException.class)
+                .extracting("retryAfterSeconds").isEqualTo(1L);
+        assertThat(rateLimiter.stats().allowed()).isEqualTo(3);
+        assertThat(rateLimiter.stats().rejected()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should refill one token per interval")
+    void shouldRefillOverTime() {
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.acquire(userId);
+        }
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        assertThatCode(() -> rateLimiter.acquire(userId)).doesNotThrowAnyException();
+        assertThatThrownBy(() -> rateLimiter.acquire(userId)).isInstanceOf(TooManyRequestsException.class);
+    }
+
+    @Test
+    @DisplayName("Should keep separate buckets per user")
+    void shouldIsolateUsers() {
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.acquire(userId);
+        }
+
+        assertThatCode(() -> rateLimiter.acquire(UUID.randomUUID())).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("Should drop buckets of users that have been idle long enough to refill")
+    void shouldEvictIdleUsers() {
+        rateLimiter.acquire(userId);
+        assertThat(rateLimiter.stats().trackedUsers()).isEqualTo(1);
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(5));
+        rateLimiter.evictIdle();
+
+        assertThat(rateLimiter.stats().trackedUsers()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should keep the limit of a user whose bucket has not refilled when idle buckets are dropped")
+    void shouldKeepBusyBucketsOnEviction() {
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.acquire(userId);
+        }
+
+        rateLimiter.evictIdle();
+
+        assertThat(rateLimiter.stats().trackedUsers()).isEqualTo(1);
+        assertThatThrownBy(() -> rateLimiter.acquire(userId)).isInstanceOf(TooManyRequestsException.class);
+    }
+
+    @Test
+    @DisplayName("Should start a fresh bucket for a user whose idle bucket was dropped")
+    void shouldRecreateEvictedBucket() {
+        rateLimiter.acquire(userId);
+        now.addAndGet(TimeUnit.SECONDS.toNanos(5));
+        rateLimiter.evictIdle();
+
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.acquire(userId);
+        }
+
+        assertThatThrownBy(() -> rateLimiter.acquire(userId)).isInstanceOf(TooManyRequestsException.class);
+        assertThat(rateLimiter.stats().trackedUsers()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should let everything through when disabled")
+    void shouldAllowAllWhenDisabled() {
+        BookingRateLimiter disabled = new BookingRateLimiter(false, 1, 1, now::get);
+
+        for (int i = 0; i < 10; i++) {
+            disabled.acquire(userId);
+        }
+
+        assertThat(disabled.stats().trackedUsers()).isZero();
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.movieticket.ticketTest;
+
+import com.example.movieticket.cache.CacheInvalidationBus;
+import com.example.movieticket.cache.CacheRegion;
+import com.example.movieticket.movie.Movie;
+import com.example.movieticket.movie.MovieDeletedEvent;
+import com.example.movieticket.movie.MovieRepository;
+import com.example.movieticket.showtime.Showtime;
+import com.example.movieticket.showtime.ShowtimeDeletedEvent;
+import com.example.movieticket.showtime.ShowtimeOccupancy;
+import com.example.movieticket.showtime.ShowtimeOccupancyRepository;
+import com.example.movieticket.showtime.ShowtimeOccupancyService;
+import com.example.movieticket.showtime.ShowtimeRepository;
+import com.example.movieticket.ticket.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.*;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Cascade delete Tests")
+class CascadeDeleteTest {
+
+    private static final int CHUNK_SIZE = 100;
+    private static final long MOVIE_ID = 900_001L;
+    private static final long OTHER_MOVIE_ID = 900_002L;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private ShowtimeSeatWordRepository seatWordRepository;
+
+    @Autowired
+    private ShowtimeOccupancyRepository occupancyRepository;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    private final ShowtimeOccupancyService showtimeOccupancyService = mock(ShowtimeOccupancyService.class);
+    private final SeatAllocator seatAllocator = mock(SeatAllocator.class);
+    private final BookingCache bookingCache = mock(BookingCache.class);
+    private final CacheInvalidationBus cacheInvalidationBus = mock(CacheInvalidationBus.class);
+
+    private CascadeDelete cascadeDelete;
+    private Long bigShowtime;
+    private Long smallShowtime;
+    private Long otherMovieShowtime;
+
+    @BeforeEach
+    void setUp() {
+        cascadeDelete = new CascadeDelete(CHUNK_SIZE, Duration.ofHours(1), jdbcTemplate, transactionManager,
+                showtimeOccupancyService, seatAllocator, bookingCache, cacheInvalidationBus);
+
+        bigShowtime = showtime(MOVIE_ID, "Theater A");
+        smallShowtime = showtime(MOVIE_ID, "Theater B");
+        otherMovieShowtime = showtime(OTHER_MOVIE_ID, "Theater C");
+        tickets(bigShowtime, 250);
+        tickets(smallShowtime, 3);
+        tickets(otherMovieShowtime, 2);
+        seatWordRepository.save(new ShowtimeSeatWord(null, smallShowtime, 0, 7L));
+        occupancyRepository.save(new ShowtimeOccupancy(smallShowtime, 100, 3));
+    }
+
+    @AfterEach
+    void tearDown() {
+        cascadeDelete.shutdown();
+        ticketRepository.deleteAllInBatch();
+        seatWordRepository.deleteAllInBatch();
+        occupancyRepository.deleteAllInBatch();
+        showtimeRepository.deleteAllInBatch();
+        movieRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("Should delete a movie's showtimes with all their tickets and seat state")
+    void shouldPurgeMovie() {
+        cascadeDelete.purgeMovie(MOVIE_ID);
+
+        assertThat(showtimeRepository.findAll()).extracting(Showtime::getId).containsExactly(otherMovieShowtime);
+        assertThat(ticketRepository.findAll()).extracting(Ticket::getShowtimeId).containsOnly(otherMovieShowtime).hasSize(2);
+        assertThat(seatWordRepository.count()).isZero();
+        assertThat(occupancyRepository.count()).isZero();
+        verify(seatAllocator).evict(bigShowtime);
+        verify(bookingCache).evictShowtime(smallShowtime);
+        verify(cacheInvalidationBus).publish(CacheRegion.SHOWTIME, bigShowtime);
+        verify(cacheInvalidationBus, never()).publish(CacheRegion.SHOWTIME, otherMovieShowtime);
+    }
+
+    @Test
+    @DisplayName("Should delete a deleted showtime's tickets in chunks and leave other showtimes alone")
+    void shouldPurgeShowtimeChildren() {
+        showtimeRepository.deleteById(bigShowtime);
+
+        cascadeDelete.onShowtimeDeleted(new ShowtimeDeletedEvent(bigShowtime, null, 0));
+
+        await().atMost(5, TimeUnit.SECONDS)
+                .until(() -> ticketRepository.findSeatNumbersByShowtimeId(bigShowtime).isEmpty());
+        assertThat(ticketRepository.findSeatNumbersByShowtimeId(smallShowtime)).hasSize(3);
+        assertThat(occupancyRepository.existsById(smallShowtime)).isTrue();
+        verify(showtimeOccupancyService).evict(bigShowtime);
+        verifyNoInteractions(cacheInvalidationBus);
+    }
+
+    @Test
+    @DisplayName("Should purge a deleted movie in the background, off the caller's thread")
+    void shouldPurgeMovieInBackground() {
+        cascadeDelete.onMovieDeleted(new MovieDeletedEvent(MOVIE_ID));
+
+        await().atMost(5, TimeUnit.SECONDS)
+                .until(() -> showtimeRepository.findAll().stream().map(Showtime::getId).toList(),
+                        ids -> ids.equals(List.of(otherMovieShowtime)));
+    }
+
+    @Test
+    @DisplayName("Should sweep up showtimes and children whose parent is gone")
+    void shouldSweepOrphans() {
+        Long movieId = movieRepository.save(new Movie(null, "Kept", "Drama", 120, 7.0, 2020)).getId();
+        Long keptShowtime = showtime(movieId, "Theater D");
+        tickets(keptShowtime, 4);
+        showtimeRepository.deleteById(smallShowtime);
+
+        cascadeDelete.sweepOrphans();
+
+        assertThat(showtimeRepository.findAll()).extracting(Showtime::getId).containsExactly(keptShowtime);
+        assertThat(ticketRepository.findAll()).extracting(Ticket::getShowtimeId).containsOnly(keptShowtime).hasSize(4);
+        assertThat(seatWordRepository.count()).isZero();
+        assertThat(occupancyRepository.count()).isZero();
+        verify(seatAllocator).evict(smallShowtime);
+        verify(cacheInvalidationBus).publish(CacheRegion.SHOWTIME, otherMovieShowtime);
+        verify(cacheInvalidationBus, never()).publish(CacheRegion.SHOWTIME, keptShowtime);
+    }
+
+    private Long showtime(Long movieId, String theater) {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 15, 19, 0);
+        return showtimeRepository.save(new Showtime(null, movieId, theater, start, start.plusHours(2), 10.0)).getId();
+    }
+
+    private void tickets(Long showtimeId, int count) {
+        List<Ticket> tickets = new ArrayList<>(count);
+        for (int seat = 1; seat <= count; seat++) {
+            tickets.add(new Ticket(null, showtimeId, seat, UUID.randomUUID()));
+        }
+        ticketRepository.saveAll(tickets);
+    }
+}
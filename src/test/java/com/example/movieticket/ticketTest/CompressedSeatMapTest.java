@@ -0,0 +1,79 @@
+package com.example.movieticket.ticketTest;
+
+import com.example.movieticket.theater.SeatLayout;
+import com.example.movieticket.ticket.CompressedSeatMap;
+import com.example.movieticket.ticket.SeatMap;
+import com.example.movieticket.ticket.SeatState;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("CompressedSeatMap Tests")
+class CompressedSeatMapTest {
+
+    @Test
+    @DisplayName("Should pick bitsets for halls and compressed maps for stadiums")
+    void shouldPickRepresentationBySize() {
+        assertThat(SeatState.forLayout(new SeatLayout(300, 20))).isInstanceOf(SeatMap.class);
+        assertThat(SeatState.forLayout(new SeatLayout(60_000, 300))).isInstanceOf(CompressedSeatMap.class);
+    }
+
+    @Test
+    @DisplayName("Should track seats through sparse and dense chunks")
+    void shouldTrackSeatsAcrossChunkTypes() {
+        CompressedSeatMap seats = new CompressedSeatMap(10_000, 100);
+        for (int seat = 1; seat <= 1000; seat++) {
+            seats.take(seat);
+        }
+        seats.take(9_999);
+
+        assertThat(seats.isTaken(500)).isTrue();
+        assertThat(seats.isTaken(1001)).isFalse();
+        assertThat(seats.isTaken(9_999)).isTrue();
+        assertThat(seats.freeSeats()).isEqualTo(10_000 - 1001);
+
+        seats.free(500);
+        seats.free(9_999);
+
+        assertThat(seats.isTaken(500)).isFalse();
+        assertThat(seats.isTaken(9_999)).isFalse();
+        assertThat(seats.freeSeats()).isEqualTo(10_000 - 999);
+    }
+
+    @Test
+    @DisplayName("Should keep blocks inside a single row")
+    void shouldKeepBlocksInOneRow() {
+        CompressedSeatMap seats = new CompressedSeatMap(20_000, 10);
+        for (int seat = 1; seat <= 20_000; seat++) {
+            if (seat % 10 != 0 && seat % 10 != 1) {
+                seats.take(seat);
+            }
+        }
+
+        assertThat(seats.findBestBlock(2)).isEqualTo(-1);
+        assertThat(seats.findBestBlock(1)).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should choose the same block as the bitset for the same seats")
+    void shouldMatchBitsetChoice() {
+        int capacity = 5_000;
+        int seatsPerRow = 50;
+        SeatMap bitset = new SeatMap(capacity, seatsPerRow);
+        CompressedSeatMap compressed = new CompressedSeatMap(capacity, seatsPerRow);
+        Random random = new Random(42);
+        for (int i = 0; i < 4_000; i++) {
+            int seat = 1 + random.nextInt(capacity);
+            bitset.take(seat);
+            compressed.take(seat);
+        }
+
+        for (int size = 1; size <= 6; size++) {
+            assertThat(compressed.findBestBlock(size)).as("party of %d", size).isEqualTo(bitset.findBestBlock(size));
+        }
+        assertThat(compressed.freeSeats()).isEqualTo(bitset.freeSeats());
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.movieticket.ticketTest;
+
+import com.example.movieticket.exception.ValidationException;
+import com.example.movieticket.ticket.IdempotencyRecord;
+import com.example.movieticket.ticket.IdempotencyRecordRepository;
+import com.example.movieticket.ticket.IdempotencyStore;
+import com.example.movieticket.ticket.Ticket;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("IdempotencyStore Tests")
+class IdempotencyStoreTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-02T00:00:00Z");
+    private static final UUID USER = UUID.randomUUID();
+
+    @Mock
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    private IdempotencyStore idempotencyStore;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyStore = new IdempotencyStore(idempotencyRecordRepository, 100, Duration.ofHours(24),
+                Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @AfterEach
+    void tearDown() {
+        idempotencyStore.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should answer remembered keys from memory")
+    void shouldAnswerRememberedKeysFromMemory() {
+        Ticket booked = ticket(USER, 1L, 15);
+
+        idempotencyStore.remember(booked, "key-1");
+
+        assertThat(idempotencyStore.find(ticket(USER, 1L, 15), "key-1")).contains(booked.getId());
+        verify(idempotencyRecordRepository).save(any(IdempotencyRecord.class));
+        verify(idempotencyRecordRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Should fall back to the database on a memory miss")
+    void shouldFallBackToDatabase() {
+        Ticket booked = ticket(USER, 1L, 15);
+        ArgumentCaptor<IdempotencyRecord> stored = ArgumentCaptor.forClass(IdempotencyRecord.class);
+        idempotencyStore.remember(booked, "key-1");
+        verify(idempotencyRecordRepository).save(stored.capture());
+        IdempotencyStore restarted = new IdempotencyStore(idempotencyRecordRepository, 100, Duration.ofHours(24),
+                Clock.fixed(NOW, ZoneOffset.UTC));
+        when(idempotencyRecordRepository.findById(stored.getValue().getIdempotencyKey()))
+                .thenReturn(Optional.of(stored.getValue()));
+
+        try {
+            assertThat(restarted.find(ticket(USER, 1L, 15), "key-1")).contains(booked.getId());
+            assertThat(restarted.find(ticket(USER, 1L, 15), "key-1")).contains(booked.getId());
+        } finally {
+            restarted.shutdown();
+        }
+
+        verify(idempotencyRecordRepository, times(1)).findById(any());
+    }
+
+    @Test
+    @DisplayName("Should ignore database records older than the TTL")
+    void shouldIgnoreExpiredRecords() {
+        when(idempotencyRecordRepository.findById(any()))
+                .thenReturn(Optional.of(new IdempotencyRecord(USER + ":key-1", UUID.randomUUID(), "hash",
+                        NOW.minus(Duration.ofDays(2)))));
+
+        assertThat(idempotencyStore.find(ticket(USER, 1L, 15), "key-1")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should keep the same key from different users apart")
+    void shouldScopeKeysByUser() {
+        idempotencyStore.remember(ticket(USER, 1L, 15), "key-1");
+
+        assertThat(idempotencyStore.find(ticket(UUID.randomUUID(), 1L, 15), "key-1")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should reject a key replayed for a different seat")
+    void shouldRejectDifferentRequestForSameKey() {
+        idempotencyStore.remember(ticket(USER, 1L, 15), "key-1");
+
+        assertThatThrownBy(() -> idempotencyStore.find(ticket(USER, 1L, 16), "key-1"))
+                .isInstanceOf(ValidationException.class)
+                .hasMessageContaining("already used for a different booking");
+    }
+
+    @Test
+    @DisplayName("Should forget the keys of a cancelled booking")
+    void shouldForgetCancelledBooking() {
+        Ticket booked = ticket(USER, 1L, 15);
+        idempotencyStore.remember(booked, "key-1");
+
+        idempotencyStore.forget(booked.getId());
+
+        assertThat(idempotencyStore.find(ticket(USER, 1L, 15), "key-1")).isEmpty();
+        verify(idempotencyRecordRepository).deleteByBookingId(booked.getId());
+    }
+
+    @Test
+    @DisplayName("Should keep the keys of other bookings when one is cancelled")
+    void shouldOnlyForgetCancelledBookingKeys() {
+        Ticket cancelled = ticket(USER, 1L, 15);
+        Ticket kept = ticket(USER, 1L, 16);
+        idempotencyStore.remember(cancelled, "key-1");
+        idempotencyStore.remember(cancelled, "key-2");
+        idempotencyStore.remember(kept, "key-3");
+
+        idempotencyStore.forget(cancelled.getId());
+
+        assertThat(idempotencyStore.find(ticket(USER, 1L, 15), "key-2")).isEmpty();
+        assertThat(idempotencyStore.find(ticket(USER, 1L, 16), "key-3")).contains(kept.getId());
+    }
+
+    private static Ticket ticket(UUID userId, Long showtimeId, int seatNumber) {
+        return new Ticket(UUID.randomUUID(), showtimeId, seatNumber, userId);
+    }
+}
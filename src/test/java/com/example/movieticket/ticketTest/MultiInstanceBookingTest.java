@@ -0,0 +1,105 @@
+package com.example.movieticket.ticketTest;
+
+import com.example.movieticket.MovieTicketApplication;
+import com.example.movieticket.exception.ValidationException;
+import com.example.movieticket.showtime.Showtime;
+import com.example.movieticket.showtime.ShowtimeRepository;
+import com.example.movieticket.ticket.ShowtimeSeatRepository;
+import com.example.movieticket.ticket.Ticket;
+import com.example.movieticket.ticket.TicketRepository;
+import com.example.movieticket.ticket.TicketService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Runs two application contexts in one JVM against one database in {@code SEAT_ROWS} mode, standing in
+ * for two instances behind a load balancer. Uses a shared in-memory H2 database by default; point it at
+ * PostgreSQL with {@code -Dmulti-instance.url=jdbc:postgresql://... [-Dmulti-instance.user=...]
+ * [-Dmulti-instance.password=...]}.
+ */
+@DisplayName("Multi-instance booking Tests")
+class MultiInstanceBookingTest {
+
+    private static final int SEATS = 20;
+    private static final int THREADS = 8;
+
+    @Test
+    @DisplayName("Should book every seat exactly once when two instances race for the same showtime")
+    void shouldBookEachSeatOnceAcrossInstances() throws Exception {
+        try (ConfigurableApplicationContext first = startInstance();
+             ConfigurableApplicationContext second = startInstance()) {
+            LocalDateTime start = LocalDateTime.of(2099, 1, 1, 19, 0);
+            Long showtimeId = first.getBean(ShowtimeRepository.class)
+                    .save(new Showtime(null, 1L, "Hall " + UUID.randomUUID(), start, start.plusHours(2), 10.0))
+                    .getId();
+            List<TicketService> instances = List.of(first.getBean(TicketService.class), second.getBean(TicketService.class));
+
+            AtomicInteger booked = new AtomicInteger();
+            AtomicInteger rejected = new AtomicInteger();
+            ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+            try {
+                List<Future<?>> workers = new ArrayList<>();
+                for (int thread = 0; thread < THREADS; thread++) {
+                    TicketService instance = instances.get(thread % instances.size());
+                    workers.add(pool.submit(() -> {
+                        for (int seat = 1; seat <= SEATS; seat++) {
+                            try {
+                                instance.addTicket(new Ticket(null, showtimeId, seat, UUID.randomUUID()));
+                                booked.incrementAndGet();
+                            } catch (ValidationException e) {
+                                rejected.incrementAndGet();
+                            }
+                        }
+                    }));
+                }
+                for (Future<?> worker : workers) {
+                    worker.get(60, TimeUnit.SECONDS);
+                }
+            } finally {
+                pool.shutdownNow();
+            }
+
+            assertThat(booked.get()).isEqualTo(SEATS);
+            assertThat(rejected.get()).isEqualTo(SEATS * (THREADS - 1));
+            assertThat(first.getBean(TicketRepository.class).findSeatNumbersByShowtimeId(showtimeId))
+                    .hasSize(SEATS)
+                    .doesNotHaveDuplicates();
+            assertThat(second.getBean(ShowtimeSeatRepository.class).findTakenSeatNumbers(showtimeId))
+                    .hasSize(SEATS);
+        }
+    }
+
+    private static ConfigurableApplicationContext startInstance() {
+        String url = System.getProperty("multi-instance.url", "jdbc:h2:mem:multi-instance;DB_CLOSE_DELAY=-1");
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=" + url,
+                "--spring.datasource.username=" + System.getProperty("multi-instance.user", "sa"),
+                "--spring.datasource.password=" + System.getProperty("multi-instance.password", "password"),
+                "--spring.jpa.hibernate.ddl-auto=update",
+                "--spring.jpa.show-sql=false",
+                "--booking.storage-mode=SEAT_ROWS",
+                "--booking.rate-limit.enabled=false"));
+        if (url.startsWith("jdbc:postgresql:")) {
+            args.add("--spring.datasource.driver-class-name=org.postgresql.Driver");
+            args.add("--spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect");
+        }
+        return new SpringApplicationBuilder(MovieTicketApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args.toArray(String[]::new));
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.movieticket.ticketTest;
+
+import com.example.movieticket.exception.GlobalExceptionHandler;
+import com.example.movieticket.exception.ResourceNotFoundException;
+import com.example.movieticket.ticket.SeatAvailability;
+import com.example.movieticket.ticket.SeatAvailabilityController;
+import com.example.movieticket.ticket.SeatInventory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SeatAvailabilityController Tests")
+class SeatAvailabilityControllerTest {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private SeatInventory seatInventory;
+
+    @InjectMocks
+    private SeatAvailabilityController seatAvailabilityController;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(seatAvailabilityController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should return the taken seats of a showtime")
+    void shouldReturnAvailability() throws Exception {
+        when(seatInventory.getAvailability(1L)).thenReturn(new SeatAvailability(1L, 100, 98, List.of(3, 7)));
+
+        mockMvc.perform(get("/showtimes/1/seats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.capacity").value(100))
+                .andExpect(jsonPath("$.freeSeats").value(98))
+                .andExpect(jsonPath("$.takenSeats[1]").value(7));
+    }
+
+    @Test
+    @DisplayName("Should return 404 for an unknown showtime")
+    void shouldReturnNotFound() throws Exception {
+        when(seatInventory.getAvailability(99L))
+                .thenThrow(new ResourceNotFoundException("ERROR: Showtime with id 99 does not exist."));
+
+        mockMvc.perform(get("/showtimes/99/seats"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.movieticket.ticketTest;
+
+import com.example.movieticket.ticket.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+@DisplayName("SeatEventStream Tests")
+class SeatEventStreamTest {
+
+    private SeatEventStream seatEventStream;
+
+    @BeforeEach
+    void setUp() {
+        seatEventStream = new SeatEventStream(60_000, 200);
+    }
+
+    @AfterEach
+    void tearDown() {
+        seatEventStream.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should track subscribers per showtime and drop them on completion")
+    void shouldTrackSubscribers() {
+        SseEmitter first = seatEventStream.subscribe(1L);
+        seatEventStream.subscribe(1L);
+        seatEventStream.subscribe(2L);
+
+        assertThat(seatEventStream.subscriberCount(1L)).isEqualTo(2);
+        assertThat(seatEventStream.subscriberCount(2L)).isEqualTo(1);
+        assertThat(first).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should flush booked seats without failing when there are no listeners")
+    void shouldIgnoreEventsWithoutSubscribers() {
+        seatEventStream.onTicketBooked(new TicketBookedEvent(UUID.randomUUID(), 3L, 10, UUID.randomUUID()));
+
+        assertThatCode(() -> seatEventStream.flush()).doesNotThrowAnyException();
+        assertThat(seatEventStream.subscriberCount(3L)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should keep flushing while one client is stuck, then drop that client")
+    void shouldDropStalledSubscriber() throws Exception {
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch unblock = new CountDownLatch(1);
+        SseEmitter stuck = new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) throws IOException {
+                sending.countDown();
+                try {
+                    unblock.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        seatEventStream.subscribe(1L, stuck);
+        seatEventStream.subscribe(1L);
+
+        try {
+            seatEventStream.publish(1L, new SeatDelta(5, SeatStatus.TAKEN));
+            assertTimeoutPreemptively(Duration.ofSeconds(1), () -> seatEventStream.flush());
+            assertThat(sending.await(5, TimeUnit.SECONDS)).isTrue();
+
+            await().atMost(5, TimeUnit.SECONDS).until(() -> {
+                seatEventStream.flush();
+                return seatEventStream.subscriberCount(1L) == 1;
+            });
+        } finally {
+            unblock.countDown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should coalesce a burst into one change per seat, keeping the latest status")
+    void shouldCoalesceBurst() {
+        SeatDeltaBatch batch = SeatDeltaBatch.coalesce(1L, List.of(
+                new SeatDelta(5, SeatStatus.TAKEN),
+                new SeatDelta(6, SeatStatus.TAKEN),
+                new SeatDelta(5, SeatStatus.RELEASED)
+        ));
+
+        assertThat(batch.showtimeId()).isEqualTo(1L);
+        assertThat(batch.changes()).containsExactly(
+                new SeatDelta(6, SeatStatus.TAKEN),
+                new SeatDelta(5, SeatStatus.RELEASED));
+    }
+}
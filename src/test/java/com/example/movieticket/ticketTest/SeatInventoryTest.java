@@ -0,0 +1,158 @@
+package com.example.movieticket.ticketTest;
+
+import com.example.movieticket.exception.ValidationException;
+import com.example.movieticket.showtime.ShowtimeService;
+import com.example.movieticket.theater.SeatLayout;
+import com.example.movieticket.ticket.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SeatInventory Tests")
+class SeatInventoryTest {
+
+    @Mock
+    private ShowtimeSeatWordRepository seatWordRepository;
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    @Mock
+    private ShowtimeService showtimeService;
+
+    @Mock
+    private SeatRowStore seatRowStore;
+
+    private SeatInventory inventory(BookingStorageMode mode) {
+        return new SeatInventory(mode, seatWordRepository, ticketRepository, showtimeService, seatRowStore);
+    }
+
+    @Nested
+    @DisplayName("SEAT_MAP mode Tests")
+    class SeatMapModeTests {
+
+        @Test
+        @DisplayName("Should claim each word with one conditional update")
+        void shouldClaimWithOneUpdatePerWord() {
+            when(seatWordRepository.takeSeats(1L, 0, 0b110L)).thenReturn(1);
+            when(seatWordRepository.takeSeats(1L, 1, 1L)).thenReturn(1);
+
+            inventory(BookingStorageMode.SEAT_MAP).claim(1L, List.of(2, 3, 65));
+
+            verify(seatWordRepository, never()).existsByShowtimeId(anyLong());
+        }
+
+        @Test
+        @DisplayName("Should reject a seat whose bit is already set")
+        void shouldRejectTakenSeat() {
+            when(seatWordRepository.takeSeats(1L, 0, 1L << 14)).thenReturn(0);
+            when(seatWordRepository.existsByShowtimeId(1L)).thenReturn(true);
+
+            assertThatThrownBy(() -> inventory(BookingStorageMode.SEAT_MAP).claim(1L, List.of(15)))
+                    .isInstanceOf(ValidationException.class)
+                    .hasMessage("The wanted seat is already booked! choose anther seat.");
+        }
+
+        @Test
+        @DisplayName("Should build the seat words from sold tickets on first use")
+        void shouldCreateWordsFromTickets() {
+            when(seatWordRepository.takeSeats(1L, 0, 1L)).thenReturn(0, 1);
+            when(seatWordRepository.existsByShowtimeId(1L)).thenReturn(false);
+            when(showtimeService.getSeatLayout(1L)).thenReturn(new SeatLayout(100, 10));
+            when(ticketRepository.findSeatNumbersByShowtimeId(1L)).thenReturn(List.of(5, 70));
+
+            inventory(BookingStorageMode.SEAT_MAP).claim(1L, List.of(1));
+
+            verify(seatWordRepository).insertIfMissing(1L, 0, 1L << 4);
+            verify(seatWordRepository).insertIfMissing(1L, 1, 1L << 5);
+        }
+
+        @Test
+        @DisplayName("Should read availability from the seat words")
+        void shouldReadAvailabilityFromWords() {
+            when(showtimeService.getSeatLayout(1L)).thenReturn(new SeatLayout(100, 10));
+            when(seatWordRepository.findByShowtimeIdOrderByWordIndexAsc(1L)).thenReturn(List.of(
+                    new ShowtimeSeatWord(1L, 1L, 0, 0b101L),
+                    new ShowtimeSeatWord(2L, 1L, 1, Long.MIN_VALUE)));
+
+            SeatAvailability availability = inventory(BookingStorageMode.SEAT_MAP).getAvailability(1L);
+
+            assertThat(availability.takenSeats()).containsExactly(1, 3, 128);
+            assertThat(availability.freeSeats()).isEqualTo(97);
+            verifyNoInteractions(ticketRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("SEAT_ROWS mode Tests")
+    class SeatRowsModeTests {
+
+        @Test
+        @DisplayName("Should claim and release through the seat rows")
+        void shouldDelegateToSeatRows() {
+            SeatInventory inventory = inventory(BookingStorageMode.SEAT_ROWS);
+
+            inventory.claim(1L, List.of(4, 5));
+            inventory.release(1L, 4);
+
+            assertThat(inventory.tracksSeats()).isTrue();
+            verify(seatRowStore).claim(1L, List.of(4, 5));
+            verify(seatRowStore).release(1L, 4);
+            verifyNoInteractions(seatWordRepository);
+        }
+
+        @Test
+        @DisplayName("Should read availability from the seat rows")
+        void shouldReadAvailabilityFromSeatRows() {
+            when(showtimeService.getSeatLayout(1L)).thenReturn(SeatLayout.DEFAULT);
+            when(seatRowStore.findTakenSeats(1L)).thenReturn(List.of(4, 5));
+
+            SeatAvailability availability = inventory(BookingStorageMode.SEAT_ROWS).getAvailability(1L);
+
+            assertThat(availability.takenSeats()).containsExactly(4, 5);
+            assertThat(availability.freeSeats()).isEqualTo(98);
+            verifyNoInteractions(ticketRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("TICKET_ROWS mode Tests")
+    class TicketRowsModeTests {
+
+        @Test
+        @DisplayName("Should leave claims to the ticket rows")
+        void shouldNotTouchSeatWords() {
+            SeatInventory inventory = inventory(BookingStorageMode.TICKET_ROWS);
+
+            inventory.claim(1L, List.of(5));
+            inventory.release(1L, 5);
+
+            assertThat(inventory.tracksSeats()).isFalse();
+            verify(seatWordRepository, never()).takeSeats(anyLong(), anyInt(), anyLong());
+            verify(seatWordRepository, never()).releaseSeats(anyLong(), anyInt(), anyLong());
+        }
+
+        @Test
+        @DisplayName("Should read availability from the ticket rows")
+        void shouldReadAvailabilityFromTickets() {
+            when(showtimeService.getSeatLayout(1L)).thenReturn(SeatLayout.DEFAULT);
+            when(ticketRepository.findSeatNumbersByShowtimeId(1L)).thenReturn(List.of(9, 2));
+
+            SeatAvailability availability = inventory(BookingStorageMode.TICKET_ROWS).getAvailability(1L);
+
+            assertThat(availability.takenSeats()).containsExactly(2, 9);
+            assertThat(availability.freeSeats()).isEqualTo(98);
+        }
+    }
+}
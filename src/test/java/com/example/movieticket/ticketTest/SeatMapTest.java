@@ -0,0 +1,70 @@
+package com.example.movieticket.ticketTest;
+
+import com.example.movieticket.ticket.SeatMap;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("SeatMap Tests")
+class SeatMapTest {
+
+    @Test
+    @DisplayName("Should pick the free block closest to the middle of the house")
+    void shouldPickCentralBlock() {
+        SeatMap seatMap = new SeatMap(100);
+
+        assertThat(seatMap.findBestBlock(4)).isEqualTo(49);
+    }
+
+    @Test
+    @DisplayName("Should skip blocks interrupted by taken seats")
+    void shouldSkipInterruptedBlocks() {
+        SeatMap seatMap = new SeatMap(10);
+        seatMap.take(3);
+        seatMap.take(7);
+
+        assertThat(seatMap.findBestBlock(3)).isEqualTo(4);
+        assertThat(seatMap.findBestBlock(4)).isEqualTo(-1);
+    }
+
+    @Test
+    @DisplayName("Should find runs that cross a 64-seat word boundary")
+    void shouldFindRunsAcrossWordBoundary() {
+        SeatMap seatMap = new SeatMap(100);
+        for (int seat = 1; seat <= 100; seat++) {
+            if (seat < 62 || seat > 67) {
+                seatMap.take(seat);
+            }
+        }
+
+        assertThat(seatMap.findBestBlock(6)).isEqualTo(62);
+        assertThat(seatMap.findBestBlock(7)).isEqualTo(-1);
+    }
+
+    @Test
+    @DisplayName("Should never place a block past the last seat")
+    void shouldRespectCapacity() {
+        SeatMap seatMap = new SeatMap(70);
+        for (int seat = 1; seat <= 68; seat++) {
+            seatMap.take(seat);
+        }
+
+        assertThat(seatMap.findBestBlock(2)).isEqualTo(69);
+        assertThat(seatMap.findBestBlock(3)).isEqualTo(-1);
+        assertThat(seatMap.freeSeats()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should report freed seats as available again")
+    void shouldFreeSeats() {
+        SeatMap seatMap = new SeatMap(2);
+        seatMap.take(1);
+        seatMap.take(2);
+
+        seatMap.free(1);
+
+        assertThat(seatMap.isTaken(1)).isFalse();
+        assertThat(seatMap.findBestBlock(1)).isEqualTo(1);
+    }
+}
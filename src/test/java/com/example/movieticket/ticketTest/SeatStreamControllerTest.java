@@ -0,0 +1,68 @@
+package com.example.movieticket.ticketTest;
+
+import com.example.movieticket.exception.GlobalExceptionHandler;
+import com.example.movieticket.exception.ResourceNotFoundException;
+import com.example.movieticket.showtime.ShowtimeService;
+import com.example.movieticket.ticket.SeatEventStream;
+import com.example.movieticket.ticket.SeatStreamController;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SeatStreamController Tests")
+class SeatStreamControllerTest {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private SeatEventStream seatEventStream;
+
+    @Mock
+    private ShowtimeService showtimeService;
+
+    @InjectMocks
+    private SeatStreamController seatStreamController;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(seatStreamController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should open an asynchronous event stream for an existing showtime")
+    void shouldOpenStream() throws Exception {
+        when(seatEventStream.subscribe(1L)).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/showtimes/1/seats/stream"))
+                .andExpect(request().asyncStarted());
+
+        verify(showtimeService).validateShowtimeExists(1L);
+    }
+
+    @Test
+    @DisplayName("Should return 404 without subscribing when the showtime does not exist")
+    void shouldRejectUnknownShowtime() throws Exception {
+        doThrow(new ResourceNotFoundException("ERROR: Showtime with id 999 does not exist."))
+                .when(showtimeService).validateShowtimeExists(999L);
+
+        mockMvc.perform(get("/showtimes/999/seats/stream"))
+                .andExpect(status().isNotFound());
+
+        verifyNoInteractions(seatEventStream);
+    }
+}
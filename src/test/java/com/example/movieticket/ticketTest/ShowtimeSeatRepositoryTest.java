@@ -0,0 +1,53 @@
+package com.example.movieticket.ticketTest;
+
+import com.example.movieticket.ticket.ShowtimeSeat;
+import com.example.movieticket.ticket.ShowtimeSeatRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DataJpaTest
+@DisplayName("ShowtimeSeat Repository Tests")
+class ShowtimeSeatRepositoryTest {
+
+    @Autowired
+    private ShowtimeSeatRepository seatRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        seatRepository.saveAllAndFlush(List.of(
+                new ShowtimeSeat(null, 1L, 1, false),
+                new ShowtimeSeat(null, 1L, 2, true),
+                new ShowtimeSeat(null, 1L, 3, false),
+                new ShowtimeSeat(null, 2L, 1, false)));
+    }
+
+    @Test
+    @DisplayName("Should lock only the free seats that were asked for")
+    void testLockFreeSeats() {
+        assertThat(seatRepository.lockFreeSeats(1L, List.of(1, 2, 3)))
+                .containsExactlyInAnyOrder(1, 3);
+    }
+
+    @Test
+    @DisplayName("Should mark free seats taken and taken seats free")
+    void testMarkTakenAndFree() {
+        assertThat(seatRepository.markTaken(1L, List.of(1, 3))).isEqualTo(2);
+        assertThat(seatRepository.markFree(1L, 2)).isEqualTo(1);
+        assertThat(seatRepository.markFree(1L, 2)).isZero();
+        entityManager.clear();
+
+        assertThat(seatRepository.findTakenSeatNumbers(1L)).containsExactly(1, 3);
+        assertThat(seatRepository.findTakenSeatNumbers(2L)).isEmpty();
+    }
+}
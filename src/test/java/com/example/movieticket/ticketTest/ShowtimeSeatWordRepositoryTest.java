@@ -0,0 +1,49 @@
+package com.example.movieticket.ticketTest;
+
+import com.example.movieticket.ticket.ShowtimeSeatWord;
+import com.example.movieticket.ticket.ShowtimeSeatWordRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DataJpaTest
+@DisplayName("ShowtimeSeatWord Repository Tests")
+class ShowtimeSeatWordRepositoryTest {
+
+    @Autowired
+    private ShowtimeSeatWordRepository seatWordRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    @DisplayName("Should set bits only when none of them are taken")
+    void testTakeSeatsIsConditional() {
+        seatWordRepository.saveAndFlush(new ShowtimeSeatWord(null, 1L, 0, 0b0100L));
+
+        assertThat(seatWordRepository.takeSeats(1L, 0, 0b0011L)).isEqualTo(1);
+        assertThat(seatWordRepository.takeSeats(1L, 0, 0b1100L)).isZero();
+        entityManager.clear();
+
+        assertThat(seatWordRepository.findByShowtimeIdOrderByWordIndexAsc(1L))
+                .singleElement()
+                .extracting(ShowtimeSeatWord::getBits)
+                .isEqualTo(0b0111L);
+    }
+
+    @Test
+    @DisplayName("Should clear bits only when all of them are taken, including the sign bit")
+    void testReleaseSeatsIsConditional() {
+        seatWordRepository.saveAndFlush(new ShowtimeSeatWord(null, 1L, 0, Long.MIN_VALUE | 1L));
+
+        assertThat(seatWordRepository.releaseSeats(1L, 0, 0b11L)).isZero();
+        assertThat(seatWordRepository.releaseSeats(1L, 0, Long.MIN_VALUE)).isEqualTo(1);
+        entityManager.clear();
+
+        assertThat(seatWordRepository.findByShowtimeIdOrderByWordIndexAsc(1L).get(0).getBits()).isEqualTo(1L);
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.movieticket.ticketTest;
+
+import com.example.movieticket.cache.CacheInvalidationBus;
+import com.example.movieticket.cache.CacheInvalidationHandler;
+import com.example.movieticket.cache.InvalidationTransport;
+import com.example.movieticket.showtime.ShowtimeOccupancyService;
+import com.example.movieticket.ticket.SeatAllocator;
+import com.example.movieticket.ticket.TicketBookedEvent;
+import com.example.movieticket.ticket.TicketCacheInvalidation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.Mockito.*;
+
+@DisplayName("TicketCacheInvalidation Tests")
+class TicketCacheInvalidationTest {
+
+    private final List<CacheInvalidationBus> nodes = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        nodes.forEach(CacheInvalidationBus::shutdown);
+    }
+
+    private TicketCacheInvalidation startNode(SeatAllocator seatAllocator, ShowtimeOccupancyService occupancyService) {
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        CacheInvalidationBus bus = new CacheInvalidationBus(InvalidationTransport.IN_PROCESS, null, null,
+                beans.getBeanProvider(CacheInvalidationHandler.class));
+        TicketCacheInvalidation invalidation = new TicketCacheInvalidation(bus, seatAllocator, occupancyService);
+        beans.addBean("ticketCacheInvalidation", invalidation);
+        bus.start();
+        nodes.add(bus);
+        return invalidation;
+    }
+
+    @Test
+    @DisplayName("Should patch the booked seat on other nodes instead of evicting their seat map")
+    void shouldPatchBookedSeatOnOtherNodes() {
+        SeatAllocator localAllocator = mock(SeatAllocator.class);
+        SeatAllocator remoteAllocator = mock(SeatAllocator.class);
+        ShowtimeOccupancyService remoteOccupancy = mock(ShowtimeOccupancyService.class);
+        TicketCacheInvalidation publisher = startNode(localAllocator, mock(ShowtimeOccupancyService.class));
+        startNode(remoteAllocator, remoteOccupancy);
+
+        publisher.onTicketBooked(new TicketBookedEvent(UUID.randomUUID(), 7L, 42, UUID.randomUUID()));
+
+        verify(remoteAllocator).markTaken(7L, 42);
+        verify(remoteAllocator, never()).evict(anyLong());
+        verify(remoteOccupancy).evict(7L);
+        verifyNoInteractions(localAllocator);
+    }
+
+    @Test
+    @DisplayName("Should ignore malformed seat keys")
+    void shouldIgnoreMalformedKeys() {
+        SeatAllocator seatAllocator = mock(SeatAllocator.class);
+        TicketCacheInvalidation invalidation = startNode(seatAllocator, mock(ShowtimeOccupancyService.class));
+
+        invalidation.invalidate("7");
+        invalidation.invalidate("7:x");
+
+        verifyNoInteractions(seatAllocator);
+    }
+}
@@ -4,7 +4,9 @@ import com.example.movieticket.exception.GlobalExceptionHandler;
 import com.example.movieticket.ticket.*;
 
 import com.example.movieticket.exception.ResourceNotFoundException;
+import com.example.movieticket.exception.TooManyRequestsException;
 import com.example.movieticket.exception.ValidationException;
+import com.example.movieticket.exception.WaitingRoomException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -16,12 +18,21 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 import static org.hamcrest.Matchers.notNullValue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
@@ -38,6 +49,12 @@ class TicketControllerTest {
     @Mock
     private TicketService ticketService;
 
+    @Mock
+    private AdmissionControl admissionControl;
+
+    @Mock
+    private BookingRateLimiter bookingRateLimiter;
+
     @InjectMocks
     private TicketController ticketController;
 
@@ -54,6 +71,16 @@ class TicketControllerTest {
 
         testUserId = UUID.randomUUID();
         testTicket = createTicket(1L, 15, testUserId);
+        lenient().when(admissionControl.admit(anyLong()))
+                .thenReturn(CompletableFuture.completedFuture(mock(AdmissionControl.Permit.class)));
+    }
+
+    /** Bookings answer through admission control's future, so the result arrives on an async dispatch. */
+    private ResultActions performAsync(MockHttpServletRequestBuilder builder) throws Exception {
+        MvcResult started = mockMvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started));
     }
 
     private Ticket createTicket(Long showtimeId, Integer seatNumber, UUID userId) {
@@ -80,7 +107,7 @@ class TicketControllerTest {
                 return null;
             }).when(ticketService).addTicket(any(Ticket.class));
 
-            mockMvc.perform(post("/bookings")
+            performAsync(post("/bookings")
                             .contentType(MediaType.APPLICATION_JSON)
                             .content(objectMapper.writeValueAsString(testTicket)))
                     .andDo(print())
@@ -102,7 +129,7 @@ class TicketControllerTest {
             }).when(ticketService).addTicket(any(Ticket.class));
 
 
-            mockMvc.perform(post("/bookings")
+            performAsync(post("/bookings")
                             .contentType(MediaType.APPLICATION_JSON)
                             .content(objectMapper.writeValueAsString(testTicket)))
                     .andExpect(status().isOk());
@@ -123,7 +150,7 @@ class TicketControllerTest {
                     .when(ticketService).addTicket(any(Ticket.class));
 
 
-            mockMvc.perform(post("/bookings")
+            performAsync(post("/bookings")
                             .contentType(MediaType.APPLICATION_JSON)
                             .content(objectMapper.writeValueAsString(testTicket)))
                     .andDo(print())
@@ -142,7 +169,7 @@ class TicketControllerTest {
                     .when(ticketService).addTicket(any(Ticket.class));
 
 
-            mockMvc.perform(post("/bookings")
+            performAsync(post("/bookings")
                             .contentType(MediaType.APPLICATION_JSON)
                             .content(objectMapper.writeValueAsString(ticketWithInvalidShowtime)))
                     .andDo(print())
@@ -168,18 +195,20 @@ class TicketControllerTest {
         }
 
         @Test
-        @DisplayName("Should return 400 BAD REQUEST when seat number is greater than 100")
-        void shouldReturn400BadRequestWhenSeatNumberIsGreaterThan100() throws Exception {
+        @DisplayName("Should return 400 BAD REQUEST when seat number is beyond the theater's capacity")
+        void shouldReturn400BadRequestWhenSeatNumberIsBeyondCapacity() throws Exception {
 
             Ticket invalidTicket = createTicket(1L, 101, testUserId);
+            doThrow(new ValidationException("Seat 101 does not exist, theater Theater A has 100 seats."))
+                    .when(ticketService).addTicket(any(Ticket.class));
 
-            mockMvc.perform(post("/bookings")
+            performAsync(post("/bookings")
                             .contentType(MediaType.APPLICATION_JSON)
                             .content(objectMapper.writeValueAsString(invalidTicket)))
                     .andDo(print())
                     .andExpect(status().isBadRequest());
 
-            verify(ticketService, never()).addTicket(any(Ticket.class));
+            verify(ticketService, times(1)).addTicket(any(Ticket.class));
         }
 
         @Test
@@ -209,7 +238,7 @@ class TicketControllerTest {
             }).when(ticketService).addTicket(any(Ticket.class));
 
 
-            mockMvc.perform(post("/bookings")
+            performAsync(post("/bookings")
                             .contentType(MediaType.APPLICATION_JSON)
                             .content(objectMapper.writeValueAsString(validTicket)))
                     .andDo(print())
@@ -232,7 +261,7 @@ class TicketControllerTest {
             }).when(ticketService).addTicket(any(Ticket.class));
 
 
-            mockMvc.perform(post("/bookings")
+            performAsync(post("/bookings")
                             .contentType(MediaType.APPLICATION_JSON)
                             .content(objectMapper.writeValueAsString(validTicket)))
                     .andDo(print())
@@ -256,7 +285,7 @@ class TicketControllerTest {
             }).when(ticketService).addTicket(any(Ticket.class));
 
 
-            mockMvc.perform(post("/bookings")
+            performAsync(post("/bookings")
                             .contentType(MediaType.APPLICATION_JSON)
                             .content(objectMapper.writeValueAsString(validTicket)))
                     .andDo(print())
@@ -266,4 +295,329 @@ class TicketControllerTest {
             verify(ticketService, times(1)).addTicket(any(Ticket.class));
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("Rate limit Tests")
+    class RateLimitTests {
+
+        @Test
+        @DisplayName("Should return 429 TOO MANY REQUESTS with Retry-After when the user is over the limit")
+        void shouldReturn429WhenRateLimited() throws Exception {
+
+            doThrow(new TooManyRequestsException("Too many booking attempts, please try again later.", 3))
+                    .when(bookingRateLimiter).acquire(testUserId);
+
+            mockMvc.perform(post("/bookings")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(testTicket)))
+                    .andExpect(status().isTooManyRequests())
+                    .andExpect(header().string("Retry-After", "3"));
+
+            verifyNoInteractions(admissionControl, ticketService);
+        }
+
+        @Test
+        @DisplayName("Should rate-limit best-available bookings before admission")
+        void shouldRateLimitBestAvailable() throws Exception {
+
+            doThrow(new TooManyRequestsException("Too many booking attempts, please try again later.", 3))
+                    .when(bookingRateLimiter).acquire(testUserId);
+
+            mockMvc.perform(post("/bookings/best-available")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new BestAvailableRequest(1L, testUserId, 2))))
+                    .andExpect(status().isTooManyRequests());
+
+            verifyNoInteractions(admissionControl, ticketService);
+        }
+
+        @Test
+        @DisplayName("Should expose limiter counters")
+        void shouldExposeStats() throws Exception {
+
+            when(bookingRateLimiter.stats()).thenReturn(new RateLimitStats(10, 2, 4));
+
+            mockMvc.perform(get("/bookings/rate-limit/stats"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.rejected").value(2))
+                    .andExpect(jsonPath("$.trackedUsers").value(4));
+        }
+    }
+
+    @Nested
+    @DisplayName("POST /bookings/best-available Tests")
+    class BestAvailableTests {
+
+        @Test
+        @DisplayName("Should return the booked block")
+        void shouldReturnBookedBlock() throws Exception {
+
+            UUID first = UUID.randomUUID();
+            UUID second = UUID.randomUUID();
+            when(ticketService.bookBestAvailable(1L, testUserId, 2))
+                    .thenReturn(new BestAvailableBooking(List.of(first, second), List.of(50, 51)));
+
+            performAsync(post("/bookings/best-available")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new BestAvailableRequest(1L, testUserId, 2))))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.seatNumbers[0]").value(50))
+                    .andExpect(jsonPath("$.bookingIds[1]").value(second.toString()));
+        }
+
+        @Test
+        @DisplayName("Should return 400 BAD REQUEST for a party larger than allowed")
+        void shouldRejectLargeParty() throws Exception {
+
+            mockMvc.perform(post("/bookings/best-available")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new BestAvailableRequest(1L, testUserId, 11))))
+                    .andExpect(status().isBadRequest());
+
+            verifyNoInteractions(ticketService);
+        }
+    }
+
+    @Nested
+    @DisplayName("Admission control Tests")
+    class AdmissionControlTests {
+
+        @Test
+        @DisplayName("Should return 503 with queue position and Retry-After when the waiting room is full")
+        void shouldReturn503WhenWaitingRoomIsFull() throws Exception {
+
+            when(admissionControl.admit(1L))
+                    .thenThrow(new WaitingRoomException("Booking is busy, you are number 42 in line.", 42, 7));
+
+            mockMvc.perform(post("/bookings")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(testTicket)))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string("Retry-After", "7"))
+                    .andExpect(jsonPath("$.message.position").value(42))
+                    .andExpect(jsonPath("$.message.etaSeconds").value(7));
+
+            verify(ticketService, never()).addTicket(any(Ticket.class));
+        }
+
+        @Test
+        @DisplayName("Should tell a caller that had to queue its position and estimated wait")
+        void shouldReturnQueuePositionOnceAdmitted() throws Exception {
+
+            AdmissionControl.Permit permit = mock(AdmissionControl.Permit.class);
+            when(permit.getQueuePosition()).thenReturn(3);
+            when(permit.getEtaSeconds()).thenReturn(2L);
+            when(admissionControl.admit(1L)).thenReturn(CompletableFuture.completedFuture(permit));
+            doAnswer(invocation -> {
+                invocation.<Ticket>getArgument(0).setId(UUID.randomUUID());
+                return null;
+            }).when(ticketService).addTicket(any(Ticket.class));
+
+            performAsync(post("/bookings")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(testTicket)))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("X-Queue-Position", "3"))
+                    .andExpect(header().string("X-Queue-Eta-Seconds", "2"))
+                    .andExpect(jsonPath("$.bookingId", notNullValue()));
+        }
+
+        @Test
+        @DisplayName("Should expose a showtime's waiting line while callers are queued")
+        void shouldExposeAdmissionQueue() throws Exception {
+
+            when(admissionControl.queueStatus(1L)).thenReturn(new AdmissionQueueStatus(1L, 12, 3));
+
+            mockMvc.perform(get("/bookings/admission/queue/1"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.waiting").value(12))
+                    .andExpect(jsonPath("$.etaSeconds").value(3));
+        }
+
+        @Test
+        @DisplayName("Should expose admission counters")
+        void shouldExposeAdmissionStats() throws Exception {
+
+            when(admissionControl.stats()).thenReturn(new AdmissionStats(20, 3, 5));
+
+            mockMvc.perform(get("/bookings/admission/stats"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.limit").value(20))
+                    .andExpect(jsonPath("$.queued").value(5));
+        }
+    }
+
+    @Nested
+    @DisplayName("POST /bookings - Idempotency-Key Tests")
+    class IdempotencyKeyTests {
+
+        @Test
+        @DisplayName("Should return the original booking id when the key was already used")
+        void shouldReturnOriginalBookingIdForRepeatedKey() throws Exception {
+
+            UUID originalId = UUID.randomUUID();
+            when(ticketService.findBookingByIdempotencyKey(any(Ticket.class), eq("key-1"))).thenReturn(Optional.of(originalId));
+
+            performAsync(post("/bookings")
+                            .header("Idempotency-Key", "key-1")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(testTicket)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.bookingId").value(originalId.toString()));
+
+            verify(ticketService, never()).addTicket(any(Ticket.class), anyString());
+            verify(ticketService, never()).addTicket(any(Ticket.class));
+        }
+
+        @Test
+        @DisplayName("Should book and remember the key on first use")
+        void shouldBookWithKeyOnFirstUse() throws Exception {
+
+            UUID generatedId = UUID.randomUUID();
+            when(ticketService.findBookingByIdempotencyKey(any(Ticket.class), eq("key-1"))).thenReturn(Optional.empty());
+            doAnswer(invocation -> {
+                Ticket ticket = invocation.getArgument(0);
+                ticket.setId(generatedId);
+                return null;
+            }).when(ticketService).addTicket(any(Ticket.class), eq("key-1"));
+
+            performAsync(post("/bookings")
+                            .header("Idempotency-Key", "key-1")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(testTicket)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.bookingId").value(generatedId.toString()));
+
+            verify(ticketService).addTicket(any(Ticket.class), eq("key-1"));
+        }
+
+        @Test
+        @DisplayName("Should return the winner's booking id when a concurrent retry booked first")
+        void shouldReturnWinnerBookingIdOnConcurrentRetry() throws Exception {
+
+            UUID winnerId = UUID.randomUUID();
+            when(ticketService.findBookingByIdempotencyKey(any(Ticket.class), eq("key-1")))
+                    .thenReturn(Optional.empty())
+                    .thenReturn(Optional.of(winnerId));
+            doThrow(new ValidationException("The wanted seat is already booked! choose anther seat."))
+                    .when(ticketService).addTicket(any(Ticket.class), eq("key-1"));
+
+            performAsync(post("/bookings")
+                            .header("Idempotency-Key", "key-1")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(testTicket)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.bookingId").value(winnerId.toString()));
+        }
+
+        @Test
+        @DisplayName("Should return 400 BAD REQUEST when the key was used for a different seat")
+        void shouldRejectKeyReusedForDifferentRequest() throws Exception {
+
+            when(ticketService.findBookingByIdempotencyKey(any(Ticket.class), eq("key-1")))
+                    .thenThrow(new ValidationException("Idempotency-Key key-1 was already used for a different booking."));
+
+            mockMvc.perform(post("/bookings")
+                            .header("Idempotency-Key", "key-1")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(testTicket)))
+                    .andExpect(status().isBadRequest());
+
+            verify(ticketService, never()).addTicket(any(Ticket.class), anyString());
+        }
+
+        @Test
+        @DisplayName("Should still report a taken seat when no booking exists for the key")
+        void shouldRethrowWhenKeyIsUnknown() throws Exception {
+
+            when(ticketService.findBookingByIdempotencyKey(any(Ticket.class), eq("key-1"))).thenReturn(Optional.empty());
+            doThrow(new ValidationException("The wanted seat is already booked! choose anther seat."))
+                    .when(ticketService).addTicket(any(Ticket.class), eq("key-1"));
+
+            performAsync(post("/bookings")
+                            .header("Idempotency-Key", "key-1")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(testTicket)))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /bookings - Booking History Tests")
+    class BookingHistoryTests {
+
+        @Test
+        @DisplayName("Should return the user's bookings with the next cursor")
+        void shouldReturnBookingHistory() throws Exception {
+
+            BookingSummary booking = new BookingSummary(UUID.randomUUID(), 1L, 15);
+            when(ticketService.getBookingHistory(testUserId, null, 20))
+                    .thenReturn(new BookingHistory(List.of(booking), booking.id()));
+
+            mockMvc.perform(get("/bookings").param("userId", testUserId.toString()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.bookings[0].id").value(booking.id().toString()))
+                    .andExpect(jsonPath("$.bookings[0].seatNumber").value(15))
+                    .andExpect(jsonPath("$.nextCursor").value(booking.id().toString()));
+        }
+
+        @Test
+        @DisplayName("Should pass the cursor and limit through")
+        void shouldPassCursorAndLimit() throws Exception {
+
+            UUID cursor = UUID.randomUUID();
+            when(ticketService.getBookingHistory(testUserId, cursor, 5)).thenReturn(new BookingHistory(List.of(), null));
+
+            mockMvc.perform(get("/bookings")
+                            .param("userId", testUserId.toString())
+                            .param("after", cursor.toString())
+                            .param("limit", "5"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.bookings").isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("GET/DELETE /bookings/{id} - Lookup and Cancellation Tests")
+    class LookupAndCancellationTests {
+
+        @Test
+        @DisplayName("Should return the booking")
+        void shouldReturnBooking() throws Exception {
+
+            UUID bookingId = UUID.randomUUID();
+            testTicket.setId(bookingId);
+            when(ticketService.getBooking(bookingId)).thenReturn(testTicket);
+
+            mockMvc.perform(get("/bookings/{id}", bookingId))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.id").value(bookingId.toString()))
+                    .andExpect(jsonPath("$.seatNumber").value(15));
+        }
+
+        @Test
+        @DisplayName("Should return 404 NOT FOUND for unknown bookings")
+        void shouldReturn404ForUnknownBooking() throws Exception {
+
+            UUID bookingId = UUID.randomUUID();
+            when(ticketService.getBooking(bookingId))
+                    .thenThrow(new ResourceNotFoundException("ERROR: Booking with id " + bookingId + " does not exist."));
+
+            mockMvc.perform(get("/bookings/{id}", bookingId))
+                    .andExpect(status().isNotFound());
+        }
+
+        @Test
+        @DisplayName("Should cancel the booking")
+        void shouldCancelBooking() throws Exception {
+
+            UUID bookingId = UUID.randomUUID();
+
+            mockMvc.perform(delete("/bookings/{id}", bookingId))
+                    .andExpect(status().isOk())
+                    .andExpect(content().string("Booking with id " + bookingId + " was cancelled successfully."));
+
+            verify(ticketService).cancelBooking(bookingId);
+        }
+    }
+}
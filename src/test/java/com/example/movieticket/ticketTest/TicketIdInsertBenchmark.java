@@ -0,0 +1,81 @@
+package com.example.movieticket.ticketTest;
+
+import com.example.movieticket.ticket.TimeOrderedUuidGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Compares ticket insert throughput with random and time-ordered primary keys.
+ * Skipped by default; run with
+ * {@code mvn test -Dtest=TicketIdInsertBenchmark -Dbenchmark=true [-Dbenchmark.rows=10000000]
+ * [-Dbenchmark.url=jdbc:postgresql://...]}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DisplayName("Ticket id insert benchmark")
+class TicketIdInsertBenchmark {
+
+    private static final int BATCH_SIZE = 10_000;
+    private static final int REPORT_EVERY = 1_000_000;
+
+    @Test
+    void compareRandomAndTimeOrderedIds() throws SQLException {
+        long rows = Long.getLong("benchmark.rows", 10_000_000L);
+        String url = System.getProperty("benchmark.url", "jdbc:h2:file:./target/ticket-id-bench;DB_CLOSE_ON_EXIT=FALSE");
+        String user = System.getProperty("benchmark.user", "sa");
+        String password = System.getProperty("benchmark.password", "");
+
+        run("random (v4)", UUID::randomUUID, rows, url, user, password);
+        run("time-ordered (v7)", TimeOrderedUuidGenerator::next, rows, url, user, password);
+    }
+
+    private void run(String label, Supplier<UUID> ids, long rows, String url, String user, String password) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, user, password)) {
+            connection.setAutoCommit(false);
+            try (Statement ddl = connection.createStatement()) {
+                ddl.execute("DROP TABLE IF EXISTS ticket_id_bench");
+                ddl.execute("CREATE TABLE ticket_id_bench (id UUID PRIMARY KEY, showtime_id BIGINT, seat_number INT, user_id UUID)");
+            }
+            connection.commit();
+
+            UUID userId = UUID.randomUUID();
+            long start = System.nanoTime();
+            long windowStart = start;
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO ticket_id_bench (id, showtime_id, seat_number, user_id) VALUES (?, ?, ?, ?)")) {
+                for (long row = 1; row <= rows; row++) {
+                    insert.setObject(1, ids.get());
+                    insert.setLong(2, row / 100);
+                    insert.setInt(3, (int) (row % 100) + 1);
+                    insert.setObject(4, userId);
+                    insert.addBatch();
+                    if (row % BATCH_SIZE == 0 || row == rows) {
+                        insert.executeBatch();
+                        connection.commit();
+                    }
+                    if (row % REPORT_EVERY == 0) {
+                        long now = System.nanoTime();
+                        System.out.printf("%s: %,d rows, last window %,.0f rows/s%n",
+                                label, row, REPORT_EVERY / ((now - windowStart) / 1e9));
+                        windowStart = now;
+                    }
+                }
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("%s: %,d rows in %.1f s, %,.0f rows/s overall%n", label, rows, seconds, rows / seconds);
+
+            try (Statement ddl = connection.createStatement()) {
+                ddl.execute("DROP TABLE ticket_id_bench");
+            }
+            connection.commit();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.movieticket.ticketTest;
+
+import com.example.movieticket.ticket.Ticket;
+import com.example.movieticket.ticket.TicketRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.UUID;
+
+/**
+ * Compares the booking write of the JPA and JDBC {@code booking.ticket-insert} modes: one transaction
+ * per seat, with the existence check the JPA mode needs. Skipped by default; run with
+ * {@code mvn test -Dtest=TicketInsertBenchmark -Dbenchmark=true [-Dbenchmark.bookings=100000]}.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DisplayName("Ticket insert benchmark")
+class TicketInsertBenchmark {
+
+    private static final int SEATS_PER_SHOWTIME = 100;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        ticketRepository.deleteAllInBatch();
+    }
+
+    @Nested
+    @TestPropertySource(properties = "booking.ticket-insert=JPA")
+    class Jpa {
+        @Test
+        void bookSeats() {
+            run("JPA");
+        }
+    }
+
+    @Nested
+    @TestPropertySource(properties = "booking.ticket-insert=JDBC")
+    class Jdbc {
+        @Test
+        void bookSeats() {
+            run("JDBC");
+        }
+    }
+
+    private void run(String label) {
+        int bookings = Integer.getInteger("benchmark.bookings", 100_000);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        UUID userId = UUID.randomUUID();
+
+        book(transaction, userId, 0, bookings / 10);
+        ticketRepository.deleteAllInBatch();
+
+        var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        book(transaction, userId, 0, bookings);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        System.out.printf("%s: %,d bookings in %.1f s, %,.0f bookings/s, %,d B/booking%n",
+                label, bookings, seconds, bookings / seconds, allocated / bookings);
+    }
+
+    private void book(TransactionTemplate transaction, UUID userId, int from, int to) {
+        for (int i = from; i < to; i++) {
+            long showtimeId = i / SEATS_PER_SHOWTIME + 1;
+            int seatNumber = i % SEATS_PER_SHOWTIME + 1;
+            transaction.executeWithoutResult(status -> {
+                if (!ticketRepository.insertRejectsTakenSeats()
+                        && ticketRepository.existsByShowtimeIdAndSeatNumber(showtimeId, seatNumber)) {
+                    return;
+                }
+                ticketRepository.insert(new Ticket(null, showtimeId, seatNumber, userId));
+            });
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.movieticket.ticketTest;
+
+import com.example.movieticket.ticket.Ticket;
+import com.example.movieticket.ticket.TicketRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DataJpaTest(properties = "booking.ticket-insert=JDBC")
+@DisplayName("Ticket JDBC insert Tests")
+class TicketInsertRepositoryTest {
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Test
+    @DisplayName("Should insert the ticket with a generated id when the seat is free")
+    void shouldInsertWhenSeatFree() {
+        Ticket ticket = new Ticket(null, 1L, 7, UUID.randomUUID());
+
+        assertThat(ticketRepository.insert(ticket)).isTrue();
+
+        assertThat(ticket.getId()).isNotNull();
+        assertThat(ticketRepository.findById(ticket.getId()))
+                .hasValueSatisfying(saved -> assertThat(saved.getSeatNumber()).isEqualTo(7));
+    }
+
+    @Test
+    @DisplayName("Should reject the insert when the seat is already booked")
+    void shouldRejectTakenSeat() {
+        ticketRepository.insert(new Ticket(null, 1L, 7, UUID.randomUUID()));
+        Ticket second = new Ticket(null, 1L, 7, UUID.randomUUID());
+
+        assertThat(ticketRepository.insert(second)).isFalse();
+
+        assertThat(ticketRepository.findSeatNumbersByShowtimeId(1L)).containsExactly(7);
+        assertThat(ticketRepository.insertRejectsTakenSeats()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should replace a client-supplied id with a generated one")
+    void shouldIgnoreClientSuppliedId() {
+        UUID supplied = UUID.randomUUID();
+        Ticket ticket = new Ticket(supplied, 1L, 8, UUID.randomUUID());
+
+        assertThat(ticketRepository.insert(ticket)).isTrue();
+
+        assertThat(ticket.getId()).isNotEqualTo(supplied);
+        assertThat(ticketRepository.findById(supplied)).isEmpty();
+    }
+}
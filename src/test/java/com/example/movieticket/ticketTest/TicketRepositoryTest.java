@@ -1,5 +1,6 @@
 package com.example.movieticket.ticketTest;
 
+import com.example.movieticket.ticket.BookingSummary;
 import com.example.movieticket.ticket.Ticket;
 import com.example.movieticket.ticket.TicketRepository;
 import jakarta.validation.ConstraintViolationException;
@@ -8,6 +9,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
 import java.util.List;
 import java.util.UUID;
 
@@ -49,6 +51,34 @@ class TicketRepositoryTest {
         assertThat(saved.getId()).isNotNull();
     }
 
+    @Test
+    @DisplayName("Should assign time-ordered ids to new tickets")
+    void testSaveAssignsTimeOrderedId() {
+        Ticket saved = ticketRepository.save(defaultTicket);
+
+        assertThat(saved.getId().version()).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("Should persist through insert() even when the client sent an id")
+    void testInsertDiscardsClientSuppliedId() {
+        UUID supplied = UUID.randomUUID();
+        defaultTicket.setId(supplied);
+
+        assertThat(ticketRepository.insert(defaultTicket)).isTrue();
+
+        assertThat(defaultTicket.getId()).isNotNull().isNotEqualTo(supplied);
+        assertThat(ticketRepository.findById(defaultTicket.getId())).isPresent();
+    }
+
+    @Test
+    @DisplayName("Should report a taken seat from insert() instead of failing at commit")
+    void testInsertRejectsDoubleBookedSeat() {
+        assertThat(ticketRepository.insert(createTicket(1L, 5, defaultUserId))).isTrue();
+
+        assertThat(ticketRepository.insert(createTicket(1L, 5, UUID.randomUUID()))).isFalse();
+    }
+
 
 
     @Test
@@ -100,4 +130,32 @@ class TicketRepositoryTest {
                 .hasMessageContaining("seatNumber")
                 .hasMessageContaining("userId");
     }
+
+    @Test
+    @DisplayName("Should page through a user's bookings by id")
+    void testFindBookingHistoryByKeyset() {
+        Ticket first = ticketRepository.save(createTicket(1L, 1, defaultUserId));
+        Ticket second = ticketRepository.save(createTicket(1L, 2, defaultUserId));
+        ticketRepository.save(createTicket(1L, 3, UUID.randomUUID()));
+
+        List<BookingSummary> page = ticketRepository.findByUserIdOrderByIdAsc(defaultUserId, PageRequest.of(0, 1));
+        List<BookingSummary> next = ticketRepository.findByUserIdAndIdGreaterThanOrderByIdAsc(
+                defaultUserId, page.get(0).id(), PageRequest.of(0, 10));
+
+        assertThat(page).hasSize(1);
+        assertThat(next).hasSize(1);
+        assertThat(List.of(page.get(0).id(), next.get(0).id()))
+                .containsExactlyInAnyOrder(first.getId(), second.getId());
+        assertThat(next.get(0).showtimeId()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Should delete a booking only once")
+    void testDeleteBookingIsConditional() {
+        Ticket saved = ticketRepository.save(defaultTicket);
+
+        assertThat(ticketRepository.deleteBooking(saved.getId())).isEqualTo(1);
+        assertThat(ticketRepository.deleteBooking(saved.getId())).isZero();
+        assertThat(ticketRepository.existsByShowtimeIdAndSeatNumber(1L, 1)).isFalse();
+    }
 }
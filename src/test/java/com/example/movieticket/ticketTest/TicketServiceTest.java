@@ -4,6 +4,7 @@ import com.example.movieticket.ticket.*;
 
 import com.example.movieticket.exception.ResourceNotFoundException;
 import com.example.movieticket.exception.ValidationException;
+import com.example.movieticket.showtime.ShowtimeOccupancyService;
 import com.example.movieticket.showtime.ShowtimeService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -14,7 +15,12 @@ import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.*;
@@ -32,6 +38,24 @@ class TicketServiceTest {
     @Mock
     private ShowtimeService showtimeService;
 
+    @Mock
+    private ShowtimeOccupancyService showtimeOccupancyService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private IdempotencyStore idempotencyStore;
+
+    @Mock
+    private BookingCache bookingCache;
+
+    @Mock
+    private SeatAllocator seatAllocator;
+
+    @Mock
+    private SeatInventory seatInventory;
+
     @InjectMocks
     private TicketService ticketService;
 
@@ -48,6 +72,7 @@ class TicketServiceTest {
                 15,
                 testUserId
         );
+        lenient().when(ticketRepository.insert(any(Ticket.class))).thenReturn(true);
     }
 
 
@@ -59,29 +84,28 @@ class TicketServiceTest {
         @DisplayName("Should successfully add ticket when all validations pass")
         void shouldAddTicketWhenAllValidationsPass() {
 
-            doNothing().when(showtimeService).validateShowtimeExists(1L);
             when(ticketRepository.existsByShowtimeIdAndSeatNumber(1L, 15)).thenReturn(false);
-            when(ticketRepository.save(any(Ticket.class))).thenReturn(testTicket);
+            when(ticketRepository.insert(any(Ticket.class))).thenReturn(true);
 
             ticketService.addTicket(testTicket);
 
-            verify(showtimeService, times(1)).validateShowtimeExists(1L);
+            verify(showtimeService, times(1)).validateSeatNumber(1L, 15);
+            verify(showtimeService, never()).validateShowtimeExists(anyLong());
             verify(ticketRepository, times(1)).existsByShowtimeIdAndSeatNumber(1L, 15);
-            verify(ticketRepository, times(1)).save(testTicket);
+            verify(ticketRepository, times(1)).insert(testTicket);
         }
 
         @Test
         @DisplayName("Should call repository save with correct ticket object")
         void shouldCallRepositorySaveWithCorrectTicketObject() {
 
-            doNothing().when(showtimeService).validateShowtimeExists(1L);
             when(ticketRepository.existsByShowtimeIdAndSeatNumber(1L, 15)).thenReturn(false);
-            when(ticketRepository.save(testTicket)).thenReturn(testTicket);
+            when(ticketRepository.insert(testTicket)).thenReturn(true);
 
 
             ticketService.addTicket(testTicket);
 
-            verify(ticketRepository).save(argThat(ticket ->
+            verify(ticketRepository).insert(argThat(ticket ->
                     ticket.getShowtimeId().equals(1L) &&
                             ticket.getSeatNumber().equals(15) &&
                             ticket.getUserId().equals(testUserId)
@@ -101,23 +125,22 @@ class TicketServiceTest {
             );
 
             doThrow(new ResourceNotFoundException("ERROR: Showtime with id " + nonExistentShowtimeId + " does not exist."))
-                    .when(showtimeService).validateShowtimeExists(nonExistentShowtimeId);
+                    .when(showtimeService).validateSeatNumber(nonExistentShowtimeId, 15);
 
 
             assertThatThrownBy(() -> ticketService.addTicket(ticketWithInvalidShowtime))
                     .isInstanceOf(ResourceNotFoundException.class)
                     .hasMessageContaining("ERROR: Showtime with id " + nonExistentShowtimeId + " does not exist.");
 
-            verify(showtimeService, times(1)).validateShowtimeExists(nonExistentShowtimeId);
+            verify(showtimeService, times(1)).validateSeatNumber(nonExistentShowtimeId, 15);
             verify(ticketRepository, never()).existsByShowtimeIdAndSeatNumber(anyLong(), anyInt());
-            verify(ticketRepository, never()).save(any(Ticket.class));
+            verify(ticketRepository, never()).insert(any(Ticket.class));
         }
 
         @Test
         @DisplayName("Should throw ValidationException when seat is already booked")
         void shouldThrowValidationExceptionWhenSeatIsAlreadyBooked() {
 
-            doNothing().when(showtimeService).validateShowtimeExists(1L);
             when(ticketRepository.existsByShowtimeIdAndSeatNumber(1L, 15)).thenReturn(true);
 
 
@@ -125,9 +148,9 @@ class TicketServiceTest {
                     .isInstanceOf(ValidationException.class)
                     .hasMessageContaining("The wanted seat is already booked! choose anther seat.");
 
-            verify(showtimeService, times(1)).validateShowtimeExists(1L);
+            verify(showtimeService, times(1)).validateSeatNumber(1L, 15);
             verify(ticketRepository, times(1)).existsByShowtimeIdAndSeatNumber(1L, 15);
-            verify(ticketRepository, never()).save(any(Ticket.class));
+            verify(ticketRepository, never()).insert(any(Ticket.class));
         }
 
         @Test
@@ -142,17 +165,16 @@ class TicketServiceTest {
                     anotherUserId
             );
 
-            doNothing().when(showtimeService).validateShowtimeExists(2L);
             when(ticketRepository.existsByShowtimeIdAndSeatNumber(2L, 15)).thenReturn(false);
-            when(ticketRepository.save(any(Ticket.class))).thenReturn(ticketForDifferentShowtime);
+            when(ticketRepository.insert(any(Ticket.class))).thenReturn(true);
 
 
             ticketService.addTicket(ticketForDifferentShowtime);
 
 
-            verify(showtimeService, times(1)).validateShowtimeExists(2L);
+            verify(showtimeService, times(1)).validateSeatNumber(2L, 15);
             verify(ticketRepository, times(1)).existsByShowtimeIdAndSeatNumber(2L, 15);
-            verify(ticketRepository, times(1)).save(ticketForDifferentShowtime);
+            verify(ticketRepository, times(1)).insert(ticketForDifferentShowtime);
         }
 
         @Test
@@ -166,17 +188,16 @@ class TicketServiceTest {
                     anotherUserId
             );
 
-            doNothing().when(showtimeService).validateShowtimeExists(1L);
             when(ticketRepository.existsByShowtimeIdAndSeatNumber(1L, 50)).thenReturn(false);
-            when(ticketRepository.save(any(Ticket.class))).thenReturn(ticketWithDifferentSeat);
+            when(ticketRepository.insert(any(Ticket.class))).thenReturn(true);
 
 
             ticketService.addTicket(ticketWithDifferentSeat);
 
 
-            verify(showtimeService, times(1)).validateShowtimeExists(1L);
+            verify(showtimeService, times(1)).validateSeatNumber(1L, 50);
             verify(ticketRepository, times(1)).existsByShowtimeIdAndSeatNumber(1L, 50);
-            verify(ticketRepository, times(1)).save(ticketWithDifferentSeat);
+            verify(ticketRepository, times(1)).insert(ticketWithDifferentSeat);
         }
 
         @Test
@@ -184,7 +205,7 @@ class TicketServiceTest {
         void shouldValidateShowtimeBeforeCheckingSeatAvailability() {
 
             doThrow(new ResourceNotFoundException("ERROR: Showtime with id 999 does not exist."))
-                    .when(showtimeService).validateShowtimeExists(999L);
+                    .when(showtimeService).validateSeatNumber(999L, 15);
 
             Ticket ticketWithInvalidShowtime = new Ticket(
                     null,
@@ -198,7 +219,7 @@ class TicketServiceTest {
                     .isInstanceOf(ResourceNotFoundException.class);
 
             // Verify seat check was never called since showtime validation failed first
-            verify(showtimeService, times(1)).validateShowtimeExists(999L);
+            verify(showtimeService, times(1)).validateSeatNumber(999L, 15);
             verify(ticketRepository, never()).existsByShowtimeIdAndSeatNumber(anyLong(), anyInt());
         }
     }
@@ -211,17 +232,16 @@ class TicketServiceTest {
         @DisplayName("Should validate showtime exists first, then check seat availability")
         void shouldValidateShowtimeFirstThenCheckSeatAvailability() {
 
-            doNothing().when(showtimeService).validateShowtimeExists(1L);
             when(ticketRepository.existsByShowtimeIdAndSeatNumber(1L, 15)).thenReturn(false);
-            when(ticketRepository.save(any(Ticket.class))).thenReturn(testTicket);
+            when(ticketRepository.insert(any(Ticket.class))).thenReturn(true);
 
 
             ticketService.addTicket(testTicket);
 
             InOrder inOrder = inOrder(showtimeService, ticketRepository);
-            inOrder.verify(showtimeService).validateShowtimeExists(1L);
+            inOrder.verify(showtimeService).validateSeatNumber(1L, 15);
             inOrder.verify(ticketRepository).existsByShowtimeIdAndSeatNumber(1L, 15);
-            inOrder.verify(ticketRepository).save(testTicket);
+            inOrder.verify(ticketRepository).insert(testTicket);
         }
 
         @Test
@@ -229,16 +249,374 @@ class TicketServiceTest {
         void shouldStopValidationAtFirstFailure() {
 
             doThrow(new ResourceNotFoundException("ERROR: Showtime with id 1 does not exist."))
-                    .when(showtimeService).validateShowtimeExists(1L);
+                    .when(showtimeService).validateSeatNumber(1L, 15);
 
 
             assertThatThrownBy(() -> ticketService.addTicket(testTicket))
                     .isInstanceOf(ResourceNotFoundException.class);
 
 
-            verify(showtimeService, times(1)).validateShowtimeExists(1L);
+            verify(showtimeService, times(1)).validateSeatNumber(1L, 15);
             verify(ticketRepository, never()).existsByShowtimeIdAndSeatNumber(anyLong(), anyInt());
-            verify(ticketRepository, never()).save(any(Ticket.class));
+            verify(ticketRepository, never()).insert(any(Ticket.class));
+        }
+    }
+
+    @Nested
+    @DisplayName("Occupancy Tests")
+    class OccupancyTests {
+
+        @Test
+        @DisplayName("Should reject a sold out showtime before any seat query")
+        void shouldRejectSoldOutShowtimeBeforeSeatQuery() {
+            doThrow(new ValidationException("This showtime is sold out."))
+                    .when(showtimeOccupancyService).checkNotSoldOut(1L);
+
+            assertThatThrownBy(() -> ticketService.addTicket(testTicket))
+                    .isInstanceOf(ValidationException.class)
+                    .hasMessageContaining("sold out");
+
+            verifyNoInteractions(ticketRepository);
+            verify(showtimeService, never()).validateSeatNumber(anyLong(), anyInt());
+        }
+
+        @Test
+        @DisplayName("Should reserve a seat on the counter before saving the ticket")
+        void shouldReserveSeatBeforeSave() {
+            when(ticketRepository.existsByShowtimeIdAndSeatNumber(1L, 15)).thenReturn(false);
+
+            ticketService.addTicket(testTicket);
+
+            InOrder inOrder = inOrder(showtimeOccupancyService, ticketRepository);
+            inOrder.verify(showtimeOccupancyService).reserveSeat(1L);
+            inOrder.verify(ticketRepository).insert(testTicket);
+        }
+
+        @Test
+        @DisplayName("Should not save the ticket when the counter reports the show full")
+        void shouldNotSaveWhenCounterIsFull() {
+            when(ticketRepository.existsByShowtimeIdAndSeatNumber(1L, 15)).thenReturn(false);
+            doThrow(new ValidationException("This showtime is sold out."))
+                    .when(showtimeOccupancyService).reserveSeat(1L);
+
+            assertThatThrownBy(() -> ticketService.addTicket(testTicket))
+                    .isInstanceOf(ValidationException.class);
+
+            verify(ticketRepository, never()).insert(any(Ticket.class));
+        }
+    }
+
+    @Nested
+    @DisplayName("Booking event Tests")
+    class BookingEventTests {
+
+        @Test
+        @DisplayName("Should publish a booking event after the ticket is saved")
+        void shouldPublishBookedEventAfterSave() {
+            UUID ticketId = UUID.randomUUID();
+            when(ticketRepository.existsByShowtimeIdAndSeatNumber(1L, 15)).thenReturn(false);
+            when(ticketRepository.insert(testTicket)).thenAnswer(invocation -> {
+                testTicket.setId(ticketId);
+                return true;
+            });
+
+            ticketService.addTicket(testTicket);
+
+            InOrder inOrder = inOrder(ticketRepository, eventPublisher);
+            inOrder.verify(ticketRepository).insert(testTicket);
+            inOrder.verify(eventPublisher).publishEvent(new TicketBookedEvent(ticketId, 1L, 15, testUserId));
+        }
+
+        @Test
+        @DisplayName("Should not publish an event when validation fails")
+        void shouldNotPublishWhenValidationFails() {
+            when(ticketRepository.existsByShowtimeIdAndSeatNumber(1L, 15)).thenReturn(true);
+
+            assertThatThrownBy(() -> ticketService.addTicket(testTicket))
+                    .isInstanceOf(ValidationException.class);
+
+            verifyNoInteractions(eventPublisher);
+        }
+    }
+
+    @Nested
+    @DisplayName("Idempotency key Tests")
+    class IdempotencyKeyTests {
+
+        @Test
+        @DisplayName("Should remember the key with the saved booking id")
+        void shouldRememberKeyAfterSave() {
+            UUID ticketId = UUID.randomUUID();
+            when(ticketRepository.existsByShowtimeIdAndSeatNumber(1L, 15)).thenReturn(false);
+            when(ticketRepository.insert(testTicket)).thenAnswer(invocation -> {
+                testTicket.setId(ticketId);
+                return true;
+            });
+
+            ticketService.addTicket(testTicket, "key-1");
+
+            verify(idempotencyStore).remember(testTicket, "key-1");
+        }
+
+        @Test
+        @DisplayName("Should not touch the idempotency store without a key")
+        void shouldSkipStoreWithoutKey() {
+            when(ticketRepository.existsByShowtimeIdAndSeatNumber(1L, 15)).thenReturn(false);
+
+            ticketService.addTicket(testTicket);
+
+            verifyNoInteractions(idempotencyStore);
+        }
+
+        @Test
+        @DisplayName("Should not remember the key when booking fails")
+        void shouldNotRememberKeyWhenBookingFails() {
+            when(ticketRepository.existsByShowtimeIdAndSeatNumber(1L, 15)).thenReturn(true);
+
+            assertThatThrownBy(() -> ticketService.addTicket(testTicket, "key-1"))
+                    .isInstanceOf(ValidationException.class);
+
+            verifyNoInteractions(idempotencyStore);
+        }
+    }
+
+    @Nested
+    @DisplayName("Booking history Tests")
+    class BookingHistoryTests {
+
+        @Test
+        @DisplayName("Should return a cursor when more bookings follow")
+        void shouldReturnCursorWhenMoreBookingsFollow() {
+            BookingSummary first = new BookingSummary(UUID.randomUUID(), 1L, 1);
+            BookingSummary second = new BookingSummary(UUID.randomUUID(), 1L, 2);
+            BookingSummary third = new BookingSummary(UUID.randomUUID(), 1L, 3);
+            when(ticketRepository.findByUserIdOrderByIdAsc(testUserId, PageRequest.of(0, 3)))
+                    .thenReturn(List.of(first, second, third));
+
+            BookingHistory history = ticketService.getBookingHistory(testUserId, null, 2);
+
+            assertThat(history.bookings()).containsExactly(first, second);
+            assertThat(history.nextCursor()).isEqualTo(second.id());
+        }
+
+        @Test
+        @DisplayName("Should continue after the cursor and end without a new one")
+        void shouldContinueAfterCursor() {
+            UUID cursor = UUID.randomUUID();
+            BookingSummary last = new BookingSummary(UUID.randomUUID(), 2L, 7);
+            when(ticketRepository.findByUserIdAndIdGreaterThanOrderByIdAsc(testUserId, cursor, PageRequest.of(0, 3)))
+                    .thenReturn(List.of(last));
+
+            BookingHistory history = ticketService.getBookingHistory(testUserId, cursor, 2);
+
+            assertThat(history.bookings()).containsExactly(last);
+            assertThat(history.nextCursor()).isNull();
+        }
+
+        @Test
+        @DisplayName("Should cap the page size")
+        void shouldCapPageSize() {
+            when(ticketRepository.findByUserIdOrderByIdAsc(testUserId, PageRequest.of(0, 101))).thenReturn(List.of());
+
+            assertThat(ticketService.getBookingHistory(testUserId, null, 5000).bookings()).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("Booking lookup and cancellation Tests")
+    class LookupAndCancellationTests {
+
+        private UUID bookingId;
+
+        @BeforeEach
+        void setUp() {
+            bookingId = UUID.randomUUID();
+            testTicket.setId(bookingId);
+        }
+
+        @Test
+        @DisplayName("Should serve cached bookings without querying the repository")
+        void shouldServeCachedBooking() {
+            when(bookingCache.get(bookingId)).thenReturn(Optional.of(testTicket));
+
+            assertThat(ticketService.getBooking(bookingId)).isSameAs(testTicket);
+
+            verifyNoInteractions(ticketRepository);
+        }
+
+        @Test
+        @DisplayName("Should load and cache bookings on a miss")
+        void shouldLoadAndCacheOnMiss() {
+            when(bookingCache.get(bookingId)).thenReturn(Optional.empty());
+            when(ticketRepository.findById(bookingId)).thenReturn(Optional.of(testTicket));
+
+            assertThat(ticketService.getBooking(bookingId)).isSameAs(testTicket);
+
+            verify(bookingCache).put(testTicket);
+        }
+
+        @Test
+        @DisplayName("Should throw ResourceNotFoundException for unknown bookings")
+        void shouldThrowForUnknownBooking() {
+            when(bookingCache.get(bookingId)).thenReturn(Optional.empty());
+            when(ticketRepository.findById(bookingId)).thenReturn(Optional.empty());
+
+            assertThatThrownBy(() -> ticketService.getBooking(bookingId))
+                    .isInstanceOf(ResourceNotFoundException.class)
+                    .hasMessage("ERROR: Booking with id " + bookingId + " does not exist.");
+        }
+
+        @Test
+        @DisplayName("Should delete the booking, release the seat and publish a cancellation")
+        void shouldCancelBooking() {
+            when(bookingCache.get(bookingId)).thenReturn(Optional.of(testTicket));
+            when(ticketRepository.deleteBooking(bookingId)).thenReturn(1);
+
+            ticketService.cancelBooking(bookingId);
+
+            verify(bookingCache).evict(bookingId);
+            verify(idempotencyStore).forget(bookingId);
+            verify(showtimeOccupancyService).releaseSeat(1L);
+            verify(seatInventory).release(1L, 15);
+            verify(eventPublisher).publishEvent(new TicketCancelledEvent(bookingId, 1L, 15, testUserId));
+        }
+
+        @Test
+        @DisplayName("Should not release the seat when a concurrent cancellation won")
+        void shouldNotReleaseWhenAlreadyCancelled() {
+            when(bookingCache.get(bookingId)).thenReturn(Optional.of(testTicket));
+            when(ticketRepository.deleteBooking(bookingId)).thenReturn(0);
+
+            assertThatThrownBy(() -> ticketService.cancelBooking(bookingId))
+                    .isInstanceOf(ResourceNotFoundException.class);
+
+            verify(showtimeOccupancyService, never()).releaseSeat(anyLong());
+            verifyNoInteractions(eventPublisher, idempotencyStore);
+        }
+    }
+
+    @Nested
+    @DisplayName("Best-available booking Tests")
+    class BestAvailableTests {
+
+        @Test
+        @DisplayName("Should book every seat of the claimed block")
+        void shouldBookClaimedBlock() {
+            when(seatAllocator.claimBestBlock(1L, 3)).thenReturn(List.of(49, 50, 51));
+
+            BestAvailableBooking booking = ticketService.bookBestAvailable(1L, testUserId, 3);
+
+            assertThat(booking.seatNumbers()).containsExactly(49, 50, 51);
+            assertThat(booking.bookingIds()).hasSize(3);
+            verify(showtimeOccupancyService, times(3)).reserveSeat(1L);
+            verify(ticketRepository).saveAllAndFlush(argThat(tickets -> tickets.spliterator().getExactSizeIfKnown() == 3));
+            verify(eventPublisher, times(3)).publishEvent(any(TicketBookedEvent.class));
+        }
+
+        @Test
+        @DisplayName("Should drop the seat map and ask for a retry when a seat was taken concurrently")
+        void shouldEvictSeatMapOnConflict() {
+            when(seatAllocator.claimBestBlock(1L, 2)).thenReturn(List.of(10, 11));
+            when(ticketRepository.saveAllAndFlush(any())).thenThrow(new DataIntegrityViolationException("uk_ticket_showtime_seat"));
+
+            assertThatThrownBy(() -> ticketService.bookBestAvailable(1L, testUserId, 2))
+                    .isInstanceOf(ValidationException.class)
+                    .hasMessage("Some of the selected seats were just booked, please try again.");
+
+            verify(seatAllocator).evict(1L);
+            verifyNoInteractions(eventPublisher);
+        }
+
+        @Test
+        @DisplayName("Should not reserve anything when no block is free")
+        void shouldFailWhenNoBlockIsFree() {
+            when(seatAllocator.claimBestBlock(1L, 4))
+                    .thenThrow(new ValidationException("There is no block of 4 adjacent free seats for this showtime."));
+
+            assertThatThrownBy(() -> ticketService.bookBestAvailable(1L, testUserId, 4))
+                    .isInstanceOf(ValidationException.class);
+
+            verify(showtimeOccupancyService, never()).reserveSeat(anyLong());
+            verifyNoInteractions(ticketRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("Seat number Tests")
+    class SeatNumberTests {
+
+        @Test
+        @DisplayName("Should reject seats that do not exist in the showtime's theater")
+        void shouldRejectSeatBeyondCapacity() {
+            testTicket.setSeatNumber(101);
+            doThrow(new ValidationException("Seat 101 does not exist, theater Theater A has 100 seats."))
+                    .when(showtimeService).validateSeatNumber(1L, 101);
+
+            assertThatThrownBy(() -> ticketService.addTicket(testTicket))
+                    .isInstanceOf(ValidationException.class);
+
+            verify(ticketRepository, never()).insert(any(Ticket.class));
+        }
+    }
+
+    @Nested
+    @DisplayName("Seat map storage Tests")
+    class SeatMapStorageTests {
+
+        @Test
+        @DisplayName("Should claim the seat bit instead of querying ticket rows")
+        void shouldClaimInsteadOfExistsQuery() {
+            when(seatInventory.tracksSeats()).thenReturn(true);
+
+            ticketService.addTicket(testTicket);
+
+            InOrder inOrder = inOrder(seatInventory, ticketRepository);
+            inOrder.verify(seatInventory).claim(1L, List.of(15));
+            inOrder.verify(ticketRepository).insert(testTicket);
+            verify(ticketRepository, never()).existsByShowtimeIdAndSeatNumber(anyLong(), anyInt());
+        }
+
+        @Test
+        @DisplayName("Should not save when the seat bit is already set")
+        void shouldNotSaveWhenClaimFails() {
+            when(seatInventory.tracksSeats()).thenReturn(true);
+            doThrow(new ValidationException("The wanted seat is already booked! choose anther seat."))
+                    .when(seatInventory).claim(1L, List.of(15));
+
+            assertThatThrownBy(() -> ticketService.addTicket(testTicket))
+                    .isInstanceOf(ValidationException.class);
+
+            verify(ticketRepository, never()).insert(any(Ticket.class));
+        }
+    }
+
+    @Nested
+    @DisplayName("Conditional insert Tests")
+    class ConditionalInsertTests {
+
+        @Test
+        @DisplayName("Should skip the existence query when the insert checks the seat")
+        void shouldSkipExistsQuery() {
+            when(ticketRepository.insertRejectsTakenSeats()).thenReturn(true);
+
+            ticketService.addTicket(testTicket);
+
+            verify(ticketRepository).insert(testTicket);
+            verify(ticketRepository, never()).existsByShowtimeIdAndSeatNumber(anyLong(), anyInt());
+        }
+
+        @Test
+        @DisplayName("Should reject the booking and publish nothing when the insert finds the seat taken")
+        void shouldRejectWhenInsertFindsSeatTaken() {
+            when(ticketRepository.insertRejectsTakenSeats()).thenReturn(true);
+            when(ticketRepository.insert(testTicket)).thenReturn(false);
+
+            assertThatThrownBy(() -> ticketService.addTicket(testTicket))
+                    .isInstanceOf(ValidationException.class)
+                    .hasMessageContaining("already booked");
+
+            verifyNoInteractions(eventPublisher);
+            verify(seatAllocator, never()).markTaken(anyLong(), anyInt());
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,48 @@
+package com.example.movieticket.ticketTest;
+
+import com.example.movieticket.ticket.TimeOrderedUuidGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TimeOrderedUuidGenerator Tests")
+class TimeOrderedUuidGeneratorTest {
+
+    @Test
+    @DisplayName("Should produce version 7 UUIDs with the IETF variant")
+    void shouldProduceVersion7Uuids() {
+        UUID uuid = TimeOrderedUuidGenerator.next();
+
+        assertThat(uuid.version()).isEqualTo(7);
+        assertThat(uuid.variant()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should embed the creation time so later ids sort after earlier ones")
+    void shouldSortByCreationTime() throws InterruptedException {
+        long before = System.currentTimeMillis();
+        UUID first = TimeOrderedUuidGenerator.next();
+        Thread.sleep(2);
+        UUID second = TimeOrderedUuidGenerator.next();
+
+        assertThat(TimeOrderedUuidGenerator.timestampOf(first)).isGreaterThanOrEqualTo(before);
+        assertThat(Long.compareUnsigned(first.getMostSignificantBits(), second.getMostSignificantBits())).isNegative();
+        assertThat(first.toString()).isLessThan(second.toString());
+    }
+
+    @Test
+    @DisplayName("Should not repeat ids generated within the same millisecond")
+    void shouldNotRepeatIds() {
+        Set<UUID> ids = new HashSet<>();
+        for (int i = 0; i < 100_000; i++) {
+            ids.add(TimeOrderedUuidGenerator.next());
+        }
+
+        assertThat(ids).hasSize(100_000);
+    }
+}